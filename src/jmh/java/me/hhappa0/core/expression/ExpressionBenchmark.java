@@ -0,0 +1,56 @@
+package me.hhappa0.core.expression;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares evaluating a compiled {@link Expression} with parsing the source again on every evaluation, which is what
+ * reading a formula string from the config on every use amounts to.
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Djmh.args="ExpressionBenchmark -prof gc"</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionBenchmark {
+    private static final Variables VARIABLES = Variables.of("base", "level");
+
+    @Param({ "base * (1 + level * 0.1)", "max(base, min(base * 2, base * pow(1.05, level) - sqrt(level) / 3)) + level % 4" })
+    private String source;
+
+    private Expression expression;
+    private double level;
+
+    @Setup
+    public void setUp() {
+        this.expression = Expression.compile(this.source, VARIABLES);
+    }
+
+    @Benchmark
+    public double evaluateCompiled() {
+        return this.expression.evaluate(100, this.nextLevel());
+    }
+
+    @Benchmark
+    public double evaluateReparsed() {
+        return Expression.compile(this.source, VARIABLES).evaluate(100, this.nextLevel());
+    }
+
+    private double nextLevel() {
+        this.level = this.level >= 100 ? 0 : this.level + 1;
+        return this.level;
+    }
+}
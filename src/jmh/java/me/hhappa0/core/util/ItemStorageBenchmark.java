@@ -0,0 +1,136 @@
+package me.hhappa0.core.util;
+
+import me.hhappa0.core.menu.ItemBuilder;
+import org.bukkit.Material;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares storing items as YAML sections with storing them as one Base64 block through {@link ItemCodec}, the way
+ * {@code Config#setCompactItemStacks} does.
+ *
+ * <p>The {@code load} benchmarks parse a saved file and restore the items, the {@code save} benchmarks write them. The
+ * {@code fileSize} benchmark reports the file sizes of both routes as the counters {@code yamlBytes} and
+ * {@code compactBytes}. JMH sums event counters over iterations and forks, so it runs a single shot and the sizes are
+ * exact unless the iterations or forks are overridden on the command line. Items are serialized by MockBukkit's stand-in for
+ * {@link ItemStack#serializeAsBytes()}, so the absolute sizes differ from a Paper server, where the compact route stores
+ * the item NBT.</p>
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Djmh.args="ItemStorageBenchmark -prof gc"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemStorageBenchmark {
+    private static final Material[] MATERIALS = { Material.DIAMOND_SWORD, Material.IRON_PICKAXE, Material.BREAD, Material.OAK_LOG, Material.ENCHANTED_BOOK };
+
+    @Param({ "36", "1000" })
+    private int count;
+
+    private ItemStack[] items;
+    private String yamlFile;
+    private String compactFile;
+    private long yamlBytes;
+    private long compactBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MockBukkit.mock();
+
+        this.items = new ItemStack[this.count];
+
+        for (int i = 0; i < this.count; i++) {
+            ItemBuilder builder = new ItemBuilder(MATERIALS[i % MATERIALS.length]).amount(1 + i % 16);
+
+            if (i % 2 == 0) builder.name("<gold>Item " + i).lore(List.of("<gray>Level " + i % 50, "<gray>Bound to a player"));
+            if (i % 3 == 0) builder.enchant(Enchantment.UNBREAKING, 1 + i % 3);
+
+            this.items[i] = builder.build();
+        }
+
+        this.yamlFile = this.saveYaml();
+        this.compactFile = this.saveCompact();
+        this.yamlBytes = this.yamlFile.getBytes(StandardCharsets.UTF_8).length;
+        this.compactBytes = this.compactFile.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public String saveYaml() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("items", Arrays.asList(this.items));
+
+        return yaml.saveToString();
+    }
+
+    @Benchmark
+    public String saveCompact() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("items", ItemCodec.toBase64All(this.items));
+
+        return yaml.saveToString();
+    }
+
+    @Benchmark
+    public List<?> loadYaml() throws InvalidConfigurationException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.loadFromString(this.yamlFile);
+
+        return yaml.getList("items");
+    }
+
+    @Benchmark
+    public ItemStack[] loadCompact() throws InvalidConfigurationException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.loadFromString(this.compactFile);
+
+        return ItemCodec.fromBase64All(yaml.getString("items"));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void fileSize(FileSize size) {
+        size.yamlBytes = this.yamlBytes;
+        size.compactBytes = this.compactBytes;
+    }
+
+    /**
+     * The sizes in bytes of the files saved by both routes, reported next to the results of {@link #fileSize(FileSize)}.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class FileSize {
+        public long yamlBytes;
+        public long compactBytes;
+    }
+}
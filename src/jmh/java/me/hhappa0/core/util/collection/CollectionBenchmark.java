@@ -0,0 +1,133 @@
+package me.hhappa0.core.util.collection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares lookups and the size of the primitive collections against {@link HashMap}.
+ *
+ * <p>The {@code get} benchmarks look up {@value #LOOKUPS} present keys in random order. The {@code build} benchmarks
+ * fill a presized map, so with {@code -prof gc} their {@code gc.alloc.rate.norm} is the memory footprint of a map of
+ * that size. It includes the boxed {@code Integer} keys, but not the {@link UUID} keys, which exist anyway for online
+ * players:</p>
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Djmh.args="CollectionBenchmark -prof gc"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionBenchmark {
+    private static final int LOOKUPS = 1024;
+    private static final Object VALUE = new Object();
+
+    @Param({ "64", "4096", "262144" })
+    private int size;
+
+    private int[] intKeys;
+    private UUID[] uuidKeys;
+    private int[] intLookups;
+    private UUID[] uuidLookups;
+    private IntObjectMap<Object> intObjectMap;
+    private Map<Integer, Object> intHashMap;
+    private UuidMap<Object> uuidMap;
+    private Map<UUID, Object> uuidHashMap;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        this.intKeys = random.ints(this.size).toArray();
+        this.uuidKeys = new UUID[this.size];
+        for (int i = 0; i < this.size; i++) this.uuidKeys[i] = new UUID(random.nextLong(), random.nextLong());
+
+        this.intObjectMap = this.buildIntObjectMap();
+        this.intHashMap = this.buildIntHashMap();
+        this.uuidMap = this.buildUuidMap();
+        this.uuidHashMap = this.buildUuidHashMap();
+
+        this.intLookups = new int[LOOKUPS];
+        this.uuidLookups = new UUID[LOOKUPS];
+
+        for (int i = 0; i < LOOKUPS; i++) {
+            int index = random.nextInt(this.size);
+
+            this.intLookups[i] = this.intKeys[index];
+            this.uuidLookups[i] = new UUID(this.uuidKeys[index].getMostSignificantBits(), this.uuidKeys[index].getLeastSignificantBits());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void getIntObjectMap(Blackhole blackhole) {
+        for (int key : this.intLookups) blackhole.consume(this.intObjectMap.get(key));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void getIntHashMap(Blackhole blackhole) {
+        for (int key : this.intLookups) blackhole.consume(this.intHashMap.get(key));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void getUuidMap(Blackhole blackhole) {
+        for (UUID key : this.uuidLookups) blackhole.consume(this.uuidMap.get(key));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void getUuidHashMap(Blackhole blackhole) {
+        for (UUID key : this.uuidLookups) blackhole.consume(this.uuidHashMap.get(key));
+    }
+
+    @Benchmark
+    public IntObjectMap<Object> buildIntObjectMap() {
+        IntObjectMap<Object> map = new IntObjectMap<>(this.size);
+        for (int key : this.intKeys) map.put(key, VALUE);
+
+        return map;
+    }
+
+    @Benchmark
+    public Map<Integer, Object> buildIntHashMap() {
+        Map<Integer, Object> map = HashMap.newHashMap(this.size);
+        for (int key : this.intKeys) map.put(key, VALUE);
+
+        return map;
+    }
+
+    @Benchmark
+    public UuidMap<Object> buildUuidMap() {
+        UuidMap<Object> map = new UuidMap<>(this.size);
+        for (UUID key : this.uuidKeys) map.put(key, VALUE);
+
+        return map;
+    }
+
+    @Benchmark
+    public Map<UUID, Object> buildUuidHashMap() {
+        Map<UUID, Object> map = HashMap.newHashMap(this.size);
+        for (UUID key : this.uuidKeys) map.put(key, VALUE);
+
+        return map;
+    }
+}
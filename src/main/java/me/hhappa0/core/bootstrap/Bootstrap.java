@@ -0,0 +1,236 @@
+package me.hhappa0.core.bootstrap;
+
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A staged plugin bootstrap that runs startup tasks according to their dependencies.
+ *
+ * <p>Tasks declared with {@link #asyncTask(String, Runnable, String...)} run in parallel on a worker pool, while tasks
+ * declared with {@link #task(String, Runnable, String...)} run on the thread calling {@link #run()}, which is the main
+ * server thread during {@code onEnable}. A task only starts once all of its dependencies have completed.</p>
+ *
+ * <p>After all tasks have finished, a per-task timing breakdown is logged.</p>
+ */
+public class Bootstrap {
+    private final Plugin plugin;
+    private final Map<String, Task> tasks;
+    private final Map<String, long[]> timings;
+
+    /**
+     * Creates an empty bootstrap for a plugin.
+     * @param plugin The plugin that is being enabled.
+     */
+    public Bootstrap(Plugin plugin) {
+        this.plugin = plugin;
+        this.tasks = new LinkedHashMap<>();
+        this.timings = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Declares a task that has to run on the main server thread.
+     * @param name The unique name of the task.
+     * @param task The Runnable task to execute.
+     * @param dependencies The names of the tasks that have to complete first.
+     * @return This bootstrap.
+     */
+    public Bootstrap task(String name, Runnable task, String... dependencies) {
+        return this.add(new Task(name, task, false, dependencies));
+    }
+
+    /**
+     * Declares a task that does not need the main server thread and may run in parallel with other tasks.
+     * @param name The unique name of the task.
+     * @param task The Runnable task to execute.
+     * @param dependencies The names of the tasks that have to complete first.
+     * @return This bootstrap.
+     */
+    public Bootstrap asyncTask(String name, Runnable task, String... dependencies) {
+        return this.add(new Task(name, task, true, dependencies));
+    }
+
+    /**
+     * Returns the names of all declared tasks.
+     * @return The task names.
+     */
+    public Set<String> getTaskNames() {
+        return Set.copyOf(this.tasks.keySet());
+    }
+
+    /**
+     * Runs all declared tasks and blocks until they have completed.
+     * <p>Main-thread tasks are executed on the calling thread.</p>
+     * @throws IllegalStateException if a dependency is unknown, the dependencies contain a cycle or a task failed.
+     */
+    public void run() {
+        List<Task> order = this.sort();
+        long start = System.nanoTime();
+        int asyncTasks = (int) order.stream().filter(task -> task.async).count();
+        ExecutorService pool = asyncTasks == 0 ? null : Executors.newFixedThreadPool(Math.min(asyncTasks, Runtime.getRuntime().availableProcessors()), this.threadFactory());
+        BlockingQueue<Runnable> mainQueue = new LinkedBlockingQueue<>();
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+
+        for (Task task : order) {
+            CompletableFuture<Void> dependencies = CompletableFuture.allOf(task.dependencies.stream().map(futures::get).toArray(CompletableFuture[]::new));
+            Runnable timed = () -> this.runTimed(task, start);
+
+            if (task.async) {
+                futures.put(task.name, dependencies.thenRunAsync(timed, pool));
+            } else {
+                CompletableFuture<Void> future = new CompletableFuture<>();
+
+                dependencies.whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        future.completeExceptionally(throwable);
+                        return;
+                    }
+
+                    mainQueue.add(() -> {
+                        try {
+                            timed.run();
+                            future.complete(null);
+                        } catch (Throwable t) {
+                            future.completeExceptionally(t);
+                        }
+                    });
+                });
+
+                futures.put(task.name, future);
+            }
+        }
+
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new));
+
+        try {
+            while (!all.isDone()) {
+                Runnable next = mainQueue.poll(10, TimeUnit.MILLISECONDS);
+                if (next != null) next.run();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while bootstrapping " + this.plugin.getName() + ".", e);
+        } finally {
+            if (pool != null) pool.shutdown();
+        }
+
+        this.report(order, System.nanoTime() - start);
+
+        for (Task task : order) {
+            CompletableFuture<Void> future = futures.get(task.name);
+
+            if (future.isCompletedExceptionally() && this.timings.containsKey(task.name)) {
+                Throwable cause = future.handle((result, throwable) -> throwable).join();
+
+                throw new IllegalStateException("Bootstrap task '" + task.name + "' failed.", cause instanceof CompletionException ? cause.getCause() : cause);
+            }
+        }
+    }
+
+    private Bootstrap add(Task task) {
+        if (this.tasks.containsKey(task.name)) throw new IllegalArgumentException("Duplicate bootstrap task '" + task.name + "'.");
+
+        this.tasks.put(task.name, task);
+
+        return this;
+    }
+
+    private void runTimed(Task task, long bootstrapStart) {
+        long taskStart = System.nanoTime();
+
+        try {
+            task.runnable.run();
+        } finally {
+            this.timings.put(task.name, new long[] { taskStart - bootstrapStart, System.nanoTime() - taskStart });
+        }
+    }
+
+    private List<Task> sort() {
+        List<Task> order = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        Set<String> visiting = new HashSet<>();
+
+        for (Task task : this.tasks.values()) this.visit(task, visited, visiting, order);
+
+        return order;
+    }
+
+    private void visit(Task task, Set<String> visited, Set<String> visiting, List<Task> order) {
+        if (visited.contains(task.name)) return;
+        if (!visiting.add(task.name)) throw new IllegalStateException("Bootstrap task '" + task.name + "' has a cyclic dependency.");
+
+        for (String dependency : task.dependencies) {
+            Task dependencyTask = this.tasks.get(dependency);
+            if (dependencyTask == null) throw new IllegalStateException("Bootstrap task '" + task.name + "' depends on the unknown task '" + dependency + "'.");
+
+            this.visit(dependencyTask, visited, visiting, order);
+        }
+
+        visiting.remove(task.name);
+        visited.add(task.name);
+        order.add(task);
+    }
+
+    private void report(List<Task> order, long totalNanos) {
+        StringBuilder report = new StringBuilder("Enabled in ").append(millis(totalNanos)).append(" ms:");
+
+        order.stream()
+                .sorted(Comparator.comparingLong(task -> this.timings.containsKey(task.name) ? this.timings.get(task.name)[0] : Long.MAX_VALUE))
+                .forEach(task -> {
+                    long[] timing = this.timings.get(task.name);
+
+                    report.append("\n  ").append(task.name).append(task.async ? " [async]" : " [main]");
+
+                    if (timing == null) report.append(" skipped");
+                    else report.append(' ').append(millis(timing[1])).append(" ms (started at +").append(millis(timing[0])).append(" ms)");
+                });
+
+        Core.logger.info("{}", report);
+    }
+
+    private ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, this.plugin.getName() + "-bootstrap-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        };
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+
+    private static final class Task {
+        private final String name;
+        private final Runnable runnable;
+        private final boolean async;
+        private final List<String> dependencies;
+
+        private Task(String name, Runnable runnable, boolean async, String[] dependencies) {
+            this.name = name;
+            this.runnable = runnable;
+            this.async = async;
+            this.dependencies = List.of(dependencies);
+        }
+    }
+}
@@ -1,21 +1,48 @@
 package me.hhappa0.core.bootstrap;
 
 import me.hhappa0.core.command.BaseCommand;
+import me.hhappa0.core.command.LazyCommand;
+import me.hhappa0.core.event.EventStream;
+import me.hhappa0.core.event.EventSubscriptionRegistry;
+import me.hhappa0.core.item.ItemDispatcher;
+import me.hhappa0.core.item.ItemListener;
+import me.hhappa0.core.logging.CoreLogger;
+import me.hhappa0.core.logging.OverflowPolicy;
+import me.hhappa0.core.menu.ClickThrottle;
 import me.hhappa0.core.menu.MenuListener;
+import me.hhappa0.core.menu.MenuSessionRegistry;
+import me.hhappa0.core.metrics.MetricsRegistry;
+import me.hhappa0.core.metrics.MetricsServer;
 import me.hhappa0.core.util.SchedulerUtil;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.event.Event;
 import org.bukkit.event.Listener;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.reflections.Reflections;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Logger;
 
 /**
  * The main class for the Core library.
  */
 public class Core {
     public static JavaPlugin plugin;
+    public static CoreLogger logger = new CoreLogger(Logger.getLogger("Core"));
     public static String noPermissionMessage;
+    public static MenuSessionRegistry menuSessions;
+    public static ClickThrottle clickThrottle;
+    public static ItemDispatcher itemDispatcher;
+    public static final MetricsRegistry metrics = new MetricsRegistry();
+    public static final EventSubscriptionRegistry eventSubscriptions = new EventSubscriptionRegistry();
+    private static MetricsServer metricsServer;
+    private static volatile NoPermissionMessage cachedNoPermissionMessage;
+    private final List<LazyCommand> lazyCommands = new ArrayList<>();
 
     /**
      * Initializes the Core library for a given plugin.
@@ -24,10 +51,37 @@ public class Core {
      * @return The initialized Core library instance.
      */
     public Core initialize(JavaPlugin plugin, String noPermissionMessage) {
+        return this.initialize(plugin, noPermissionMessage, OverflowPolicy.DROP);
+    }
+
+    /**
+     * Initializes the Core library for a given plugin.
+     * @param plugin The plugin instance the Core library is registered to.
+     * @param noPermissionMessage The message displayed, when a player executes a command without the required permission, formatted using {@link net.kyori.adventure.text.minimessage.MiniMessage}.
+     * @param logOverflowPolicy What {@link #logger} does when more records are logged than its buffer can hold.
+     * @return The initialized Core library instance.
+     */
+    public Core initialize(JavaPlugin plugin, String noPermissionMessage, OverflowPolicy logOverflowPolicy) {
         Core.plugin = plugin;
         Core.noPermissionMessage = noPermissionMessage;
 
-        plugin.getServer().getPluginManager().registerEvents(new MenuListener(), plugin);
+        Core.logger.close();
+        Core.logger = new CoreLogger(plugin.getLogger(), CoreLogger.DEFAULT_CAPACITY, logOverflowPolicy);
+
+        Core.menuSessions = new MenuSessionRegistry();
+        Core.clickThrottle = new ClickThrottle();
+        Core.itemDispatcher = new ItemDispatcher();
+
+        MenuSessionRegistry sessions = Core.menuSessions;
+        ClickThrottle throttle = Core.clickThrottle;
+        Core.metrics.gauge("core_menu_open_sessions", "Menus currently open.", sessions::getOpenCount);
+        Core.metrics.counter("core_menu_clicks_accepted_total", "Menu clicks passed to their action.", throttle::getAcceptedClicks);
+        Core.metrics.counter("core_menu_clicks_dropped_total", "Menu clicks dropped by the click throttle.", throttle::getDroppedClicks);
+        Core.metrics.counter("core_log_records_dropped_total", "Log records dropped because the log buffer was full.", Core.logger::getDroppedRecords);
+
+        plugin.getServer().getPluginManager().registerEvents(new MenuListener(Core.clickThrottle), plugin);
+        plugin.getServer().getPluginManager().registerEvents(new ItemListener(Core.itemDispatcher), plugin);
+        this.getScheduler().runTaskTimerSync(Core.menuSessions::sweep, 20 * 60, 20 * 60);
 
         return this;
     }
@@ -37,34 +91,164 @@ public class Core {
      * @param packageName The package where the {@link BaseCommand}s are located.
      */
     public void registerCommandsIn(String packageName) {
-        for (Class<? extends BaseCommand> clazz : new Reflections(packageName).getSubTypesOf(BaseCommand.class)) {
+        this.registerCommands(Core.scanCommandsIn(packageName));
+    }
+
+    /**
+     * Scans the given package for {@link BaseCommand}s without instantiating them.
+     * <p>This does not access the server and may be called off the main thread.</p>
+     * @param packageName The package where the {@link BaseCommand}s are located.
+     * @return The found command classes.
+     */
+    public static Set<Class<? extends BaseCommand>> scanCommandsIn(String packageName) {
+        return new Reflections(packageName).getSubTypesOf(BaseCommand.class);
+    }
+
+    /**
+     * Instantiates and registers the given {@link BaseCommand}s.
+     * @param classes The command classes to register.
+     */
+    public void registerCommands(Set<Class<? extends BaseCommand>> classes) {
+        for (Class<? extends BaseCommand> clazz : classes) {
             try {
                 BaseCommand baseCommand = clazz.getDeclaredConstructor().newInstance();
 
                 Objects.requireNonNull(Core.plugin.getCommand(baseCommand.getInfo().name())).setExecutor(baseCommand);
             } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
                      NoSuchMethodException e) {
-                plugin.getLogger().severe("Could not register listeners in package '" + packageName + "'!");
+                Core.logger.severe("Could not register command '{}'!", clazz.getName());
             }
         }
     }
 
+    /**
+     * Registers all {@link BaseCommand}s in the given package without instantiating them.
+     * <p>Each command is created on its first use or by {@link #prewarmCommands()}.</p>
+     * @param packageName The package where the {@link BaseCommand}s are located.
+     */
+    public void registerCommandsLazilyIn(String packageName) {
+        this.registerCommandsLazily(Core.scanCommandsIn(packageName));
+    }
+
+    /**
+     * Registers a {@link LazyCommand} for each of the given {@link BaseCommand}s.
+     * @param classes The command classes to register.
+     */
+    public void registerCommandsLazily(Set<Class<? extends BaseCommand>> classes) {
+        for (Class<? extends BaseCommand> clazz : classes) {
+            try {
+                LazyCommand lazyCommand = new LazyCommand(clazz);
+
+                Objects.requireNonNull(Core.plugin.getCommand(lazyCommand.getInfo().name())).setExecutor(lazyCommand);
+                this.lazyCommands.add(lazyCommand);
+            } catch (IllegalStateException e) {
+                Core.logger.severe("Could not register command '{}'!", clazz.getName());
+            }
+        }
+    }
+
+    /**
+     * Creates all lazily registered commands that have not been used yet.
+     * <p>The commands are created on the main thread, one per tick, because their constructors may use the Bukkit API.</p>
+     */
+    public void prewarmCommands() {
+        this.prewarmCommands(List.copyOf(this.lazyCommands), 0);
+    }
+
+    private void prewarmCommands(List<LazyCommand> commands, int index) {
+        if (index >= commands.size()) return;
+
+        this.getScheduler().runTaskLaterSync(() -> {
+            commands.get(index).prewarm();
+            this.prewarmCommands(commands, index + 1);
+        }, 1);
+    }
+
     /**
      * Registers all {@link org.bukkit.event.Listener}s in the given package.
      * @param packageName The package where the {@link org.bukkit.event.Listener}s are located.
      */
     public void registerListenersIn(String packageName) {
-        for (Class<?> clazz : new Reflections(packageName).getSubTypesOf(Listener.class)) {
+        this.registerListeners(Core.scanListenersIn(packageName));
+    }
+
+    /**
+     * Scans the given package for {@link org.bukkit.event.Listener}s without instantiating them.
+     * <p>This does not access the server and may be called off the main thread.</p>
+     * @param packageName The package where the {@link org.bukkit.event.Listener}s are located.
+     * @return The found listener classes.
+     */
+    public static Set<Class<? extends Listener>> scanListenersIn(String packageName) {
+        return new Reflections(packageName).getSubTypesOf(Listener.class);
+    }
+
+    /**
+     * Instantiates and registers the given {@link org.bukkit.event.Listener}s.
+     * @param classes The listener classes to register.
+     */
+    public void registerListeners(Set<Class<? extends Listener>> classes) {
+        for (Class<? extends Listener> clazz : classes) {
             try {
-                Listener listener = (Listener) clazz.getDeclaredConstructor().newInstance();
+                Listener listener = clazz.getDeclaredConstructor().newInstance();
 
                 plugin.getServer().getPluginManager().registerEvents(listener, plugin);
             } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-                plugin.getLogger().severe("Could not register listeners in package '" + packageName + "'!");
+                Core.logger.severe("Could not register listener '{}'!", clazz.getName());
             }
         }
     }
 
+    /**
+     * Creates an {@link EventStream} of the given event type for batching high-frequency events.
+     * @param type The class of the event.
+     * @return The stream, not subscribed yet.
+     */
+    public static <E extends Event> EventStream<E> stream(Class<E> type) {
+        return EventStream.of(Core.plugin, type);
+    }
+
+    /**
+     * Returns the deserialized {@link #noPermissionMessage}. It is only deserialized again when the message changes.
+     * @return The no-permission message, or {@code null} if none is set.
+     */
+    public static Component getNoPermissionMessage() {
+        String message = Core.noPermissionMessage;
+        if (message == null) return null;
+
+        NoPermissionMessage cached = Core.cachedNoPermissionMessage;
+
+        if (cached == null || !message.equals(cached.message)) {
+            cached = new NoPermissionMessage(message, MiniMessage.miniMessage().deserialize(message));
+            Core.cachedNoPermissionMessage = cached;
+        }
+
+        return cached.component;
+    }
+
+    /**
+     * Starts serving {@link #metrics} in the Prometheus text format on {@code http://127.0.0.1:<port>/metrics}.
+     * <p>A server that is already running is stopped first.</p>
+     * @param port The local port to listen on.
+     * @throws java.io.UncheckedIOException if the port could not be bound.
+     */
+    public static synchronized void startMetricsServer(int port) {
+        Core.stopMetricsServer();
+
+        MetricsServer server = new MetricsServer(Core.metrics, port);
+        server.start();
+        Core.metricsServer = server;
+    }
+
+    /**
+     * Stops the metrics server if it is running.
+     */
+    public static synchronized void stopMetricsServer() {
+        if (Core.metricsServer == null) return;
+
+        Core.metricsServer.stop();
+        Core.metricsServer = null;
+    }
+
     /**
      * Returns the initialized {@link SchedulerUtil} instance.
      * @return The initialized {@link SchedulerUtil} instance.
@@ -72,4 +256,17 @@ public class Core {
     public SchedulerUtil getScheduler() {
         return new SchedulerUtil(plugin);
     }
+
+    /**
+     * A no-permission message together with its deserialized component, so both are always published together.
+     */
+    private static final class NoPermissionMessage {
+        private final String message;
+        private final Component component;
+
+        private NoPermissionMessage(String message, Component component) {
+            this.message = message;
+            this.component = component;
+        }
+    }
 }
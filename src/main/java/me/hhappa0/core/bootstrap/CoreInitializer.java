@@ -1,5 +1,6 @@
 package me.hhappa0.core.bootstrap;
 
+import me.hhappa0.core.logging.OverflowPolicy;
 import org.bukkit.plugin.java.JavaPlugin;
 
 /**
@@ -19,4 +20,17 @@ public class CoreInitializer {
 
         return core.initialize(plugin, noPermissionMessage);
     }
+
+    /**
+     * Provides static access to {@link me.hhappa0.core.bootstrap.Core#initialize(org.bukkit.plugin.java.JavaPlugin, java.lang.String, me.hhappa0.core.logging.OverflowPolicy)}.
+     * @param plugin The plugin instance the Core library is registered to.
+     * @param noPermissionMessage The message displayed, when a player executes a command without the required permission, formatted using {@link net.kyori.adventure.text.minimessage.MiniMessage}.
+     * @param logOverflowPolicy What {@link me.hhappa0.core.bootstrap.Core#logger} does when its buffer is full.
+     * @return The initialized Core library instance.
+     */
+    public static Core initialize(JavaPlugin plugin, String noPermissionMessage, OverflowPolicy logOverflowPolicy) {
+        CoreInitializer.core = new Core();
+
+        return core.initialize(plugin, noPermissionMessage, logOverflowPolicy);
+    }
 }
@@ -1,7 +1,9 @@
 package me.hhappa0.core.command;
 
 import me.hhappa0.core.bootstrap.Core;
-import net.kyori.adventure.text.minimessage.MiniMessage;
+import me.hhappa0.core.metrics.Counter;
+import me.hhappa0.core.metrics.Histogram;
+import net.kyori.adventure.text.Component;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabExecutor;
@@ -20,6 +22,8 @@ import java.util.List;
 public abstract class BaseCommand implements TabExecutor {
     /** Metadata defined by {@link CommandInfo}. */
     private final @NotNull CommandInfo commandInfo;
+    private final Counter deniedCounter;
+    private final Histogram executionTimer;
 
     /**
      * Constructs the command and validates the presence of {@link CommandInfo}.
@@ -30,6 +34,9 @@ public abstract class BaseCommand implements TabExecutor {
         this.commandInfo = this.getClass().getDeclaredAnnotation(CommandInfo.class);
 
         if (this.commandInfo == null) throw new IllegalStateException("Missing annotation @CoreCommandInfo on " + this.getClass().getName());
+
+        this.deniedCounter = deniedCounter(this.commandInfo);
+        this.executionTimer = Core.metrics.timer("core_command_execution_seconds", "Time spent executing commands.", "command", this.commandInfo.name());
     }
 
     /**
@@ -43,15 +50,15 @@ public abstract class BaseCommand implements TabExecutor {
 
     @Override
     public boolean onCommand(@NotNull CommandSender commandSender, @NotNull Command command, @NotNull String label, @NotNull String @NotNull [] args) {
-        if (!commandInfo.permission().isEmpty() && !commandSender.hasPermission(commandInfo.permission())) {
-            if (Core.noPermissionMessage != null) {
-                commandSender.sendMessage(MiniMessage.miniMessage().deserialize(Core.noPermissionMessage));
-            }
+        if (!checkPermission(commandInfo, commandSender, deniedCounter)) return false;
 
-            return false;
-        }
+        long start = System.nanoTime();
 
-        execute(commandSender, args);
+        try {
+            execute(commandSender, args);
+        } finally {
+            executionTimer.observeNanos(System.nanoTime() - start);
+        }
 
         return true;
     }
@@ -68,4 +75,26 @@ public abstract class BaseCommand implements TabExecutor {
     public abstract void execute(CommandSender sender, String[] args);
 
     public abstract List<String> tab(CommandSender sender, String[] args);
+
+    static Counter deniedCounter(CommandInfo commandInfo) {
+        return Core.metrics.counter("core_command_denied_total", "Command executions denied because of a missing permission.", "command", commandInfo.name());
+    }
+
+    /**
+     * Checks the permission of a command and sends the no-permission message if it is missing.
+     * @return {@code true} if the sender may execute the command.
+     */
+    static boolean checkPermission(CommandInfo commandInfo, CommandSender commandSender, Counter deniedCounter) {
+        if (commandInfo.permission().isEmpty() || commandSender.hasPermission(commandInfo.permission())) return true;
+
+        deniedCounter.increment();
+
+        Component noPermissionMessage = Core.getNoPermissionMessage();
+
+        if (noPermissionMessage != null) {
+            commandSender.sendMessage(noPermissionMessage);
+        }
+
+        return false;
+    }
 }
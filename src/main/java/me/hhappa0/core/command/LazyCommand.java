@@ -0,0 +1,147 @@
+package me.hhappa0.core.command;
+
+import me.hhappa0.core.bootstrap.Core;
+import me.hhappa0.core.metrics.Counter;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabExecutor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A lightweight executor that is registered in place of a {@link BaseCommand} and creates the real command on first use.
+ *
+ * <p>Only the {@link CommandInfo} annotation is read at registration, so commands with expensive constructors do not slow down the plugin startup.
+ * The permission is checked before the command is created, and the latency of the first execution or tab completion is logged.</p>
+ */
+public class LazyCommand implements TabExecutor {
+    private final Class<? extends BaseCommand> commandClass;
+    private final @NotNull CommandInfo commandInfo;
+    private final Counter deniedCounter;
+    private final AtomicBoolean used;
+    private volatile BaseCommand command;
+    private volatile long creationNanos;
+
+    /**
+     * Creates a lazy executor for the given command class.
+     *
+     * @param commandClass The class of the command, which needs a public no-args constructor.
+     * @throws IllegalStateException if the annotation is missing.
+     */
+    public LazyCommand(Class<? extends BaseCommand> commandClass) {
+        this.commandClass = commandClass;
+        this.commandInfo = commandClass.getDeclaredAnnotation(CommandInfo.class);
+
+        if (this.commandInfo == null) throw new IllegalStateException("Missing annotation @CommandInfo on " + commandClass.getName());
+
+        this.deniedCounter = BaseCommand.deniedCounter(this.commandInfo);
+        this.used = new AtomicBoolean();
+    }
+
+    /**
+     * Returns the metadata for this command.
+     *
+     * @return The command metadata.
+     */
+    public @NotNull CommandInfo getInfo() {
+        return commandInfo;
+    }
+
+    /**
+     * Returns whether the real command has already been created.
+     *
+     * @return {@code true} if the command is instantiated.
+     */
+    public boolean isInstantiated() {
+        return command != null;
+    }
+
+    /**
+     * Returns the real command, creating it if this is the first use.
+     *
+     * @return The command instance.
+     * @throws IllegalStateException if the command could not be created.
+     */
+    public BaseCommand getCommand() {
+        BaseCommand current = command;
+        if (current != null) return current;
+
+        synchronized (this) {
+            if (command == null) {
+                long start = System.nanoTime();
+
+                try {
+                    command = commandClass.getDeclaredConstructor().newInstance();
+                } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+                    throw new IllegalStateException("Could not create command '" + commandClass.getName() + "'!", e);
+                }
+
+                creationNanos = System.nanoTime() - start;
+            }
+
+            return command;
+        }
+    }
+
+    /**
+     * Creates the real command ahead of its first use. Failures are logged instead of thrown.
+     * <p>Must be called on the main thread, because command constructors may use the Bukkit API.</p>
+     */
+    public void prewarm() {
+        if (this.isInstantiated()) return;
+
+        try {
+            this.getCommand();
+            Core.logger.info("Prewarmed command '/{}' in {} ms.", commandInfo.name(), millis(this.creationNanos));
+        } catch (IllegalStateException e) {
+            Core.logger.severe("{}", e.getMessage(), e.getCause());
+        }
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender commandSender, @NotNull Command command, @NotNull String label, @NotNull String @NotNull [] args) {
+        if (!BaseCommand.checkPermission(commandInfo, commandSender, deniedCounter)) return false;
+        if (this.used.get() || !this.used.compareAndSet(false, true)) return this.getCommand().onCommand(commandSender, command, label, args);
+
+        long start = System.nanoTime();
+
+        try {
+            return this.getCommand().onCommand(commandSender, command, label, args);
+        } finally {
+            this.logFirstUse("execution", start);
+        }
+    }
+
+    @Override
+    public @Nullable List<String> onTabComplete(@NotNull CommandSender commandSender, @NotNull Command command, @NotNull String alias, @NotNull String @NotNull [] args) {
+        if (!commandInfo.permission().isEmpty() && !commandSender.hasPermission(commandInfo.permission())) {
+            return List.of();
+        }
+
+        if (this.used.get() || !this.used.compareAndSet(false, true)) return this.getCommand().onTabComplete(commandSender, command, alias, args);
+
+        long start = System.nanoTime();
+
+        try {
+            return this.getCommand().onTabComplete(commandSender, command, alias, args);
+        } finally {
+            this.logFirstUse("tab completion", start);
+        }
+    }
+
+    private void logFirstUse(String kind, long start) {
+        long latency = System.nanoTime() - start;
+        long creation = this.creationNanos;
+
+        if (creation > 0 && creation <= latency) Core.logger.info("First {} of '/{}' took {} ms, {} ms of it creating the command.", kind, commandInfo.name(), millis(latency), millis(creation));
+        else Core.logger.info("First {} of '/{}' took {} ms.", kind, commandInfo.name(), millis(latency));
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
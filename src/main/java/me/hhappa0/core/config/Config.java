@@ -1,5 +1,9 @@
 package me.hhappa0.core.config;
 
+import me.hhappa0.core.bootstrap.Core;
+import me.hhappa0.core.metrics.Histogram;
+import me.hhappa0.core.util.ItemCodec;
+import me.hhappa0.core.util.SchedulerUtil;
 import org.bukkit.Color;
 import org.bukkit.Location;
 import org.bukkit.OfflinePlayer;
@@ -12,17 +16,35 @@ import org.bukkit.util.Vector;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A flexible utility class for managing specific YAML configuration files
  * within a plugin's data folder. It supports saving defaults and typed getters.
+ *
+ * <p>Data files that change constantly can be switched to a journaled mode with {@link #enableJournal()}. Each
+ * {@link #set(String, Object)} is then appended to a write-ahead log instead of rewriting the whole file, and the file is
+ * only rewritten once the journal grows past a size or time threshold.</p>
  */
 public class Config {
+    /** The default journal size in bytes after which the file is rewritten. */
+    public static final long DEFAULT_JOURNAL_COMPACT_BYTES = 1024 * 1024;
+    /** The default age in milliseconds of journaled changes after which the file is rewritten. */
+    public static final long DEFAULT_JOURNAL_COMPACT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
     private final Plugin plugin;
     private final String fileName;
-    private FileConfiguration config;
+    private final ConfigRegistry registry;
+    private final Histogram loadTimer;
+    private final Histogram saveTimer;
+    private volatile FileConfiguration config;
+    private final Map<String, DecodedItems> itemCache;
+    private volatile ConfigJournal journal;
     private File configFile;
 
     /**
@@ -32,52 +54,192 @@ public class Config {
      * @param fileName The name of the configuration file.
      */
     public Config(Plugin plugin, String fileName) {
+        this(plugin, fileName, null);
+
+        this.load();
+    }
+
+    /**
+     * Initializes a configuration handle managed by a {@link ConfigRegistry}.
+     * <p>The file is loaded on first access and saved on the registry's I/O thread.</p>
+     */
+    Config(Plugin plugin, String fileName, ConfigRegistry registry) {
         this.plugin = plugin;
         this.fileName = fileName;
+        this.registry = registry;
         this.configFile = new File(plugin.getDataFolder(), fileName);
-
-        if (!plugin.getDataFolder().exists()) plugin.getDataFolder().mkdirs();
-
-        this.load();
+        this.itemCache = new ConcurrentHashMap<>();
+        this.loadTimer = Core.metrics.timer("core_config_load_seconds", "Time spent reading configuration files.", "file", fileName);
+        this.saveTimer = Core.metrics.timer("core_config_save_seconds", "Time spent writing configuration files.", "file", fileName);
     }
 
     /**
      * Loads the configuration file from disk. If a default file with the same name
      * exists inside the plugin JAR, it will be saved to the data folder first.
      */
-    public void load() {
+    public synchronized void load() {
+        long start = System.nanoTime();
+
+        if (!plugin.getDataFolder().exists()) plugin.getDataFolder().mkdirs();
         if (!configFile.exists()) plugin.saveResource(fileName, false);
 
         this.reload();
+
+        if (this.registry != null) this.registry.recordLoad(fileName, System.nanoTime() - start);
     }
 
     /**
      * Reloads the configuration file from disk.
+     * <p>Changes left in the journal, for example after a crash, are applied on top of the file and written back to it.</p>
      */
     public void reload() {
-        this.config = YamlConfiguration.loadConfiguration(this.configFile);
+        long start = System.nanoTime();
+        ConfigJournal journal = this.journal;
+
+        if (journal != null) journal.flush();
+
+        FileConfiguration loaded = YamlConfiguration.loadConfiguration(this.configFile);
+        this.replayJournal(loaded, journal);
+        this.config = loaded;
+        this.itemCache.clear();
+
+        this.loadTimer.observeNanos(System.nanoTime() - start);
+    }
+
+    /**
+     * Returns whether the configuration file has been loaded.
+     * @return {@code true} if the file is loaded.
+     */
+    public boolean isLoaded() {
+        return this.config != null;
     }
 
     /**
      * Saves the currently loaded configuration to the disk.
+     * <p>Configs obtained from a {@link ConfigRegistry} are serialized on the calling thread and written on the registry's I/O thread.
+     * Journaled configs are serialized on the calling thread and written on the journal's writer thread, which also truncates the journal.</p>
      */
     public void save() {
+        ConfigJournal journal = this.journal;
+
+        if (journal != null) {
+            journal.compact(this.config().saveToString());
+            return;
+        }
+
+        if (this.registry != null) {
+            this.registry.scheduleSave(fileName, this.configFile, this.config().saveToString(), this.saveTimer);
+            return;
+        }
+
+        long start = System.nanoTime();
+
         try {
-            this.config.save(this.configFile);
+            this.config().save(this.configFile);
         } catch (IOException e) {
-            plugin.getLogger().severe("Could not save config " + fileName + ": " + e.getMessage());
+            Core.logger.severe("Could not save config {}: {}", fileName, e.getMessage());
         }
+
+        this.saveTimer.observeNanos(System.nanoTime() - start);
+    }
+
+    /**
+     * Switches this config to journaled mode with the default thresholds.
+     * @see #enableJournal(long, long)
+     */
+    public void enableJournal() {
+        this.enableJournal(DEFAULT_JOURNAL_COMPACT_BYTES, DEFAULT_JOURNAL_COMPACT_MILLIS);
+    }
+
+    /**
+     * Switches this config to journaled mode.
+     * <p>Every {@link #set(String, Object)} is serialized on the calling thread and appended to {@code <file>.journal} on a
+     * writer thread, which syncs each batch of changes to the disk once. The whole file is only rewritten after the journal
+     * exceeds {@code compactBytes}, after its oldest change is older than {@code compactIntervalMillis}, or on {@link #save()}.
+     * The age is checked on every change and by a task on the global region, so changes are written back to the file even
+     * if no further change follows. Call {@link #flushJournal()} on shutdown.</p>
+     *
+     * @param compactBytes The journal size in bytes after which the file is rewritten.
+     * @param compactIntervalMillis The age in milliseconds of journaled changes after which the file is rewritten.
+     * @throws IllegalArgumentException if a threshold is not positive.
+     */
+    public synchronized void enableJournal(long compactBytes, long compactIntervalMillis) {
+        if (compactBytes <= 0 || compactIntervalMillis <= 0) throw new IllegalArgumentException("The journal thresholds must be positive.");
+        if (this.journal != null) return;
+
+        this.journal = new ConfigJournal(plugin, fileName, this.configFile, compactBytes, compactIntervalMillis);
+    }
+
+    /**
+     * Rewrites the whole file, closes the journal and switches this config back to rewriting the file on every save.
+     */
+    public synchronized void disableJournal() {
+        ConfigJournal journal = this.journal;
+        if (journal == null) return;
+
+        journal.compact(this.config().saveToString());
+        journal.close();
+        this.journal = null;
+    }
+
+    /**
+     * Returns whether this config is in journaled mode.
+     * @return {@code true} if changes are appended to a journal.
+     */
+    public boolean isJournaled() {
+        return this.journal != null;
+    }
+
+    /**
+     * Blocks until all journaled changes have been written to the disk. Does nothing if the config is not journaled.
+     */
+    public void flushJournal() {
+        ConfigJournal journal = this.journal;
+        if (journal != null) journal.flush();
+    }
+
+    /**
+     * Returns the name of the configuration file.
+     * @return The file name.
+     */
+    public String getFileName() {
+        return this.fileName;
     }
 
     /**
      * Sets a value in the configuration.
-     * <p>Note: This only sets the value in memory. You must call {@link Config#save()} afterward to write the change to the disk.</p>
+     * <p>Note: This only sets the value in memory. You must call {@link Config#save()} afterward to write the change to the disk.
+     * In journaled mode, the change is appended to the journal instead and no save is needed.</p>
      *
      * @param path The path where the value should be set.
      * @param value The value to set (e.g., String, int, List, Map, ItemStack, etc.).
      */
     public void set(String path, Object value) {
-        this.config.set(path, value);
+        this.config().set(path, value);
+
+        ConfigJournal journal = this.journal;
+        if (journal == null) return;
+
+        boolean first = journal.append(path, value);
+
+        if (journal.needsCompaction()) journal.compact(this.config().saveToString());
+        else if (first) this.scheduleCompaction(journal, journal.getGeneration(), journal.getMillisUntilCompaction());
+    }
+
+    /**
+     * Schedules a check on the global region that compacts the journal once the changes of the given generation reach the
+     * time threshold, so they are written back to the file even if no further change is made.
+     */
+    private void scheduleCompaction(ConfigJournal journal, long generation, long delayMillis) {
+        long delayTicks = Math.max(1, (delayMillis + 49) / 50);
+
+        new SchedulerUtil(this.plugin).runGlobalLater(() -> {
+            if (this.journal != journal || journal.getGeneration() != generation) return;
+
+            long remaining = journal.getMillisUntilCompaction();
+            if (remaining == 0) journal.compact(this.config().saveToString());
+            else if (remaining > 0) this.scheduleCompaction(journal, generation, remaining);
+        }, delayTicks);
     }
 
     /**
@@ -85,7 +247,7 @@ public class Config {
      * @return The FileConfiguration instance.
      */
     public FileConfiguration getConfig() {
-        return this.config;
+        return this.config();
     }
 
     /**
@@ -104,7 +266,7 @@ public class Config {
      * @return The object at the path, or the default value if not found.
      */
     public Object get(String path, Object defaultValue) {
-        return this.config.get(path, defaultValue);
+        return this.config().get(path, defaultValue);
     }
 
     /**
@@ -123,7 +285,7 @@ public class Config {
      * @return The String at the path, or the default value if not found.
      */
     public String getString(String path, String defaultValue) {
-        return config.getString(path, defaultValue);
+        return this.config().getString(path, defaultValue);
     }
 
     /**
@@ -142,7 +304,7 @@ public class Config {
      * @return The Integer at the path, or the default value if not found.
      */
     public int getInt(String path, int defaultValue) {
-        return config.getInt(path, defaultValue);
+        return this.config().getInt(path, defaultValue);
     }
 
     /**
@@ -161,7 +323,7 @@ public class Config {
      * @return The Boolean at the path, or the default value if not found.
      */
     public boolean getBoolean(String path, boolean defaultValue) {
-        return config.getBoolean(path, defaultValue);
+        return this.config().getBoolean(path, defaultValue);
     }
 
     /**
@@ -180,7 +342,7 @@ public class Config {
      * @return The Double at the path, or the default value if not found.
      */
     public double getDouble(String path, double defaultValue) {
-        return config.getDouble(path, defaultValue);
+        return this.config().getDouble(path, defaultValue);
     }
 
     /**
@@ -199,7 +361,7 @@ public class Config {
      * @return The Long at the path, or the default value if not found.
      */
     public long getLong(String path, long defaultValue) {
-        return config.getLong(path, defaultValue);
+        return this.config().getLong(path, defaultValue);
     }
 
     /**
@@ -219,7 +381,7 @@ public class Config {
      * @return The Short at the path, or the default value.
      */
     public short getShort(String path, short defaultValue) {
-        return (short) config.getInt(path, (int) defaultValue);
+        return (short) this.config().getInt(path, (int) defaultValue);
     }
 
     /**
@@ -228,7 +390,7 @@ public class Config {
      * @return The map containing the section data, or an empty map if not found.
      */
     public Map<?, ?> getMap(String path) {
-        ConfigurationSection section = this.config.getConfigurationSection(path);
+        ConfigurationSection section = this.config().getConfigurationSection(path);
         if (section == null) return Map.of();
 
         return (Map<?, ?>) section.getValues(true);
@@ -240,7 +402,7 @@ public class Config {
      * @return The list of strings, or an empty list if not found.
      */
     public List<String> getStringList(String path) {
-        return this.config.getStringList(path);
+        return this.config().getStringList(path);
     }
 
     /**
@@ -249,7 +411,7 @@ public class Config {
      * @return The list of integers, or an empty list if not found.
      */
     public List<Integer> getIntList(String path) {
-        return this.config.getIntegerList(path);
+        return this.config().getIntegerList(path);
     }
 
     /**
@@ -258,7 +420,7 @@ public class Config {
      * @return The list of booleans, or an empty list if not found.
      */
     public List<Boolean> getBooleanList(String path) {
-        return this.config.getBooleanList(path);
+        return this.config().getBooleanList(path);
     }
 
     /**
@@ -267,7 +429,7 @@ public class Config {
      * @return The list of doubles, or an empty list if not found.
      */
     public List<Double> getDoubleList(String path) {
-        return this.config.getDoubleList(path);
+        return this.config().getDoubleList(path);
     }
 
     /**
@@ -276,7 +438,7 @@ public class Config {
      * @return The list of longs, or an empty list if not found.
      */
     public List<Long> getLongList(String path) {
-        return this.config.getLongList(path);
+        return this.config().getLongList(path);
     }
 
     /**
@@ -285,7 +447,7 @@ public class Config {
      * @return The list of shorts, or an empty list if not found.
      */
     public List<Short> getShortList(String path) {
-        return this.config.getShortList(path);
+        return this.config().getShortList(path);
     }
 
     /**
@@ -294,7 +456,7 @@ public class Config {
      * @return The List at the path, or an empty list if not found.
      */
     public List<?> getList(String path) {
-        return this.config.getList(path, List.of());
+        return this.config().getList(path, List.of());
     }
 
     /**
@@ -303,7 +465,7 @@ public class Config {
      * @return The list of maps, or an empty list if not found or the path is not a list.
      */
     public List<Map<?, ?>> getMapList(String path) {
-        return this.config.getMapList(path);
+        return this.config().getMapList(path);
     }
 
     /**
@@ -323,7 +485,7 @@ public class Config {
      * @return The Color at the path, or the default value.
      */
     public Color getColor(String path, Color defaultValue) {
-        return this.config.getColor(path, defaultValue);
+        return this.config().getColor(path, defaultValue);
     }
 
     /**
@@ -343,7 +505,70 @@ public class Config {
      * @return The ItemStack at the path, or the default value.
      */
     public ItemStack getItemStack(String path, ItemStack defaultValue) {
-        return this.config.getItemStack(path, defaultValue);
+        return this.config().getItemStack(path, defaultValue);
+    }
+
+    /**
+     * Sets an {@link ItemStack} in Paper's compact binary format, stored as a Base64 string.
+     * <p>Much smaller and faster to load than {@link #set(String, Object)}, which stores the item as a YAML map.
+     * Read it back with {@link #getCompactItemStack(String)}.</p>
+     *
+     * @param path The path where the item should be set.
+     * @param item The item, or {@code null} to remove it. An empty item is read back as {@code null}.
+     */
+    public void setCompactItemStack(String path, ItemStack item) {
+        this.setCompactItems(path, item == null ? null : ItemCodec.toBase64(item), false, new ItemStack[] {item});
+    }
+
+    /**
+     * Gets an {@link ItemStack} set with {@link #setCompactItemStack(String, ItemStack)}.
+     * <p>The decoded item is cached until the path is set again or the file is reloaded, and a copy is returned on every call.</p>
+     *
+     * @param path The path to the item.
+     * @return A copy of the item, or {@code null} if not found, empty or invalid.
+     */
+    public ItemStack getCompactItemStack(String path) {
+        ItemStack[] items = this.getCompactItems(path, false);
+        return items == null ? null : items[0];
+    }
+
+    /**
+     * Sets multiple {@link ItemStack}s, such as the contents of an inventory, as a single block in Paper's compact binary
+     * format, stored as a Base64 string. Empty slots keep their position.
+     *
+     * @param path The path where the items should be set.
+     * @param items The items, or {@code null} to remove them. Can contain {@code null}s.
+     */
+    public void setCompactItemStacks(String path, ItemStack[] items) {
+        this.setCompactItems(path, items == null ? null : ItemCodec.toBase64All(items), true, items);
+    }
+
+    /**
+     * Gets the items set with {@link #setCompactItemStacks(String, ItemStack[])}.
+     * <p>The decoded items are cached until the path is set again or the file is reloaded, and copies are returned on every call.</p>
+     *
+     * @param path The path to the items.
+     * @return Copies of the items with {@code null} for empty slots, or {@code null} if not found or invalid.
+     */
+    public ItemStack[] getCompactItemStacks(String path) {
+        return this.getCompactItems(path, true);
+    }
+
+    /**
+     * Gets the items set with {@link #setCompactItemStacks(String, ItemStack[])}, decoding them off the calling thread.
+     * <p>The encoded value is read on the calling thread. If the items are already cached, the future is already complete.</p>
+     *
+     * @param path The path to the items.
+     * @return A future completing with copies of the items, or with {@code null} if not found or invalid.
+     */
+    public CompletableFuture<ItemStack[]> getCompactItemStacksAsync(String path) {
+        String encoded = this.config().getString(path);
+        if (encoded == null) return CompletableFuture.completedFuture(null);
+
+        DecodedItems cached = this.itemCache.get(path);
+        if (cached != null && cached.matches(encoded, true)) return CompletableFuture.completedFuture(cached.copy());
+
+        return CompletableFuture.supplyAsync(() -> this.decodeItems(path, encoded, true));
     }
 
     /**
@@ -363,7 +588,7 @@ public class Config {
      * @return The Location at the path, or the default value.
      */
     public Location getLocation(String path, Location defaultValue) {
-        return this.config.getLocation(path, defaultValue);
+        return this.config().getLocation(path, defaultValue);
     }
 
     /**
@@ -383,7 +608,7 @@ public class Config {
      * @return The OfflinePlayer at the path, or the default value.
      */
     public OfflinePlayer getOfflinePlayer(String path, OfflinePlayer defaultValue) {
-        return this.config.getOfflinePlayer(path, defaultValue);
+        return this.config().getOfflinePlayer(path, defaultValue);
     }
 
     /**
@@ -403,6 +628,110 @@ public class Config {
      * @return The Vector at the path, or the default value.
      */
     public Vector getVector(String path, Vector defaultValue) {
-        return this.config.getVector(path, defaultValue);
+        return this.config().getVector(path, defaultValue);
+    }
+
+    private void setCompactItems(String path, String encoded, boolean bulk, ItemStack[] items) {
+        this.set(path, encoded);
+
+        if (encoded == null) {
+            this.itemCache.remove(path);
+            return;
+        }
+
+        this.itemCache.put(path, new DecodedItems(encoded, bulk, DecodedItems.copy(items)));
+    }
+
+    private ItemStack[] getCompactItems(String path, boolean bulk) {
+        String encoded = this.config().getString(path);
+        if (encoded == null) return null;
+
+        DecodedItems cached = this.itemCache.get(path);
+        if (cached != null && cached.matches(encoded, bulk)) return cached.copy();
+
+        return this.decodeItems(path, encoded, bulk);
+    }
+
+    private ItemStack[] decodeItems(String path, String encoded, boolean bulk) {
+        ItemStack[] items;
+
+        try {
+            items = bulk ? ItemCodec.fromBase64All(encoded) : new ItemStack[] {ItemCodec.fromBase64(encoded)};
+        } catch (RuntimeException e) {
+            Core.logger.severe("Could not decode items at {} in config {}: {}", path, fileName, e.getMessage());
+            return null;
+        }
+
+        this.itemCache.put(path, new DecodedItems(encoded, bulk, items));
+        return DecodedItems.copy(items);
+    }
+
+    private void replayJournal(FileConfiguration loaded, ConfigJournal journal) {
+        File journalFile = ConfigJournal.journalFile(this.configFile);
+        int records;
+
+        try {
+            records = ConfigJournal.replay(journalFile, loaded);
+        } catch (IOException e) {
+            Core.logger.severe("Could not read journal of config {}: {}", fileName, e.getMessage());
+            return;
+        }
+
+        if (records < 0) return;
+
+        if (journal != null) {
+            journal.compact(loaded.saveToString());
+            journal.flush();
+            return;
+        }
+
+        try {
+            loaded.save(this.configFile);
+            Files.delete(journalFile.toPath());
+        } catch (IOException e) {
+            Core.logger.severe("Could not apply journal of config {}: {}", fileName, e.getMessage());
+        }
+    }
+
+    private FileConfiguration config() {
+        FileConfiguration current = this.config;
+        if (current != null) return current;
+
+        synchronized (this) {
+            if (this.config == null) this.load();
+
+            return this.config;
+        }
+    }
+
+    private static final class DecodedItems {
+        private final String encoded;
+        private final boolean bulk;
+        private final ItemStack[] items;
+
+        private DecodedItems(String encoded, boolean bulk, ItemStack[] items) {
+            this.encoded = encoded;
+            this.bulk = bulk;
+            this.items = items;
+        }
+
+        private boolean matches(String encoded, boolean bulk) {
+            // The config keeps the same string instance until the path is set again, so a reference check is enough.
+            return this.encoded == encoded && this.bulk == bulk;
+        }
+
+        private ItemStack[] copy() {
+            return copy(this.items);
+        }
+
+        private static ItemStack[] copy(ItemStack[] items) {
+            ItemStack[] copy = new ItemStack[items.length];
+
+            for (int i = 0; i < items.length; i++) {
+                if (items[i] != null && !items[i].isEmpty()) copy[i] = items[i].clone();
+            }
+
+            return copy;
+        }
     }
 }
@@ -0,0 +1,319 @@
+package me.hhappa0.core.config;
+
+import me.hhappa0.core.bootstrap.Core;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead log of the changes made to a journaled {@link Config}.
+ *
+ * <p>Every {@code set} is encoded on the calling thread into a single record and appended to {@code <file>.journal} by a
+ * dedicated writer thread. Records queued while the previous batch is written are written together and made durable with
+ * a single {@code fsync}. Compaction writes a snapshot of the whole configuration next to the file, atomically replaces
+ * the file with it and truncates the journal, all in the same order as the records around it.</p>
+ *
+ * <p>Record layout: {@code int length, int crc32, byte op, int pathLength, path, int valueLength, value}, where the value
+ * is the YAML form of {@code v: <value>}. Replay stops at the first incomplete or corrupt record, which is what a crash in
+ * the middle of an append leaves behind.</p>
+ */
+final class ConfigJournal {
+    private static final byte OP_SET = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final int HEADER_SIZE = 8;
+
+    private final String fileName;
+    private final File configFile;
+    private final File journalFile;
+    private final long compactBytes;
+    private final long compactIntervalNanos;
+    private final List<Object> pending;
+    private final ThreadPoolExecutor writerThread;
+    private final AtomicLong size;
+    private volatile long oldestChange;
+    private volatile long generation;
+    private FileChannel channel;
+
+    ConfigJournal(Plugin plugin, String fileName, File configFile, long compactBytes, long compactIntervalMillis) {
+        this.fileName = fileName;
+        this.configFile = configFile;
+        this.journalFile = journalFile(configFile);
+        this.compactBytes = compactBytes;
+        this.compactIntervalNanos = TimeUnit.MILLISECONDS.toNanos(compactIntervalMillis);
+        this.pending = new ArrayList<>();
+        this.size = new AtomicLong(this.journalFile.length());
+        this.oldestChange = System.nanoTime();
+        this.writerThread = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, plugin.getName() + "-config-journal");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        this.writerThread.allowCoreThreadTimeOut(true);
+    }
+
+    static File journalFile(File configFile) {
+        return new File(configFile.getParentFile(), configFile.getName() + ".journal");
+    }
+
+    /**
+     * Encodes a change on the calling thread and queues it for the writer thread.
+     * @return Whether this is the first change since the last compaction.
+     */
+    boolean append(String path, Object value) {
+        byte[] record = encode(path, value);
+        boolean first = this.size.getAndAdd(record.length) == 0;
+
+        if (first) this.oldestChange = System.nanoTime();
+        this.enqueue(record);
+
+        return first;
+    }
+
+    /**
+     * @return Whether the journal has grown past the size threshold, or has changes older than the time threshold.
+     */
+    boolean needsCompaction() {
+        long size = this.size.get();
+
+        return size >= this.compactBytes || size > 0 && System.nanoTime() - this.oldestChange >= this.compactIntervalNanos;
+    }
+
+    /**
+     * @return The milliseconds until the oldest change reaches the time threshold, {@code 0} if it already has, or
+     * {@code -1} if the journal has no changes.
+     */
+    long getMillisUntilCompaction() {
+        if (this.size.get() == 0) return -1;
+
+        long remaining = this.compactIntervalNanos - (System.nanoTime() - this.oldestChange);
+        return remaining <= 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(remaining) + 1;
+    }
+
+    /**
+     * @return The number of compactions so far, which identifies the changes recorded since the last one.
+     */
+    long getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * Queues a rewrite of the configuration file with a snapshot taken on the calling thread.
+     */
+    void compact(String contents) {
+        this.size.set(0);
+        this.generation++;
+        this.enqueue(new Snapshot(contents));
+    }
+
+    /**
+     * Blocks until all queued records and snapshots have been written to the disk.
+     */
+    void flush() {
+        try {
+            this.writerThread.submit(() -> {}).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Core.logger.severe("Could not flush journal of config {}: {}", this.fileName, e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Writes everything still queued and closes the journal file.
+     */
+    void close() {
+        this.writerThread.execute(this::closeChannel);
+        this.flush();
+        this.writerThread.shutdown();
+    }
+
+    private void enqueue(Object entry) {
+        synchronized (this.pending) {
+            boolean scheduled = !this.pending.isEmpty();
+
+            this.pending.add(entry);
+
+            if (!scheduled) this.writerThread.execute(this::writePending);
+        }
+    }
+
+    private void writePending() {
+        List<Object> batch;
+
+        synchronized (this.pending) {
+            batch = new ArrayList<>(this.pending);
+            this.pending.clear();
+        }
+
+        try {
+            FileChannel channel = this.channel();
+            boolean dirty = false;
+
+            for (Object entry : batch) {
+                if (entry instanceof Snapshot snapshot) {
+                    this.writeSnapshot(snapshot.contents);
+
+                    channel.truncate(0);
+                    channel.force(true);
+                    dirty = false;
+                    continue;
+                }
+
+                ByteBuffer buffer = ByteBuffer.wrap((byte[]) entry);
+                while (buffer.hasRemaining()) channel.write(buffer);
+                dirty = true;
+            }
+
+            if (dirty) channel.force(false);
+        } catch (IOException e) {
+            Core.logger.severe("Could not write journal of config {}: {}", this.fileName, e.getMessage());
+        }
+    }
+
+    private void writeSnapshot(String contents) throws IOException {
+        Path target = this.configFile.toPath();
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (FileChannel file = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode(contents);
+            while (buffer.hasRemaining()) file.write(buffer);
+            file.force(true);
+        }
+
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        if (this.channel == null || !this.channel.isOpen()) {
+            Files.createDirectories(this.journalFile.toPath().getParent());
+            this.channel = FileChannel.open(this.journalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+
+        return this.channel;
+    }
+
+    private void closeChannel() {
+        if (this.channel == null) return;
+
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            Core.logger.severe("Could not close journal of config {}: {}", this.fileName, e.getMessage());
+        }
+
+        this.channel = null;
+    }
+
+    private static byte[] encode(String path, Object value) {
+        byte[] pathBytes = path.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes;
+
+        if (value == null) {
+            valueBytes = new byte[0];
+        } else {
+            YamlConfiguration yaml = new YamlConfiguration();
+            yaml.set("v", value);
+            valueBytes = yaml.saveToString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        int length = 1 + 4 + pathBytes.length + 4 + valueBytes.length;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + length);
+
+        buffer.putInt(length).putInt(0);
+        buffer.put(value == null ? OP_REMOVE : OP_SET);
+        buffer.putInt(pathBytes.length).put(pathBytes);
+        buffer.putInt(valueBytes.length).put(valueBytes);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_SIZE, length);
+        buffer.putInt(4, (int) crc.getValue());
+
+        return buffer.array();
+    }
+
+    /**
+     * Applies the valid records of a journal file to a configuration.
+     * @return The number of applied records, or {@code -1} if the file does not exist or is empty.
+     */
+    static int replay(File journalFile, FileConfiguration config) throws IOException {
+        if (!journalFile.isFile() || journalFile.length() == 0) return -1;
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(journalFile.toPath()));
+        CRC32 crc = new CRC32();
+        int records = 0;
+
+        while (buffer.remaining() >= HEADER_SIZE) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length < 9 || length > buffer.remaining()) break;
+
+            crc.reset();
+            crc.update(buffer.array(), buffer.position(), length);
+            if ((int) crc.getValue() != checksum) break;
+
+            byte op = buffer.get();
+            String path = readString(buffer);
+            String value = readString(buffer);
+
+            if (op == OP_REMOVE) {
+                config.set(path, null);
+            } else {
+                YamlConfiguration yaml = new YamlConfiguration();
+
+                try {
+                    yaml.loadFromString(value);
+                } catch (InvalidConfigurationException e) {
+                    break;
+                }
+
+                config.set(path, yaml.get("v"));
+            }
+
+            records++;
+        }
+
+        return records;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static final class Snapshot {
+        private final String contents;
+
+        private Snapshot(String contents) {
+            this.contents = contents;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package me.hhappa0.core.config;
+
+import me.hhappa0.core.bootstrap.Core;
+import me.hhappa0.core.metrics.Histogram;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out {@link Config} handles by file name and coordinates their loading and saving.
+ *
+ * <p>Files are loaded lazily on first access, or in parallel with {@link #prefetch(String...)}. Saves are serialized on the
+ * calling thread and written by a single shared I/O thread. Multiple saves of the same file that are still pending are
+ * merged, so only the latest contents are written.</p>
+ */
+public class ConfigRegistry {
+    private final Plugin plugin;
+    private final Map<String, Config> configs;
+    private final Map<String, Timings> timings;
+    private final Map<String, PendingSave> pendingSaves;
+    private final ThreadPoolExecutor ioThread;
+
+    /**
+     * Creates an empty registry for a plugin.
+     * @param plugin The instance of your main plugin class.
+     */
+    public ConfigRegistry(Plugin plugin) {
+        this.plugin = plugin;
+        this.configs = new ConcurrentHashMap<>();
+        this.timings = new ConcurrentHashMap<>();
+        this.pendingSaves = new LinkedHashMap<>();
+        this.ioThread = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, plugin.getName() + "-config-io");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        this.ioThread.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns the handle for a configuration file. The file is not loaded until it is first accessed.
+     * @param fileName The name of the configuration file.
+     * @return The config handle.
+     */
+    public Config get(String fileName) {
+        return this.configs.computeIfAbsent(fileName, name -> new Config(this.plugin, name, this));
+    }
+
+    /**
+     * Loads the given configuration files in parallel.
+     * @param fileNames The names of the configuration files.
+     * @return A future that completes once all files are loaded.
+     */
+    public CompletableFuture<Void> prefetch(String... fileNames) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (String fileName : fileNames) {
+            Config config = this.get(fileName);
+
+            if (!config.isLoaded()) futures.add(CompletableFuture.runAsync(config::getConfig));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Blocks until all pending saves and journaled changes have been written to the disk. Call this on shutdown.
+     */
+    public void flushAll() {
+        for (Config config : this.configs.values()) config.flushJournal();
+
+        try {
+            this.ioThread.submit(this::writePendingSaves).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Core.logger.severe("Could not flush configs: {}", e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Returns the load and save timings of a configuration file.
+     * @param fileName The name of the configuration file.
+     * @return The timings, or {@code null} if the file was never loaded or saved.
+     */
+    public Timings getTimings(String fileName) {
+        return this.timings.get(fileName);
+    }
+
+    /**
+     * Returns the load and save timings of all configuration files.
+     * @return The timings, keyed by file name.
+     */
+    public Map<String, Timings> getTimings() {
+        return Map.copyOf(this.timings);
+    }
+
+    void recordLoad(String fileName, long nanos) {
+        this.timings.computeIfAbsent(fileName, name -> new Timings()).record(true, nanos);
+    }
+
+    void scheduleSave(String fileName, File file, String contents, Histogram saveTimer) {
+        synchronized (this.pendingSaves) {
+            boolean scheduled = !this.pendingSaves.isEmpty();
+
+            this.pendingSaves.put(fileName, new PendingSave(file, contents, saveTimer));
+
+            if (!scheduled) this.ioThread.execute(this::writePendingSaves);
+        }
+    }
+
+    private void writePendingSaves() {
+        List<Map.Entry<String, PendingSave>> batch;
+
+        synchronized (this.pendingSaves) {
+            batch = new ArrayList<>(this.pendingSaves.entrySet());
+            this.pendingSaves.clear();
+        }
+
+        for (Map.Entry<String, PendingSave> entry : batch) {
+            long start = System.nanoTime();
+            PendingSave save = entry.getValue();
+
+            try {
+                Files.createDirectories(save.file.toPath().getParent());
+                Files.writeString(save.file.toPath(), save.contents, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                Core.logger.severe("Could not save config {}: {}", entry.getKey(), e.getMessage());
+            }
+
+            long nanos = System.nanoTime() - start;
+
+            this.timings.computeIfAbsent(entry.getKey(), name -> new Timings()).record(false, nanos);
+            save.saveTimer.observeNanos(nanos);
+        }
+    }
+
+    /**
+     * Load and save timings of a single configuration file.
+     */
+    public static final class Timings {
+        private final AtomicLong loads = new AtomicLong();
+        private final AtomicLong loadNanos = new AtomicLong();
+        private final AtomicLong saves = new AtomicLong();
+        private final AtomicLong saveNanos = new AtomicLong();
+
+        private void record(boolean load, long nanos) {
+            if (load) {
+                this.loads.incrementAndGet();
+                this.loadNanos.addAndGet(nanos);
+            } else {
+                this.saves.incrementAndGet();
+                this.saveNanos.addAndGet(nanos);
+            }
+        }
+
+        /**
+         * @return The number of times the file was loaded.
+         */
+        public long getLoads() {
+            return this.loads.get();
+        }
+
+        /**
+         * @return The total time spent loading the file in nanoseconds.
+         */
+        public long getLoadNanos() {
+            return this.loadNanos.get();
+        }
+
+        /**
+         * @return The number of times the file was written.
+         */
+        public long getSaves() {
+            return this.saves.get();
+        }
+
+        /**
+         * @return The total time spent writing the file in nanoseconds.
+         */
+        public long getSaveNanos() {
+            return this.saveNanos.get();
+        }
+    }
+
+    private static final class PendingSave {
+        private final File file;
+        private final String contents;
+        private final Histogram saveTimer;
+
+        private PendingSave(File file, String contents, Histogram saveTimer) {
+            this.file = file;
+            this.contents = contents;
+            this.saveTimer = saveTimer;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package me.hhappa0.core.event;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Subscribes to an event type and delivers the events in windows instead of one by one.
+ *
+ * <p>A window opens with the first event after the previous delivery and is delivered after the configured number of
+ * ticks, on the main thread or asynchronously. High-frequency work such as database writes or stat updates then runs
+ * once per window instead of once per event.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * EventStream.of(plugin, BlockBreakEvent.class)
+ *         .windowTicks(20)
+ *         .deliverAsync()
+ *         .aggregateByPlayer(event -> event.getPlayer().getUniqueId(), event -> 1, aggregates ->
+ *                 aggregates.forEach((player, count, sum) -> database.addBrokenBlocks(player, count)));
+ * </pre>
+ *
+ * <p>Events are delivered after they have been handled, so consumers must not try to modify or cancel them. Events
+ * delivered asynchronously should not be read off the main thread; use a mapper or {@link #aggregateByPlayer} to extract
+ * the needed data while the event is handled.</p>
+ *
+ * @param <E> The type of the event.
+ */
+public class EventStream<E extends Event> {
+    private final Plugin plugin;
+    private final Class<E> type;
+    private EventPriority priority = EventPriority.MONITOR;
+    private boolean ignoreCancelled = true;
+    private Predicate<? super E> filter;
+    private long windowTicks = 1;
+    private boolean async;
+
+    private EventStream(Plugin plugin, Class<E> type) {
+        this.plugin = plugin;
+        this.type = type;
+    }
+
+    /**
+     * Creates a stream of the given event type, delivering every tick on the main thread by default.
+     * @param plugin The instance of your main plugin class.
+     * @param type The class of the event, including its subclasses.
+     * @return The stream.
+     */
+    public static <E extends Event> EventStream<E> of(Plugin plugin, Class<E> type) {
+        return new EventStream<>(plugin, type);
+    }
+
+    /**
+     * Sets the priority the events are collected at. Defaults to {@link EventPriority#MONITOR}.
+     * @param priority The event priority.
+     */
+    public EventStream<E> priority(EventPriority priority) {
+        this.priority = priority;
+
+        return this;
+    }
+
+    /**
+     * Sets whether cancelled events are skipped. Defaults to {@code true}.
+     * @param ignoreCancelled Whether cancelled events are skipped.
+     */
+    public EventStream<E> ignoreCancelled(boolean ignoreCancelled) {
+        this.ignoreCancelled = ignoreCancelled;
+
+        return this;
+    }
+
+    /**
+     * Only collects events matching the given filter. Multiple filters must all match.
+     * @param filter The filter, tested while the event is handled.
+     */
+    public EventStream<E> filter(Predicate<? super E> filter) {
+        Predicate<? super E> previous = this.filter;
+        this.filter = previous == null ? filter : event -> previous.test(event) && filter.test(event);
+
+        return this;
+    }
+
+    /**
+     * Sets the length of a window in ticks. Defaults to {@code 1}, delivering once per tick.
+     * @param ticks The length of a window in server ticks (20 ticks = 1 second).
+     * @throws IllegalArgumentException if the length is not positive.
+     */
+    public EventStream<E> windowTicks(long ticks) {
+        if (ticks < 1) throw new IllegalArgumentException("The window must be at least one tick long.");
+
+        this.windowTicks = ticks;
+
+        return this;
+    }
+
+    /**
+     * Sets the length of a window in time, rounded up to whole ticks.
+     * @param duration The length of a window.
+     * @param unit The unit of the length.
+     * @throws IllegalArgumentException if the length is not positive.
+     */
+    public EventStream<E> window(long duration, TimeUnit unit) {
+        if (duration < 1) throw new IllegalArgumentException("The window must be positive.");
+
+        return this.windowTicks(Math.max(1, (unit.toMillis(duration) + 49) / 50));
+    }
+
+    /**
+     * Delivers the windows on the main thread (the global region on region-threaded servers). This is the default.
+     */
+    public EventStream<E> deliverSync() {
+        this.async = false;
+
+        return this;
+    }
+
+    /**
+     * Delivers the windows on an asynchronous worker thread.
+     */
+    public EventStream<E> deliverAsync() {
+        this.async = true;
+
+        return this;
+    }
+
+    /**
+     * Starts collecting the events and delivers each window as a batch.
+     * @param consumer The consumer receiving the events of a window in the order they occurred.
+     * @return The subscription, used to stop collecting.
+     */
+    public EventSubscription<E> subscribe(Consumer<List<E>> consumer) {
+        return this.subscribe(event -> event, consumer);
+    }
+
+    /**
+     * Starts collecting the events, mapping each one while it is handled, and delivers each window as a batch.
+     * @param mapper The function extracting the data needed from an event.
+     * @param consumer The consumer receiving the mapped events of a window in the order they occurred.
+     * @return The subscription, used to stop collecting.
+     */
+    public <T> EventSubscription<E> subscribe(Function<? super E, ? extends T> mapper, Consumer<List<T>> consumer) {
+        return this.start(new BatchWindow<>(mapper, consumer));
+    }
+
+    /**
+     * Starts collecting the events into a count and a sum per player and delivers the totals of each window.
+     * @param player The function returning the player an event counts for, or {@code null} to skip the event.
+     * @param value The function returning the value added to the player's sum.
+     * @param consumer The consumer receiving the totals of a window.
+     * @return The subscription, used to stop collecting.
+     */
+    public EventSubscription<E> aggregateByPlayer(Function<? super E, UUID> player, ToDoubleFunction<? super E> value, Consumer<PlayerAggregates> consumer) {
+        return this.start(new AggregateWindow<>(player, value, consumer));
+    }
+
+    private EventSubscription<E> start(EventWindow<E> window) {
+        EventSubscription<E> subscription = new EventSubscription<>(this.plugin, this.type, this.filter, this.windowTicks, this.async, window);
+        subscription.register(this.priority, this.ignoreCancelled);
+
+        return subscription;
+    }
+
+    private static final class BatchWindow<E, T> implements EventWindow<E> {
+        private final Function<? super E, ? extends T> mapper;
+        private final Consumer<List<T>> consumer;
+        private List<T> events = new ArrayList<>();
+
+        private BatchWindow(Function<? super E, ? extends T> mapper, Consumer<List<T>> consumer) {
+            this.mapper = mapper;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void add(E event) {
+            this.events.add(this.mapper.apply(event));
+        }
+
+        @Override
+        public Runnable drain() {
+            if (this.events.isEmpty()) return null;
+
+            List<T> batch = this.events;
+            this.events = new ArrayList<>(batch.size());
+
+            return () -> this.consumer.accept(batch);
+        }
+    }
+
+    private static final class AggregateWindow<E> implements EventWindow<E> {
+        private final Function<? super E, UUID> player;
+        private final ToDoubleFunction<? super E> value;
+        private final Consumer<PlayerAggregates> consumer;
+        private PlayerAggregates aggregates = new PlayerAggregates();
+
+        private AggregateWindow(Function<? super E, UUID> player, ToDoubleFunction<? super E> value, Consumer<PlayerAggregates> consumer) {
+            this.player = player;
+            this.value = value;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void add(E event) {
+            UUID player = this.player.apply(event);
+            if (player != null) this.aggregates.add(player, this.value.applyAsDouble(event));
+        }
+
+        @Override
+        public Runnable drain() {
+            if (this.aggregates.isEmpty()) return null;
+
+            PlayerAggregates window = this.aggregates;
+            this.aggregates = new PlayerAggregates();
+
+            return () -> this.consumer.accept(window);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package me.hhappa0.core.event;
+
+import me.hhappa0.core.bootstrap.Core;
+import me.hhappa0.core.util.SchedulerUtil;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+
+import java.util.function.Predicate;
+
+/**
+ * An active {@link EventStream} subscription.
+ *
+ * <p>Events may be collected from any thread, including async events and region threads. The first event of a window
+ * schedules its delivery, so an idle subscription schedules no tasks.</p>
+ *
+ * <p>Open subscriptions are tracked in {@link Core#eventSubscriptions} and closed when a {@code CorePlugin} is disabled,
+ * so the last window is delivered. Other plugins must call {@link #close()} or
+ * {@link EventSubscriptionRegistry#closeAll()} in their {@code onDisable}.</p>
+ *
+ * @param <E> The type of the event.
+ */
+public final class EventSubscription<E extends Event> implements Listener {
+    private final Plugin plugin;
+    private final SchedulerUtil scheduler;
+    private final Class<E> type;
+    private final Predicate<? super E> filter;
+    private final long windowTicks;
+    private final boolean async;
+    private final EventWindow<E> window;
+    private boolean scheduled;
+    private volatile boolean closed;
+
+    EventSubscription(Plugin plugin, Class<E> type, Predicate<? super E> filter, long windowTicks, boolean async, EventWindow<E> window) {
+        this.plugin = plugin;
+        this.scheduler = new SchedulerUtil(plugin);
+        this.type = type;
+        this.filter = filter;
+        this.windowTicks = windowTicks;
+        this.async = async;
+        this.window = window;
+    }
+
+    void register(EventPriority priority, boolean ignoreCancelled) {
+        Core.eventSubscriptions.register(this);
+        this.plugin.getServer().getPluginManager().registerEvent(this.type, this, priority, (listener, event) -> this.collect(event), this.plugin, ignoreCancelled);
+    }
+
+    /**
+     * Stops collecting events and delivers the current window on the calling thread.
+     */
+    public void close() {
+        if (this.closed) return;
+
+        this.closed = true;
+        HandlerList.unregisterAll(this);
+        Core.eventSubscriptions.unregister(this);
+
+        this.deliver();
+    }
+
+    /**
+     * Returns whether this subscription was closed.
+     * @return {@code true} if no more events are collected.
+     */
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    private void collect(Event event) {
+        if (this.closed || !this.type.isInstance(event)) return;
+
+        E typed = this.type.cast(event);
+        if (this.filter != null && !this.filter.test(typed)) return;
+
+        synchronized (this.window) {
+            this.window.add(typed);
+
+            if (this.scheduled) return;
+            this.scheduled = true;
+        }
+
+        if (this.async) this.scheduler.runTaskLaterAsync(this::deliver, this.windowTicks);
+        else this.scheduler.runTaskLaterSync(this::deliver, this.windowTicks);
+    }
+
+    private void deliver() {
+        Runnable delivery;
+
+        synchronized (this.window) {
+            this.scheduled = false;
+            delivery = this.window.drain();
+        }
+
+        if (delivery != null) delivery.run();
+    }
+}
@@ -0,0 +1,49 @@
+package me.hhappa0.core.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks all open {@link EventSubscription}s, so the windows they are still collecting can be delivered when the plugin
+ * is disabled.
+ *
+ * <p>Subscriptions are registered when they start collecting and removed when they are closed. All methods may be
+ * called from any thread.</p>
+ */
+public class EventSubscriptionRegistry {
+    private final Set<EventSubscription<?>> subscriptions;
+
+    /**
+     * Creates an empty registry.
+     */
+    public EventSubscriptionRegistry() {
+        this.subscriptions = ConcurrentHashMap.newKeySet();
+    }
+
+    void register(EventSubscription<?> subscription) {
+        this.subscriptions.add(subscription);
+    }
+
+    void unregister(EventSubscription<?> subscription) {
+        this.subscriptions.remove(subscription);
+    }
+
+    /**
+     * Returns the number of open subscriptions.
+     * @return The number of subscriptions that have not been closed.
+     */
+    public int getOpenCount() {
+        return this.subscriptions.size();
+    }
+
+    /**
+     * Closes all open subscriptions, delivering their current windows on the calling thread.
+     */
+    public void closeAll() {
+        List<EventSubscription<?>> open = new ArrayList<>(this.subscriptions);
+
+        for (EventSubscription<?> subscription : open) subscription.close();
+    }
+}
@@ -0,0 +1,17 @@
+package me.hhappa0.core.event;
+
+/**
+ * Collects the events of the current window of an {@link EventSubscription}. Calls are guarded by the subscription.
+ */
+interface EventWindow<E> {
+    /**
+     * Adds an event to the current window.
+     */
+    void add(E event);
+
+    /**
+     * Starts a new window.
+     * @return The delivery of the previous window, or {@code null} if it was empty.
+     */
+    Runnable drain();
+}
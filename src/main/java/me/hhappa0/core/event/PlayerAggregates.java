@@ -0,0 +1,97 @@
+package me.hhappa0.core.event;
+
+import me.hhappa0.core.util.collection.UuidMap;
+
+import java.util.UUID;
+
+/**
+ * The number of events and the sum of their values per player within one window of an {@link EventStream}.
+ */
+public final class PlayerAggregates {
+    private final UuidMap<Aggregate> aggregates = new UuidMap<>();
+    private long totalCount;
+    private double totalSum;
+
+    PlayerAggregates() {}
+
+    void add(UUID player, double value) {
+        Aggregate aggregate = this.aggregates.get(player);
+
+        if (aggregate == null) {
+            aggregate = new Aggregate();
+            this.aggregates.put(player, aggregate);
+        }
+
+        aggregate.count++;
+        aggregate.sum += value;
+        this.totalCount++;
+        this.totalSum += value;
+    }
+
+    /**
+     * @return The number of players with at least one event.
+     */
+    public int size() {
+        return this.aggregates.size();
+    }
+
+    /**
+     * @return Whether no events were collected.
+     */
+    public boolean isEmpty() {
+        return this.aggregates.isEmpty();
+    }
+
+    /**
+     * @param player The UUID of the player.
+     * @return The number of events of the player.
+     */
+    public long getCount(UUID player) {
+        Aggregate aggregate = this.aggregates.get(player);
+        return aggregate == null ? 0 : aggregate.count;
+    }
+
+    /**
+     * @param player The UUID of the player.
+     * @return The sum of the values of the player's events.
+     */
+    public double getSum(UUID player) {
+        Aggregate aggregate = this.aggregates.get(player);
+        return aggregate == null ? 0 : aggregate.sum;
+    }
+
+    /**
+     * @return The number of events of all players.
+     */
+    public long getTotalCount() {
+        return this.totalCount;
+    }
+
+    /**
+     * @return The sum of the values of all events.
+     */
+    public double getTotalSum() {
+        return this.totalSum;
+    }
+
+    /**
+     * Passes the count and sum of each player to the consumer.
+     * @param consumer The consumer.
+     */
+    public void forEach(AggregateConsumer consumer) {
+        this.aggregates.forEach((player, aggregate) -> consumer.accept(player, aggregate.count, aggregate.sum));
+    }
+
+    /**
+     * Receives the totals of one player.
+     */
+    @FunctionalInterface
+    public interface AggregateConsumer {
+        void accept(UUID player, long count, double sum);
+    }
+
+    private static final class Aggregate {
+        private long count;
+        private double sum;
+    }
+}
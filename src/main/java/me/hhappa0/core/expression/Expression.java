@@ -0,0 +1,134 @@
+package me.hhappa0.core.expression;
+
+/**
+ * A formula compiled once into a tree of lambdas, evaluated on primitive doubles without allocating.
+ *
+ * <p>Formulas support numbers, the variables they are compiled against, the constants {@code pi} and {@code e},
+ * arithmetic ({@code + - * / % ^}), comparisons and logical operators returning {@code 1} or {@code 0}, the conditional
+ * operator {@code ?:} and the functions {@code abs, floor, ceil, round, sqrt, cbrt, exp, log, log10, sin, cos, tan,
+ * signum, pow, atan2, min, max} and {@code clamp(value, min, max)}.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * Expression price = Expression.compile("base * (1 + level * 0.1)", Variables.of("base", "level"));
+ * double value = price.evaluate(100, 5);
+ * </pre>
+ *
+ * <p>Instances are immutable and can be evaluated from any thread.</p>
+ */
+public final class Expression {
+    private final String source;
+    private final Variables variables;
+    private final Node root;
+
+    private Expression(String source, Variables variables, Node root) {
+        this.source = source;
+        this.variables = variables;
+        this.root = root;
+    }
+
+    /**
+     * Compiles a formula without variables.
+     * @param source The formula.
+     * @return The compiled expression.
+     * @throws IllegalArgumentException if the formula is invalid.
+     */
+    public static Expression compile(String source) {
+        return compile(source, Variables.NONE);
+    }
+
+    /**
+     * Compiles a formula.
+     * @param source The formula.
+     * @param variables The variables the formula may use.
+     * @return The compiled expression.
+     * @throws IllegalArgumentException if the formula is invalid.
+     */
+    public static Expression compile(String source, Variables variables) {
+        if (source == null || source.isBlank()) throw new IllegalArgumentException("The formula is empty.");
+
+        return new Expression(source, variables, ExpressionParser.parse(source, variables));
+    }
+
+    /**
+     * @return The formula this expression was compiled from.
+     */
+    public String getSource() {
+        return this.source;
+    }
+
+    /**
+     * @return The variables this expression was compiled against.
+     */
+    public Variables getVariables() {
+        return this.variables;
+    }
+
+    /**
+     * @return Whether the formula uses no variables and was folded into a single value.
+     */
+    public boolean isConstant() {
+        return this.root instanceof Node.Constant;
+    }
+
+    /**
+     * Evaluates the expression with all variables set to zero.
+     * @return The result.
+     * @throws IllegalStateException if the expression has more than three variables.
+     */
+    public double evaluate() {
+        return this.evaluate(0, 0, 0);
+    }
+
+    /**
+     * Evaluates the expression with the first variable set and all others set to zero.
+     * @param a The value of the first variable.
+     * @return The result.
+     * @throws IllegalStateException if the expression has more than three variables.
+     */
+    public double evaluate(double a) {
+        return this.evaluate(a, 0, 0);
+    }
+
+    /**
+     * Evaluates the expression with the first two variables set and the third set to zero.
+     * @param a The value of the first variable.
+     * @param b The value of the second variable.
+     * @return The result.
+     * @throws IllegalStateException if the expression has more than three variables.
+     */
+    public double evaluate(double a, double b) {
+        return this.evaluate(a, b, 0);
+    }
+
+    /**
+     * Evaluates the expression with the first three variables set.
+     * @param a The value of the first variable.
+     * @param b The value of the second variable.
+     * @param c The value of the third variable.
+     * @return The result.
+     * @throws IllegalStateException if the expression has more than three variables.
+     */
+    public double evaluate(double a, double b, double c) {
+        if (this.variables.size() > 3) throw new IllegalStateException("The formula '" + this.source + "' has more than three variables, pass the values as an array.");
+
+        return this.root.eval(a, b, c, null);
+    }
+
+    /**
+     * Evaluates the expression.
+     * @param values The values of the variables in the order of {@link #getVariables()}. Can be reused between evaluations.
+     * @return The result.
+     * @throws IllegalArgumentException if fewer values than variables are passed.
+     */
+    public double evaluate(double[] values) {
+        if (values.length < this.variables.size()) throw new IllegalArgumentException("Expected " + this.variables.size() + " values, got " + values.length + ".");
+
+        return this.root.eval(values.length > 0 ? values[0] : 0, values.length > 1 ? values[1] : 0, values.length > 2 ? values[2] : 0, values);
+    }
+
+    @Override
+    public String toString() {
+        return this.source;
+    }
+}
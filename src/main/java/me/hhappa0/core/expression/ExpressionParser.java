@@ -0,0 +1,365 @@
+package me.hhappa0.core.expression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+
+/**
+ * Parses a formula by recursive descent and compiles it into a tree of {@link Node} lambdas.
+ *
+ * <p>Operators in increasing precedence: {@code ?:}, {@code ||}, {@code &&}, comparisons, {@code + -}, {@code * / %},
+ * unary {@code - + !} and the right-associative {@code ^}. Comparisons and logical operators return {@code 1} or {@code 0}.
+ * Operations whose operands are all constant are evaluated once while compiling.</p>
+ */
+final class ExpressionParser {
+    private static final Map<String, Double> CONSTANTS = Map.of("pi", Math.PI, "e", Math.E);
+    private static final Map<String, FunctionDefinition> FUNCTIONS = Map.ofEntries(
+            unary("abs", Math::abs),
+            unary("floor", Math::floor),
+            unary("ceil", Math::ceil),
+            unary("round", value -> Math.floor(value + 0.5)),
+            unary("sqrt", Math::sqrt),
+            unary("cbrt", Math::cbrt),
+            unary("exp", Math::exp),
+            unary("log", Math::log),
+            unary("log10", Math::log10),
+            unary("sin", Math::sin),
+            unary("cos", Math::cos),
+            unary("tan", Math::tan),
+            unary("signum", Math::signum),
+            binary("pow", Math::pow),
+            binary("atan2", Math::atan2),
+            variadic("min", Math::min),
+            variadic("max", Math::max),
+            Map.entry("clamp", new FunctionDefinition(3, 3, arguments -> {
+                Node value = arguments[0];
+                Node min = arguments[1];
+                Node max = arguments[2];
+
+                return (a, b, c, v) -> Math.max(min.eval(a, b, c, v), Math.min(max.eval(a, b, c, v), value.eval(a, b, c, v)));
+            }))
+    );
+
+    private final String source;
+    private final Variables variables;
+    private int position;
+
+    private ExpressionParser(String source, Variables variables) {
+        this.source = source;
+        this.variables = variables;
+    }
+
+    static Node parse(String source, Variables variables) {
+        ExpressionParser parser = new ExpressionParser(source, variables);
+        Node node = parser.conditional();
+
+        parser.skipWhitespace();
+        if (parser.position < source.length()) throw parser.error("Unexpected '" + source.charAt(parser.position) + "'");
+
+        return node;
+    }
+
+    private Node conditional() {
+        Node condition = this.or();
+        if (!this.accept("?")) return condition;
+
+        Node then = this.conditional();
+        this.expect(":");
+        Node otherwise = this.conditional();
+
+        if (condition instanceof Node.Constant constant) return constant.value != 0 ? then : otherwise;
+
+        return (a, b, c, v) -> condition.eval(a, b, c, v) != 0 ? then.eval(a, b, c, v) : otherwise.eval(a, b, c, v);
+    }
+
+    private Node or() {
+        Node left = this.and();
+
+        while (this.accept("||")) {
+            Node l = left;
+            Node r = this.and();
+            left = fold((a, b, c, v) -> l.eval(a, b, c, v) != 0 || r.eval(a, b, c, v) != 0 ? 1 : 0, l, r);
+        }
+
+        return left;
+    }
+
+    private Node and() {
+        Node left = this.comparison();
+
+        while (this.accept("&&")) {
+            Node l = left;
+            Node r = this.comparison();
+            left = fold((a, b, c, v) -> l.eval(a, b, c, v) != 0 && r.eval(a, b, c, v) != 0 ? 1 : 0, l, r);
+        }
+
+        return left;
+    }
+
+    private Node comparison() {
+        Node l = this.additive();
+
+        if (this.accept("<=")) {
+            Node r = this.additive();
+            return fold((a, b, c, v) -> l.eval(a, b, c, v) <= r.eval(a, b, c, v) ? 1 : 0, l, r);
+        }
+        if (this.accept(">=")) {
+            Node r = this.additive();
+            return fold((a, b, c, v) -> l.eval(a, b, c, v) >= r.eval(a, b, c, v) ? 1 : 0, l, r);
+        }
+        if (this.accept("==")) {
+            Node r = this.additive();
+            return fold((a, b, c, v) -> l.eval(a, b, c, v) == r.eval(a, b, c, v) ? 1 : 0, l, r);
+        }
+        if (this.accept("!=")) {
+            Node r = this.additive();
+            return fold((a, b, c, v) -> l.eval(a, b, c, v) != r.eval(a, b, c, v) ? 1 : 0, l, r);
+        }
+        if (this.accept("<")) {
+            Node r = this.additive();
+            return fold((a, b, c, v) -> l.eval(a, b, c, v) < r.eval(a, b, c, v) ? 1 : 0, l, r);
+        }
+        if (this.accept(">")) {
+            Node r = this.additive();
+            return fold((a, b, c, v) -> l.eval(a, b, c, v) > r.eval(a, b, c, v) ? 1 : 0, l, r);
+        }
+
+        return l;
+    }
+
+    private Node additive() {
+        Node left = this.multiplicative();
+
+        while (true) {
+            Node l = left;
+
+            if (this.accept("+")) {
+                Node r = this.multiplicative();
+                left = fold((a, b, c, v) -> l.eval(a, b, c, v) + r.eval(a, b, c, v), l, r);
+            } else if (this.accept("-")) {
+                Node r = this.multiplicative();
+                left = fold((a, b, c, v) -> l.eval(a, b, c, v) - r.eval(a, b, c, v), l, r);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node multiplicative() {
+        Node left = this.unary();
+
+        while (true) {
+            Node l = left;
+
+            if (this.accept("*")) {
+                Node r = this.unary();
+                left = fold((a, b, c, v) -> l.eval(a, b, c, v) * r.eval(a, b, c, v), l, r);
+            } else if (this.accept("/")) {
+                Node r = this.unary();
+                left = fold((a, b, c, v) -> l.eval(a, b, c, v) / r.eval(a, b, c, v), l, r);
+            } else if (this.accept("%")) {
+                Node r = this.unary();
+                left = fold((a, b, c, v) -> l.eval(a, b, c, v) % r.eval(a, b, c, v), l, r);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node unary() {
+        if (this.accept("-")) {
+            Node operand = this.unary();
+            return fold((a, b, c, v) -> -operand.eval(a, b, c, v), operand);
+        }
+        if (this.accept("+")) return this.unary();
+        if (this.peek("!") && !this.peek("!=")) {
+            this.accept("!");
+            Node operand = this.unary();
+            return fold((a, b, c, v) -> operand.eval(a, b, c, v) == 0 ? 1 : 0, operand);
+        }
+
+        return this.power();
+    }
+
+    private Node power() {
+        Node base = this.primary();
+        if (!this.accept("^")) return base;
+
+        Node exponent = this.unary();
+        return fold((a, b, c, v) -> Math.pow(base.eval(a, b, c, v), exponent.eval(a, b, c, v)), base, exponent);
+    }
+
+    private Node primary() {
+        this.skipWhitespace();
+        if (this.position >= this.source.length()) throw this.error("Unexpected end of formula");
+
+        char current = this.source.charAt(this.position);
+
+        if (current == '(') {
+            this.position++;
+            Node node = this.conditional();
+            this.expect(")");
+            return node;
+        }
+
+        if (Character.isDigit(current) || current == '.') return this.number();
+        if (Character.isLetter(current) || current == '_') return this.identifier();
+
+        throw this.error("Unexpected '" + current + "'");
+    }
+
+    private Node number() {
+        int start = this.position;
+
+        while (this.position < this.source.length() && (Character.isDigit(this.source.charAt(this.position)) || this.source.charAt(this.position) == '.')) this.position++;
+
+        if (this.position < this.source.length() && (this.source.charAt(this.position) == 'e' || this.source.charAt(this.position) == 'E')) {
+            int exponent = this.position + 1;
+            if (exponent < this.source.length() && (this.source.charAt(exponent) == '+' || this.source.charAt(exponent) == '-')) exponent++;
+
+            if (exponent < this.source.length() && Character.isDigit(this.source.charAt(exponent))) {
+                this.position = exponent;
+                while (this.position < this.source.length() && Character.isDigit(this.source.charAt(this.position))) this.position++;
+            }
+        }
+
+        String text = this.source.substring(start, this.position);
+
+        try {
+            return new Node.Constant(Double.parseDouble(text));
+        } catch (NumberFormatException e) {
+            this.position = start;
+            throw this.error("Invalid number '" + text + "'");
+        }
+    }
+
+    private Node identifier() {
+        int start = this.position;
+
+        while (this.position < this.source.length() && (Character.isLetterOrDigit(this.source.charAt(this.position)) || this.source.charAt(this.position) == '_')) this.position++;
+
+        String name = this.source.substring(start, this.position);
+
+        if (this.accept("(")) return this.call(name, start);
+
+        int index = this.variables.indexOf(name);
+        if (index >= 0) return variable(index);
+
+        Double constant = CONSTANTS.get(name);
+        if (constant != null) return new Node.Constant(constant);
+
+        this.position = start;
+        throw this.error("Unknown variable '" + name + "'");
+    }
+
+    private Node call(String name, int start) {
+        FunctionDefinition function = FUNCTIONS.get(name);
+        if (function == null) {
+            this.position = start;
+            throw this.error("Unknown function '" + name + "'");
+        }
+
+        List<Node> arguments = new ArrayList<>();
+
+        if (!this.accept(")")) {
+            do {
+                arguments.add(this.conditional());
+            } while (this.accept(","));
+
+            this.expect(")");
+        }
+
+        if (arguments.size() < function.minArguments || arguments.size() > function.maxArguments) {
+            this.position = start;
+            throw this.error("Wrong number of arguments for '" + name + "'");
+        }
+
+        Node[] array = arguments.toArray(Node[]::new);
+        return fold(function.factory.apply(array), array);
+    }
+
+    private static Node variable(int index) {
+        return switch (index) {
+            case 0 -> (a, b, c, v) -> a;
+            case 1 -> (a, b, c, v) -> b;
+            case 2 -> (a, b, c, v) -> c;
+            default -> (a, b, c, v) -> v[index];
+        };
+    }
+
+    private static Node fold(Node node, Node... operands) {
+        for (Node operand : operands) {
+            if (!(operand instanceof Node.Constant)) return node;
+        }
+
+        return new Node.Constant(node.eval(0, 0, 0, null));
+    }
+
+    private boolean peek(String token) {
+        this.skipWhitespace();
+        return this.source.startsWith(token, this.position);
+    }
+
+    private boolean accept(String token) {
+        if (!this.peek(token)) return false;
+
+        this.position += token.length();
+        return true;
+    }
+
+    private void expect(String token) {
+        if (!this.accept(token)) throw this.error("Expected '" + token + "'");
+    }
+
+    private void skipWhitespace() {
+        while (this.position < this.source.length() && Character.isWhitespace(this.source.charAt(this.position))) this.position++;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + (this.position + 1) + " of formula '" + this.source + "'.");
+    }
+
+    private static Map.Entry<String, FunctionDefinition> unary(String name, DoubleUnaryOperator operator) {
+        return Map.entry(name, new FunctionDefinition(1, 1, arguments -> {
+            Node x = arguments[0];
+            return (a, b, c, v) -> operator.applyAsDouble(x.eval(a, b, c, v));
+        }));
+    }
+
+    private static Map.Entry<String, FunctionDefinition> binary(String name, DoubleBinaryOperator operator) {
+        return Map.entry(name, new FunctionDefinition(2, 2, arguments -> {
+            Node x = arguments[0];
+            Node y = arguments[1];
+            return (a, b, c, v) -> operator.applyAsDouble(x.eval(a, b, c, v), y.eval(a, b, c, v));
+        }));
+    }
+
+    private static Map.Entry<String, FunctionDefinition> variadic(String name, DoubleBinaryOperator operator) {
+        return Map.entry(name, new FunctionDefinition(2, Integer.MAX_VALUE, arguments -> {
+            Node result = arguments[0];
+
+            for (int i = 1; i < arguments.length; i++) {
+                Node x = result;
+                Node y = arguments[i];
+                result = (a, b, c, v) -> operator.applyAsDouble(x.eval(a, b, c, v), y.eval(a, b, c, v));
+            }
+
+            return result;
+        }));
+    }
+
+    private static final class FunctionDefinition {
+        private final int minArguments;
+        private final int maxArguments;
+        private final Function<Node[], Node> factory;
+
+        private FunctionDefinition(int minArguments, int maxArguments, Function<Node[], Node> factory) {
+            this.minArguments = minArguments;
+            this.maxArguments = maxArguments;
+            this.factory = factory;
+        }
+    }
+}
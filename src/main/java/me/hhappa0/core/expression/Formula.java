@@ -0,0 +1,82 @@
+package me.hhappa0.core.expression;
+
+/**
+ * A handle to a formula of a {@link FormulaRegistry} that always evaluates the most recently compiled version.
+ *
+ * <p>Keep the handle in a field and evaluate it as often as needed. Reloading the registry swaps the compiled expression
+ * behind the handle, so it never has to be looked up again.</p>
+ */
+public final class Formula {
+    private final String path;
+    private final Variables variables;
+    private final String fallback;
+    private volatile Expression expression;
+
+    Formula(String path, Variables variables, String fallback, Expression expression) {
+        this.path = path;
+        this.variables = variables;
+        this.fallback = fallback;
+        this.expression = expression;
+    }
+
+    /**
+     * @return The config path of the formula.
+     */
+    public String getPath() {
+        return this.path;
+    }
+
+    /**
+     * @return The currently compiled expression.
+     */
+    public Expression getExpression() {
+        return this.expression;
+    }
+
+    /**
+     * @see Expression#evaluate()
+     */
+    public double evaluate() {
+        return this.expression.evaluate();
+    }
+
+    /**
+     * @see Expression#evaluate(double)
+     */
+    public double evaluate(double a) {
+        return this.expression.evaluate(a);
+    }
+
+    /**
+     * @see Expression#evaluate(double, double)
+     */
+    public double evaluate(double a, double b) {
+        return this.expression.evaluate(a, b);
+    }
+
+    /**
+     * @see Expression#evaluate(double, double, double)
+     */
+    public double evaluate(double a, double b, double c) {
+        return this.expression.evaluate(a, b, c);
+    }
+
+    /**
+     * @see Expression#evaluate(double[])
+     */
+    public double evaluate(double[] values) {
+        return this.expression.evaluate(values);
+    }
+
+    Variables getVariables() {
+        return this.variables;
+    }
+
+    String getFallback() {
+        return this.fallback;
+    }
+
+    void setExpression(Expression expression) {
+        this.expression = expression;
+    }
+}
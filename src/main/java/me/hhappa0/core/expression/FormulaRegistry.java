@@ -0,0 +1,88 @@
+package me.hhappa0.core.expression;
+
+import me.hhappa0.core.bootstrap.Core;
+import me.hhappa0.core.config.Config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles formulas stored in a {@link Config} once and recompiles them when the config is reloaded.
+ *
+ * <p>Example config:</p>
+ * <pre>
+ * formulas:
+ *   price: "base * (1 + level * 0.1)"
+ *   damage: "clamp(strength * 1.5 - armor, 1, 40)"
+ * </pre>
+ * <pre>
+ * FormulaRegistry formulas = new FormulaRegistry(config);
+ * Formula price = formulas.get("formulas.price", Variables.of("base", "level"), "base");
+ *
+ * double value = price.evaluate(100, 5);
+ * </pre>
+ *
+ * <p>An invalid formula is logged and replaced by the previously compiled version, or by the fallback if there is none.</p>
+ */
+public class FormulaRegistry {
+    private final Config config;
+    private final Map<String, Formula> formulas;
+
+    /**
+     * Creates a registry for the formulas in the given config.
+     * @param config The config containing the formulas.
+     */
+    public FormulaRegistry(Config config) {
+        this.config = config;
+        this.formulas = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the formula at the given config path, compiling it on first access.
+     * @param path The config path of the formula.
+     * @param variables The variables the formula may use.
+     * @param fallback The formula used if the path is missing or invalid.
+     * @return The formula handle.
+     * @throws IllegalArgumentException if the fallback is invalid, or if the path was requested before with other variables.
+     */
+    public Formula get(String path, Variables variables, String fallback) {
+        Formula formula = this.formulas.computeIfAbsent(path, key -> new Formula(key, variables, fallback, this.compile(key, variables, fallback, null)));
+
+        if (!formula.getVariables().equals(variables)) throw new IllegalArgumentException("The formula '" + path + "' is already registered with the variables " + formula.getVariables() + ".");
+
+        return formula;
+    }
+
+    /**
+     * Reloads the config from disk and recompiles all formulas.
+     */
+    public void reload() {
+        this.config.reload();
+        this.recompile();
+    }
+
+    /**
+     * Recompiles all formulas from the currently loaded config.
+     */
+    public void recompile() {
+        for (Formula formula : this.formulas.values()) {
+            formula.setExpression(this.compile(formula.getPath(), formula.getVariables(), formula.getFallback(), formula.getExpression()));
+        }
+    }
+
+    private Expression compile(String path, Variables variables, String fallback, Expression previous) {
+        String source = this.config.getString(path);
+
+        if (source != null) {
+            try {
+                return Expression.compile(source, variables);
+            } catch (IllegalArgumentException e) {
+                Core.logger.severe("Could not compile formula '{}': {}", path, e.getMessage());
+
+                if (previous != null) return previous;
+            }
+        }
+
+        return Expression.compile(fallback, variables);
+    }
+}
@@ -0,0 +1,28 @@
+package me.hhappa0.core.expression;
+
+/**
+ * A compiled part of an {@link Expression}.
+ *
+ * <p>The first three variables are passed as parameters, so expressions with up to three variables can be evaluated
+ * without an array. Further variables are read from {@code values}, which is {@code null} when evaluated without an array.</p>
+ */
+@FunctionalInterface
+interface Node {
+    double eval(double a, double b, double c, double[] values);
+
+    /**
+     * A node with a fixed value, produced by literals and by folding operations on constants.
+     */
+    final class Constant implements Node {
+        final double value;
+
+        Constant(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double eval(double a, double b, double c, double[] values) {
+            return this.value;
+        }
+    }
+}
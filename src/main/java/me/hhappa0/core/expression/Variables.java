@@ -0,0 +1,103 @@
+package me.hhappa0.core.expression;
+
+import java.util.Arrays;
+
+/**
+ * The ordered variable names an {@link Expression} is compiled against.
+ *
+ * <p>Each variable is bound to its position, so an expression reads its values from a {@code double[]} by index instead
+ * of looking them up by name. Callers evaluating often should allocate the array once with {@link #newValues()} and
+ * refill it before each evaluation.</p>
+ */
+public final class Variables {
+    /** No variables. */
+    public static final Variables NONE = new Variables(new String[0]);
+
+    private final String[] names;
+
+    private Variables(String[] names) {
+        this.names = names;
+    }
+
+    /**
+     * Creates variables with the given names.
+     * @param names The names in the order of their values.
+     * @return The variables.
+     * @throws IllegalArgumentException if a name is not a valid identifier or used twice.
+     */
+    public static Variables of(String... names) {
+        String[] copy = names.clone();
+
+        for (int i = 0; i < copy.length; i++) {
+            if (!isIdentifier(copy[i])) throw new IllegalArgumentException("The variable name '" + copy[i] + "' is not a valid identifier.");
+
+            for (int j = 0; j < i; j++) {
+                if (copy[j].equals(copy[i])) throw new IllegalArgumentException("The variable name '" + copy[i] + "' is used twice.");
+            }
+        }
+
+        return new Variables(copy);
+    }
+
+    /**
+     * @return The number of variables.
+     */
+    public int size() {
+        return this.names.length;
+    }
+
+    /**
+     * Returns the position of a variable.
+     * @param name The name of the variable.
+     * @return The index, or {@code -1} if there is no such variable.
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < this.names.length; i++) {
+            if (this.names[i].equals(name)) return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param index The index of the variable.
+     * @return The name of the variable.
+     */
+    public String getName(int index) {
+        return this.names[index];
+    }
+
+    /**
+     * @return A new array with one zeroed slot per variable.
+     */
+    public double[] newValues() {
+        return new double[this.names.length];
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Variables variables && Arrays.equals(this.names, variables.names);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.names);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(this.names);
+    }
+
+    static boolean isIdentifier(String name) {
+        if (name == null || name.isEmpty() || !Character.isLetter(name.charAt(0)) && name.charAt(0) != '_') return false;
+
+        for (int i = 1; i < name.length(); i++) {
+            char c = name.charAt(i);
+
+            if (!Character.isLetterOrDigit(c) && c != '_') return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,102 @@
+package me.hhappa0.core.item;
+
+import me.hhappa0.core.util.collection.IntObjectMap;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.function.Consumer;
+
+/**
+ * Routes clicks and interactions with items stamped with an {@link ItemId} to their handlers.
+ *
+ * <p>Handlers are kept in tables indexed by the {@code int} of the identity, so finding the handler of an item is a
+ * single lookup, and it follows the item wherever it is moved. The lookup itself does not allocate, but reading the
+ * identity from an item with meta does, see {@link ItemId}. Clicks inside menus are routed here when the clicked slot
+ * has no action of its own. Clicks in other inventories and interactions are routed by the {@link ItemListener}.</p>
+ *
+ * <p>Register the handlers on the main thread, for example in {@code startup()}.</p>
+ */
+public class ItemDispatcher {
+    private final IntObjectMap<Consumer<InventoryClickEvent>> clickHandlers;
+    private final IntObjectMap<Consumer<PlayerInteractEvent>> interactHandlers;
+
+    /**
+     * Creates a dispatcher without handlers.
+     */
+    public ItemDispatcher() {
+        this.clickHandlers = new IntObjectMap<>();
+        this.interactHandlers = new IntObjectMap<>();
+    }
+
+    /**
+     * Sets the handler for inventory clicks on items with the given identity.
+     * <p>Clicks in menus are already cancelled, clicks in other inventories have to be cancelled by the handler if needed.</p>
+     * @param id The identity of the item.
+     * @param handler The handler, or {@code null} to remove it.
+     */
+    public void onClick(ItemId id, Consumer<InventoryClickEvent> handler) {
+        if (handler == null) this.clickHandlers.remove(id.getId());
+        else this.clickHandlers.put(id.getId(), handler);
+    }
+
+    /**
+     * Sets the handler for interactions with items with the given identity held in either hand.
+     * @param id The identity of the item.
+     * @param handler The handler, or {@code null} to remove it.
+     */
+    public void onInteract(ItemId id, Consumer<PlayerInteractEvent> handler) {
+        if (handler == null) this.interactHandlers.remove(id.getId());
+        else this.interactHandlers.put(id.getId(), handler);
+    }
+
+    /**
+     * Returns the click handler of an item.
+     * @param item The item, can be {@code null}.
+     * @return The handler, or {@code null} if the item has no identity or its identity has no click handler.
+     */
+    public Consumer<InventoryClickEvent> getClickHandler(ItemStack item) {
+        if (this.clickHandlers.isEmpty()) return null;
+
+        int id = ItemId.read(item);
+        return id == ItemId.NONE ? null : this.clickHandlers.get(id);
+    }
+
+    /**
+     * Returns the interact handler of an item.
+     * @param item The item, can be {@code null}.
+     * @return The handler, or {@code null} if the item has no identity or its identity has no interact handler.
+     */
+    public Consumer<PlayerInteractEvent> getInteractHandler(ItemStack item) {
+        if (this.interactHandlers.isEmpty()) return null;
+
+        int id = ItemId.read(item);
+        return id == ItemId.NONE ? null : this.interactHandlers.get(id);
+    }
+
+    /**
+     * Passes a click to the handler of the clicked item.
+     * @param event The click event.
+     * @return Whether a handler was found.
+     */
+    public boolean dispatchClick(InventoryClickEvent event) {
+        Consumer<InventoryClickEvent> handler = this.getClickHandler(event.getCurrentItem());
+        if (handler == null) return false;
+
+        handler.accept(event);
+        return true;
+    }
+
+    /**
+     * Passes an interaction to the handler of the used item.
+     * @param event The interact event.
+     * @return Whether a handler was found.
+     */
+    public boolean dispatchInteract(PlayerInteractEvent event) {
+        Consumer<PlayerInteractEvent> handler = this.getInteractHandler(event.getItem());
+        if (handler == null) return false;
+
+        handler.accept(event);
+        return true;
+    }
+}
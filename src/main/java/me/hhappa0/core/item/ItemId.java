@@ -0,0 +1,128 @@
+package me.hhappa0.core.item;
+
+import me.hhappa0.core.bootstrap.Core;
+import me.hhappa0.core.util.collection.IntObjectMap;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
+
+/**
+ * A named identity for custom items, stamped into their persistent data as a single {@code int}.
+ *
+ * <p>The {@code int} is derived from the name, so it stays the same across restarts and items stamped earlier keep
+ * working. Two names with the same {@code int} are rejected when the second one is registered. Reading the identity
+ * of an item goes through the item's read-only data view and does not copy its meta. Items without meta are rejected
+ * before that without allocating. For items with meta, the view and the boxed {@code Integer} are still allocated on
+ * every read, because the persistent data API has no primitive getters.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * public static final ItemId TELEPORT_WAND = ItemId.of("teleport-wand");
+ *
+ * ItemStack wand = new ItemBuilder(Material.BLAZE_ROD).name("&lt;gold&gt;Wand").id(TELEPORT_WAND).build();
+ * </pre>
+ */
+public final class ItemId {
+    /** The value {@link #read(ItemStack)} returns for items without an identity. */
+    public static final int NONE = 0;
+
+    private static final IntObjectMap<ItemId> REGISTRY = new IntObjectMap<>();
+    private static volatile NamespacedKey key;
+
+    private final String name;
+    private final int id;
+
+    private ItemId(String name, int id) {
+        this.name = name;
+        this.id = id;
+    }
+
+    /**
+     * Returns the identity with the given name, registering it on first use.
+     * @param name The name of the item, e.g. {@code "teleport-wand"}.
+     * @return The identity.
+     * @throws IllegalArgumentException if the name is empty or maps to {@link #NONE}.
+     * @throws IllegalStateException if another name maps to the same {@code int}.
+     */
+    public static ItemId of(String name) {
+        if (name == null || name.isEmpty()) throw new IllegalArgumentException("The item id name must not be empty.");
+
+        int id = name.hashCode();
+        if (id == NONE) throw new IllegalArgumentException("The item id '" + name + "' maps to the reserved id 0, choose another name.");
+
+        synchronized (REGISTRY) {
+            ItemId existing = REGISTRY.get(id);
+
+            if (existing == null) {
+                existing = new ItemId(name, id);
+                REGISTRY.put(id, existing);
+            } else if (!existing.name.equals(name)) {
+                throw new IllegalStateException("The item id '" + name + "' collides with '" + existing.name + "', rename one of them.");
+            }
+
+            return existing;
+        }
+    }
+
+    /**
+     * Returns the registered identity of an item.
+     * @param item The item.
+     * @return The identity, or {@code null} if the item has none or it was not registered with {@link #of(String)}.
+     */
+    public static ItemId of(ItemStack item) {
+        int id = read(item);
+        if (id == NONE) return null;
+
+        synchronized (REGISTRY) {
+            return REGISTRY.get(id);
+        }
+    }
+
+    /**
+     * Reads the identity of an item.
+     * @param item The item, can be {@code null}.
+     * @return The {@code int} of the identity, or {@link #NONE} if the item has none.
+     */
+    public static int read(ItemStack item) {
+        if (item == null || item.isEmpty() || !item.hasItemMeta()) return NONE;
+
+        Integer id = item.getPersistentDataContainer().get(getKey(), PersistentDataType.INTEGER);
+        return id == null ? NONE : id;
+    }
+
+    /**
+     * Returns the persistent data key the identity is stored under.
+     * @return The key, created once per plugin.
+     * @throws IllegalStateException if the Core library is not initialized.
+     */
+    public static NamespacedKey getKey() {
+        NamespacedKey current = key;
+        if (current != null) return current;
+
+        if (Core.plugin == null) throw new IllegalStateException("The Core library is not initialized.");
+
+        current = new NamespacedKey(Core.plugin, "item-id");
+        key = current;
+
+        return current;
+    }
+
+    /**
+     * @return The name of the identity.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return The {@code int} stored in stamped items.
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
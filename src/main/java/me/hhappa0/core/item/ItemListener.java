@@ -0,0 +1,30 @@
+package me.hhappa0.core.item;
+
+import me.hhappa0.core.menu.MenuHolder;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+
+/**
+ * Global listener to route clicks outside of menus and interactions to the {@link ItemDispatcher}.
+ */
+public class ItemListener implements Listener {
+    private final ItemDispatcher dispatcher;
+
+    public ItemListener(ItemDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @EventHandler
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (event.getInventory().getHolder() instanceof MenuHolder) return;
+
+        dispatcher.dispatchClick(event);
+    }
+
+    @EventHandler
+    public void onPlayerInteract(PlayerInteractEvent event) {
+        dispatcher.dispatchInteract(event);
+    }
+}
@@ -0,0 +1,311 @@
+package me.hhappa0.core.logging;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * A logger that hands records to a background thread instead of writing them on the calling thread.
+ *
+ * <p>Messages use {@code {}} placeholders, which are replaced with the arguments in order. Formatting happens on the
+ * writer thread, so logging from a hot path only costs a level check and an enqueue into a bounded lock-free ring
+ * buffer. Arguments are converted to strings when the record is written, so they should not be mutated afterwards.</p>
+ *
+ * <p>If the last argument is a {@link Throwable} without a matching placeholder, it is logged as the record's exception.</p>
+ *
+ * <p>The writer thread is started by the first record that is logged, so creating a logger is cheap.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * Core.logger.warning("Player {} clicked slot {} of {}", player.getName(), slot, menu);
+ * </pre>
+ */
+public class CoreLogger {
+    /** The default number of records that can be buffered. */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Logger logger;
+    private final OverflowPolicy policy;
+    private final LogRingBuffer buffer;
+    private final LongAdder dropped;
+    private final StringBuilder builder;
+    private volatile Thread writer;
+    private volatile boolean idle;
+    private volatile boolean closed;
+
+    /**
+     * Creates a logger writing to the given logger with the default capacity, dropping records when the buffer is full.
+     * @param logger The logger records are written to, usually {@code plugin.getLogger()}.
+     */
+    public CoreLogger(Logger logger) {
+        this(logger, DEFAULT_CAPACITY, OverflowPolicy.DROP);
+    }
+
+    /**
+     * Creates a logger writing to the given logger.
+     * @param logger The logger records are written to, usually {@code plugin.getLogger()}.
+     * @param capacity The number of records that can be buffered. Must be a power of two.
+     * @param policy What to do when the buffer is full.
+     * @throws IllegalArgumentException if the capacity is not a power of two.
+     */
+    public CoreLogger(Logger logger, int capacity, OverflowPolicy policy) {
+        this.logger = logger;
+        this.policy = policy;
+        this.buffer = new LogRingBuffer(capacity);
+        this.dropped = new LongAdder();
+        this.builder = new StringBuilder(256);
+    }
+
+    /**
+     * @return The number of records discarded because the buffer was full.
+     */
+    public long getDroppedRecords() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * @return The overflow policy of this logger.
+     */
+    public OverflowPolicy getPolicy() {
+        return this.policy;
+    }
+
+    /**
+     * Returns whether records of the given level are written.
+     * @param level The level to check.
+     * @return {@code true} if the level is enabled.
+     */
+    public boolean isLoggable(Level level) {
+        return this.logger.isLoggable(level);
+    }
+
+    public void fine(String message) {
+        this.log(Level.FINE, message, 0, null, null, null, null);
+    }
+
+    public void fine(String message, Object arg) {
+        this.log(Level.FINE, message, 1, arg, null, null, null);
+    }
+
+    public void fine(String message, Object arg0, Object arg1) {
+        this.log(Level.FINE, message, 2, arg0, arg1, null, null);
+    }
+
+    public void fine(String message, Object arg0, Object arg1, Object arg2) {
+        this.log(Level.FINE, message, 3, arg0, arg1, arg2, null);
+    }
+
+    public void fine(String message, Object... args) {
+        this.log(Level.FINE, message, args.length, null, null, null, args);
+    }
+
+    public void info(String message) {
+        this.log(Level.INFO, message, 0, null, null, null, null);
+    }
+
+    public void info(String message, Object arg) {
+        this.log(Level.INFO, message, 1, arg, null, null, null);
+    }
+
+    public void info(String message, Object arg0, Object arg1) {
+        this.log(Level.INFO, message, 2, arg0, arg1, null, null);
+    }
+
+    public void info(String message, Object arg0, Object arg1, Object arg2) {
+        this.log(Level.INFO, message, 3, arg0, arg1, arg2, null);
+    }
+
+    public void info(String message, Object... args) {
+        this.log(Level.INFO, message, args.length, null, null, null, args);
+    }
+
+    public void warning(String message) {
+        this.log(Level.WARNING, message, 0, null, null, null, null);
+    }
+
+    public void warning(String message, Object arg) {
+        this.log(Level.WARNING, message, 1, arg, null, null, null);
+    }
+
+    public void warning(String message, Object arg0, Object arg1) {
+        this.log(Level.WARNING, message, 2, arg0, arg1, null, null);
+    }
+
+    public void warning(String message, Object arg0, Object arg1, Object arg2) {
+        this.log(Level.WARNING, message, 3, arg0, arg1, arg2, null);
+    }
+
+    public void warning(String message, Object... args) {
+        this.log(Level.WARNING, message, args.length, null, null, null, args);
+    }
+
+    public void severe(String message) {
+        this.log(Level.SEVERE, message, 0, null, null, null, null);
+    }
+
+    public void severe(String message, Object arg) {
+        this.log(Level.SEVERE, message, 1, arg, null, null, null);
+    }
+
+    public void severe(String message, Object arg0, Object arg1) {
+        this.log(Level.SEVERE, message, 2, arg0, arg1, null, null);
+    }
+
+    public void severe(String message, Object arg0, Object arg1, Object arg2) {
+        this.log(Level.SEVERE, message, 3, arg0, arg1, arg2, null);
+    }
+
+    public void severe(String message, Object... args) {
+        this.log(Level.SEVERE, message, args.length, null, null, null, args);
+    }
+
+    /**
+     * Writes all buffered records and stops the writer thread.
+     * <p>Records logged afterwards are written on the calling thread.</p>
+     */
+    public void close() {
+        if (this.closed) return;
+
+        this.closed = true;
+
+        Thread writer = this.writer;
+
+        if (writer != null) {
+            LockSupport.unpark(writer);
+
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        this.writeBuffered();
+    }
+
+    private void log(Level level, String message, int argCount, Object arg0, Object arg1, Object arg2, Object[] args) {
+        if (!this.logger.isLoggable(level)) return;
+
+        if (this.closed) {
+            synchronized (this.builder) {
+                this.write(level, message, argCount, arg0, arg1, arg2, args, System.currentTimeMillis());
+            }
+            return;
+        }
+
+        if (this.writer == null) this.startWriter();
+
+        while (!this.buffer.offer(level, message, argCount, arg0, arg1, arg2, args)) {
+            if (this.closed) {
+                this.writeBuffered();
+            } else if (this.policy == OverflowPolicy.DROP || Thread.currentThread() == this.writer) {
+                this.dropped.increment();
+                return;
+            } else {
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            }
+        }
+
+        // The writer may have exited between the closed check above and the offer, so write the record here instead.
+        if (this.closed) this.writeBuffered();
+        else if (this.idle) LockSupport.unpark(this.writer);
+    }
+
+    private synchronized void startWriter() {
+        if (this.writer != null) return;
+
+        Thread writer = new Thread(this::drain, "Core Logger - " + this.logger.getName());
+        writer.setDaemon(true);
+
+        this.writer = writer;
+        writer.start();
+    }
+
+    private void drain() {
+        while (true) {
+            if (this.writeNext()) continue;
+
+            if (this.closed) {
+                // Records offered before the producers saw the close are still in the buffer.
+                this.writeBuffered();
+                return;
+            }
+
+            this.idle = true;
+            if (this.buffer.isEmpty() && !this.closed) LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            this.idle = false;
+        }
+    }
+
+    private void writeBuffered() {
+        while (this.writeNext()) {
+            // Write until the buffer is empty.
+        }
+    }
+
+    /**
+     * Writes the oldest buffered record. The buffer has a single consumer, so the writer thread and the threads writing
+     * the remaining records after a close take turns under the builder's lock.
+     * @return {@code false} if the buffer was empty.
+     */
+    private boolean writeNext() {
+        synchronized (this.builder) {
+            LogRingBuffer.Slot slot = this.buffer.peek();
+            if (slot == null) return false;
+
+            try {
+                this.write(slot.level, slot.message, slot.argCount, slot.arg0, slot.arg1, slot.arg2, slot.args, slot.millis);
+            } catch (RuntimeException e) {
+                this.logger.log(Level.SEVERE, "Could not write log record '" + slot.message + "'", e);
+            } finally {
+                this.buffer.release();
+            }
+
+            return true;
+        }
+    }
+
+    private void write(Level level, String message, int argCount, Object arg0, Object arg1, Object arg2, Object[] args, long millis) {
+        StringBuilder builder = this.builder;
+        builder.setLength(0);
+
+        Throwable thrown = null;
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+
+        while (argIndex < argCount && (placeholder = message.indexOf("{}", start)) >= 0) {
+            builder.append(message, start, placeholder);
+            builder.append(argument(argIndex++, arg0, arg1, arg2, args));
+            start = placeholder + 2;
+        }
+
+        builder.append(message, start, message.length());
+
+        if (argIndex < argCount && argument(argCount - 1, arg0, arg1, arg2, args) instanceof Throwable throwable) thrown = throwable;
+
+        LogRecord record = new LogRecord(level, builder.toString());
+        record.setInstant(Instant.ofEpochMilli(millis));
+        record.setThrown(thrown);
+        record.setLoggerName(this.logger.getName());
+
+        this.logger.log(record);
+    }
+
+    private static Object argument(int index, Object arg0, Object arg1, Object arg2, Object[] args) {
+        if (args != null) return args[index];
+
+        return switch (index) {
+            case 0 -> arg0;
+            case 1 -> arg1;
+            default -> arg2;
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package me.hhappa0.core.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+
+/**
+ * A bounded lock-free ring of preallocated log records for many producers and a single consumer.
+ *
+ * <p>Each slot carries a sequence number telling whether it is free for the producer of a given position or holds a
+ * published record for the consumer, so neither side needs a lock.</p>
+ */
+final class LogRingBuffer {
+    private final Slot[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail;
+    private long head;
+
+    LogRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("The capacity must be a power of two, got " + capacity + ".");
+
+        this.slots = new Slot[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        this.tail = new AtomicLong();
+
+        for (int i = 0; i < capacity; i++) {
+            this.slots[i] = new Slot();
+            this.sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Claims a slot, fills it and publishes it.
+     * @return {@code false} if the buffer is full.
+     */
+    boolean offer(Level level, String message, int argCount, Object arg0, Object arg1, Object arg2, Object[] args) {
+        long position = this.tail.get();
+        int index;
+
+        while (true) {
+            index = (int) (position & this.mask);
+            long difference = this.sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) break;
+
+                position = this.tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = this.tail.get();
+            }
+        }
+
+        Slot slot = this.slots[index];
+        slot.level = level;
+        slot.message = message;
+        slot.argCount = argCount;
+        slot.arg0 = arg0;
+        slot.arg1 = arg1;
+        slot.arg2 = arg2;
+        slot.args = args;
+        slot.millis = System.currentTimeMillis();
+
+        this.sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Returns the next published slot without releasing it. Must only be called by the consumer.
+     * @return The slot, or {@code null} if the buffer is empty.
+     */
+    Slot peek() {
+        int index = (int) (this.head & this.mask);
+
+        return this.sequences.get(index) == this.head + 1 ? this.slots[index] : null;
+    }
+
+    /**
+     * Clears and releases the slot returned by {@link #peek()} so producers can reuse it.
+     */
+    void release() {
+        int index = (int) (this.head & this.mask);
+        Slot slot = this.slots[index];
+        slot.message = null;
+        slot.arg0 = null;
+        slot.arg1 = null;
+        slot.arg2 = null;
+        slot.args = null;
+
+        this.sequences.set(index, this.head + this.slots.length);
+        this.head++;
+    }
+
+    boolean isEmpty() {
+        return this.tail.get() == this.head;
+    }
+
+    static final class Slot {
+        Level level;
+        String message;
+        int argCount;
+        Object arg0;
+        Object arg1;
+        Object arg2;
+        Object[] args;
+        long millis;
+    }
+}
@@ -0,0 +1,11 @@
+package me.hhappa0.core.logging;
+
+/**
+ * Defines what a {@link CoreLogger} does when its buffer is full.
+ */
+public enum OverflowPolicy {
+    /** The record is discarded and counted as dropped. The logging thread never waits. */
+    DROP,
+    /** The logging thread waits until the writer has made room for the record. */
+    BLOCK
+}
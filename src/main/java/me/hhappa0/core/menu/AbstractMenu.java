@@ -1,5 +1,9 @@
 package me.hhappa0.core.menu;
 
+import me.hhappa0.core.bootstrap.Core;
+import me.hhappa0.core.metrics.Counter;
+import me.hhappa0.core.util.SchedulerUtil;
+import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -14,6 +18,10 @@ import java.util.function.Consumer;
  * Base class for all custom core menus. Developers extend this to define specific GUI logic.
  */
 public abstract class AbstractMenu {
+    private static final Counter OPENS = Core.metrics.counter("core_menu_opens_total", "Opened menus.");
+    /** The buffer of the menu that is being prepared by {@link #openAsync()} on the current thread. */
+    private static final ThreadLocal<MenuBuffer> PREPARING = new ThreadLocal<>();
+
     protected final Player player;
     protected Inventory inventory;
 
@@ -27,6 +35,15 @@ public abstract class AbstractMenu {
      */
     public abstract String getMenuTitle();
 
+    /**
+     * Defines the deserialized title of the menu.
+     * <p>By default, {@link #getMenuTitle()} is deserialized with MiniMessage on every open. Menus with a precompiled title can override this.</p>
+     * @return The title component.
+     */
+    public Component getTitle() {
+        return MiniMessage.miniMessage().deserialize(getMenuTitle());
+    }
+
     /**
      * Defines the rows of the menu.
      * @return The rows of the inventory.
@@ -45,18 +62,139 @@ public abstract class AbstractMenu {
      */
     public abstract void handleMenuClose();
 
+    /**
+     * Defines the minimum time between two click actions in this menu.
+     * @return The interval in milliseconds, or {@code 0} to not throttle clicks.
+     */
+    public long getClickInterval() {
+        return 0;
+    }
+
+    /**
+     * Defines the minimum time between two click actions of a specific slot.
+     * @param slot The inventory slot (0-indexed).
+     * @return The interval in milliseconds, or {@code 0} to not throttle the slot.
+     */
+    public long getClickInterval(int slot) {
+        return 0;
+    }
+
+    /**
+     * Defines whether double clicks are ignored. A double click always follows a regular click on the same slot,
+     * so executing its action as well would run the action twice.
+     * @return {@code true} to ignore double clicks.
+     */
+    public boolean isDoubleClickIgnored() {
+        return true;
+    }
+
+    /**
+     * Defines the item shown in every slot while the contents of {@link #openAsync()} are being prepared.
+     * @return The placeholder item, or {@code null} to open the menu only once its contents are ready.
+     */
+    public ItemStack getLoadingItem() {
+        return null;
+    }
+
     /**
      * Creates and opens the inventory for the player.
      * This uses the custom MenuHolder to attach the menu logic.
      */
     public void open() {
-        if (getRows() > 6) throw new IllegalArgumentException("The inventory size can not be larger than six rows.");
-
-        this.inventory = Bukkit.getServer().createInventory(new MenuHolder(this, null), getRows() * 9, MiniMessage.miniMessage().deserialize(getMenuTitle()));
+        this.inventory = this.createInventory(new MenuHolder(this, null));
 
         this.setMenuItems();
 
         this.player.openInventory(this.inventory);
+        this.registerSession();
+    }
+
+    /**
+     * Rebuilds the contents of the open inventory by calling {@link #setMenuItems()} again.
+     */
+    public void refresh() {
+        if (this.inventory == null) return;
+
+        this.inventory.clear();
+        if (this.inventory.getHolder() instanceof MenuHolder holder) holder.clearActions();
+
+        this.setMenuItems();
+    }
+
+    /**
+     * Prepares the menu contents off the main thread, then creates, populates and opens the inventory on the main thread.
+     * <p>{@link #setMenuItems()} is called asynchronously, so it must only compute items and must not access the world or the inventory.
+     * If a {@link #getLoadingItem()} is defined, a loading frame is shown meanwhile. The open is abandoned if the player
+     * logs off or closes the loading frame before the contents are ready.</p>
+     */
+    public void openAsync() {
+        if (getRows() > 6) throw new IllegalArgumentException("The inventory size can not be larger than six rows.");
+
+        SchedulerUtil scheduler = new SchedulerUtil(Core.plugin);
+        MenuHolder holder = new MenuHolder(this, null);
+        ItemStack loadingItem = this.getLoadingItem();
+        Inventory loadingInventory = null;
+
+        if (loadingItem != null) {
+            loadingInventory = this.createInventory(holder);
+
+            for (int slot = 0; slot < loadingInventory.getSize(); slot++) loadingInventory.setItem(slot, loadingItem);
+
+            this.inventory = loadingInventory;
+            this.player.openInventory(loadingInventory);
+            this.registerSession();
+        }
+
+        Inventory frame = loadingInventory;
+
+        scheduler.runTaskAsync(() -> {
+            MenuBuffer buffer = new MenuBuffer(this, getRows() * 9);
+
+            PREPARING.set(buffer);
+
+            try {
+                this.setMenuItems();
+            } catch (RuntimeException e) {
+                Core.logger.severe("Could not prepare menu {}: {}", this.getClass().getName(), e.getMessage());
+
+                if (frame != null) scheduler.runTaskSync(() -> {
+                    if (this.player.getOpenInventory().getTopInventory() == frame) this.player.closeInventory();
+                });
+
+                return;
+            } finally {
+                PREPARING.remove();
+            }
+
+            scheduler.runTaskSync(() -> {
+                if (!this.player.isOnline()) return;
+
+                if (frame != null) {
+                    if (this.player.getOpenInventory().getTopInventory() != frame) return;
+
+                    buffer.apply(frame, holder);
+                } else {
+                    this.inventory = this.createInventory(holder);
+
+                    buffer.apply(this.inventory, holder);
+
+                    this.player.openInventory(this.inventory);
+                    this.registerSession();
+                }
+            });
+        });
+    }
+
+    private void registerSession() {
+        OPENS.increment();
+
+        if (Core.menuSessions != null) Core.menuSessions.register(this);
+    }
+
+    private Inventory createInventory(MenuHolder holder) {
+        if (getRows() > 6) throw new IllegalArgumentException("The inventory size can not be larger than six rows.");
+
+        return Bukkit.getServer().createInventory(holder, getRows() * 9, getTitle());
     }
 
     /**
@@ -78,11 +216,19 @@ public abstract class AbstractMenu {
 
     /**
      * Sets an item in a specific slot, registering an action to execute on click.
+     * <p>While {@link #openAsync()} prepares this menu, calls from the preparing thread are collected and applied on the main thread.</p>
      * @param item The ItemStack to set.
      * @param slot The inventory slot (0-indexed).
      * @param action The Consumer function to run when the item is clicked. Can be null for display items.
      */
     public void setItem(ItemStack item, int slot, Consumer<InventoryClickEvent> action) {
+        MenuBuffer buffer = PREPARING.get();
+
+        if (buffer != null && buffer.isFor(this)) {
+            buffer.set(slot, item, action);
+            return;
+        }
+
         if (inventory != null) {
             inventory.setItem(slot, item);
         }
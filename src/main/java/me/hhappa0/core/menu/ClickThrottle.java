@@ -0,0 +1,108 @@
+package me.hhappa0.core.menu;
+
+import me.hhappa0.core.util.collection.ConcurrentUuidMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how often menu actions can be triggered per player, protecting expensive actions from autoclickers and macros.
+ *
+ * <p>The intervals are tracked per player and menu type, so clicks in one menu do not delay the actions of another. The
+ * state of each player is cleared when the player quits. It is kept when a menu is closed, so an action that closes and
+ * reopens a menu cannot be used to reset its interval.</p>
+ */
+public class ClickThrottle {
+    private static final int MAX_SLOTS = 54;
+
+    private final ConcurrentUuidMap<ClickState> states;
+    private final LongAdder accepted;
+    private final LongAdder dropped;
+
+    public ClickThrottle() {
+        this.states = new ConcurrentUuidMap<>();
+        this.accepted = new LongAdder();
+        this.dropped = new LongAdder();
+    }
+
+    /**
+     * Checks whether a click may trigger its action and records it if so.
+     * <p>Both intervals are checked before either timestamp is updated, so a dropped click never delays later clicks.</p>
+     * @param player The unique id of the clicking player.
+     * @param menu The type of the clicked menu.
+     * @param slot The clicked slot.
+     * @param menuInterval The minimum time between two actions in the whole menu in milliseconds, or {@code 0} for none.
+     * @param slotInterval The minimum time between two actions of this slot in milliseconds, or {@code 0} for none.
+     * @return {@code true} if the action may run, {@code false} if the click was dropped.
+     */
+    public boolean tryClick(UUID player, Class<? extends AbstractMenu> menu, int slot, long menuInterval, long slotInterval) {
+        if ((menuInterval <= 0 && slotInterval <= 0) || slot < 0 || slot >= MAX_SLOTS) {
+            this.accepted.increment();
+            return true;
+        }
+
+        ClickState state = this.states.computeIfAbsent(player, uuid -> new ClickState());
+        long now = System.currentTimeMillis();
+
+        synchronized (state) {
+            MenuClicks clicks = state.menus.computeIfAbsent(menu, type -> new MenuClicks());
+
+            if ((menuInterval > 0 && now - clicks.lastMenuClick < menuInterval) || (slotInterval > 0 && now - clicks.lastSlotClicks[slot] < slotInterval)) {
+                this.dropped.increment();
+                return false;
+            }
+
+            clicks.lastMenuClick = now;
+            clicks.lastSlotClicks[slot] = now;
+        }
+
+        this.accepted.increment();
+        return true;
+    }
+
+    /**
+     * Counts a click that was dropped outside of {@link #tryClick(UUID, Class, int, long, long)}, for example a duplicate double click.
+     */
+    public void drop() {
+        this.dropped.increment();
+    }
+
+    /**
+     * Clears the state of a player.
+     * @param player The unique id of the player.
+     */
+    public void clear(UUID player) {
+        this.states.remove(player);
+    }
+
+    /**
+     * Returns the number of clicks whose action was executed.
+     * @return The accepted click count.
+     */
+    public long getAcceptedClicks() {
+        return this.accepted.sum();
+    }
+
+    /**
+     * Returns the number of clicks that were dropped and therefore did not execute their action.
+     * @return The dropped click count.
+     */
+    public long getDroppedClicks() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * The click timestamps of a player, keyed by menu type. Guarded by its own monitor, which is practically uncontended,
+     * because the clicks of a player arrive on a single thread.
+     */
+    private static final class ClickState {
+        private final Map<Class<? extends AbstractMenu>, MenuClicks> menus = new HashMap<>();
+    }
+
+    private static final class MenuClicks {
+        private final long[] lastSlotClicks = new long[MAX_SLOTS];
+        private long lastMenuClick;
+    }
+}
@@ -1,5 +1,6 @@
 package me.hhappa0.core.menu;
 
+import me.hhappa0.core.item.ItemId;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
@@ -7,6 +8,7 @@ import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
 
 import java.util.List;
 import java.util.function.Consumer;
@@ -119,6 +121,18 @@ public class ItemBuilder {
         return this;
     }
 
+    /**
+     * Stamps the item with an {@link me.hhappa0.core.item.ItemId}, so clicks and interactions with it are routed by the
+     * {@link me.hhappa0.core.item.ItemDispatcher} wherever the item is.
+     *
+     * @param id The identity of the item.
+     */
+    public ItemBuilder id(ItemId id) {
+        if (meta != null) meta.getPersistentDataContainer().set(ItemId.getKey(), PersistentDataType.INTEGER, id.getId());
+
+        return this;
+    }
+
     /**
      * Allows direct modification of the {@link org.bukkit.inventory.meta.ItemMeta}.
      *
@@ -0,0 +1,60 @@
+package me.hhappa0.core.menu;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+
+/**
+ * A menu that displays a precompiled {@link MenuLayout}.
+ *
+ * <p>The menu keeps the layout it was opened with, so recompiling the layouts does not affect menus that are already open.</p>
+ */
+public class LayoutMenu extends AbstractMenu {
+    private final MenuLayout layout;
+
+    public LayoutMenu(Player player, MenuLayout layout) {
+        super(player);
+        this.layout = layout;
+    }
+
+    /**
+     * Returns the layout displayed by this menu.
+     * @return The menu layout.
+     */
+    public MenuLayout getLayout() {
+        return layout;
+    }
+
+    @Override
+    public String getMenuTitle() {
+        return layout.getRawTitle();
+    }
+
+    @Override
+    public Component getTitle() {
+        return layout.getTitle();
+    }
+
+    @Override
+    public int getRows() {
+        return layout.getRows();
+    }
+
+    @Override
+    public long getClickInterval() {
+        return layout.getClickInterval();
+    }
+
+    @Override
+    public long getClickInterval(int slot) {
+        return layout.getClickInterval(slot);
+    }
+
+    @Override
+    public void setMenuItems() {
+        layout.apply(this);
+    }
+
+    @Override
+    public void handleMenuClose() {
+    }
+}
@@ -0,0 +1,47 @@
+package me.hhappa0.core.menu;
+
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.function.Consumer;
+
+/**
+ * A detached slot buffer that collects menu contents off the main thread before they are placed in an inventory.
+ */
+final class MenuBuffer {
+    private final AbstractMenu menu;
+    private final ItemStack[] items;
+    private final Consumer<InventoryClickEvent>[] actions;
+
+    @SuppressWarnings("unchecked")
+    MenuBuffer(AbstractMenu menu, int size) {
+        this.menu = menu;
+        this.items = new ItemStack[size];
+        this.actions = new Consumer[size];
+    }
+
+    /**
+     * @return {@code true} if this buffer collects the contents of the given menu.
+     */
+    boolean isFor(AbstractMenu menu) {
+        return this.menu == menu;
+    }
+
+    void set(int slot, ItemStack item, Consumer<InventoryClickEvent> action) {
+        this.items[slot] = item;
+        this.actions[slot] = action;
+    }
+
+    /**
+     * Places the buffered contents in the inventory and registers the buffered actions on its holder.
+     * <p>Must be called on the main thread.</p>
+     */
+    void apply(Inventory inventory, MenuHolder holder) {
+        inventory.setContents(this.items);
+
+        for (int slot = 0; slot < this.actions.length; slot++) {
+            if (this.actions[slot] != null) holder.setAction(slot, this.actions[slot]);
+        }
+    }
+}
@@ -1,23 +1,22 @@
 package me.hhappa0.core.menu;
 
+import me.hhappa0.core.util.collection.IntObjectMap;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.function.Consumer;
 
 public class MenuHolder implements InventoryHolder {
     private final AbstractMenu menu;
     private final Inventory inventory;
-    private final Map<Integer, Consumer<InventoryClickEvent>> actions;
+    private final IntObjectMap<Consumer<InventoryClickEvent>> actions;
 
     public MenuHolder(AbstractMenu menu, Inventory inventory) {
         this.menu = menu;
         this.inventory = inventory;
-        this.actions = new HashMap<>();
+        this.actions = new IntObjectMap<>();
     }
 
     @Override
@@ -33,6 +32,10 @@ public class MenuHolder implements InventoryHolder {
         this.actions.put(slot, action);
     }
 
+    public void clearActions() {
+        this.actions.clear();
+    }
+
     public Consumer<InventoryClickEvent> getAction(int slot) {
         return this.actions.get(slot);
     }
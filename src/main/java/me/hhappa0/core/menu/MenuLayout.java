@@ -0,0 +1,106 @@
+package me.hhappa0.core.menu;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.function.Consumer;
+
+/**
+ * An immutable, precompiled menu definition produced by the {@link MenuLayoutRegistry}.
+ *
+ * <p>The title is deserialized and all items are built once at compile time, so opening a layout only copies
+ * the prebuilt items into a new inventory.</p>
+ */
+public final class MenuLayout {
+    private final String id;
+    private final String rawTitle;
+    private final Component title;
+    private final int rows;
+    private final ItemStack[] items;
+    private final Consumer<InventoryClickEvent>[] actions;
+    private final long clickInterval;
+    private final long[] slotClickIntervals;
+
+    MenuLayout(String id, String rawTitle, Component title, int rows, ItemStack[] items, Consumer<InventoryClickEvent>[] actions, long clickInterval, long[] slotClickIntervals) {
+        this.id = id;
+        this.rawTitle = rawTitle;
+        this.title = title;
+        this.rows = rows;
+        this.items = items;
+        this.actions = actions;
+        this.clickInterval = clickInterval;
+        this.slotClickIntervals = slotClickIntervals;
+    }
+
+    /**
+     * Returns the id of the layout, which is its key in the menu configuration.
+     * @return The layout id.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the MiniMessage-formatted title as it was configured.
+     * @return The raw title string.
+     */
+    public String getRawTitle() {
+        return rawTitle;
+    }
+
+    /**
+     * Returns the precompiled title.
+     * @return The title component.
+     */
+    public Component getTitle() {
+        return title;
+    }
+
+    /**
+     * Returns the rows of the layout.
+     * @return The rows of the inventory.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the minimum time between two click actions in the menu.
+     * @return The interval in milliseconds, or {@code 0} if clicks are not throttled.
+     */
+    public long getClickInterval() {
+        return clickInterval;
+    }
+
+    /**
+     * Returns the minimum time between two click actions of a specific slot.
+     * @param slot The inventory slot (0-indexed).
+     * @return The interval in milliseconds, or {@code 0} if the slot is not throttled.
+     */
+    public long getClickInterval(int slot) {
+        return slot >= 0 && slot < slotClickIntervals.length ? slotClickIntervals[slot] : 0;
+    }
+
+    /**
+     * Returns a copy of the item in a specific slot.
+     * @param slot The inventory slot (0-indexed).
+     * @return A copy of the item, or {@code null} if the slot is empty.
+     */
+    public ItemStack getItem(int slot) {
+        ItemStack item = items[slot];
+
+        return item == null ? null : item.clone();
+    }
+
+    /**
+     * Places all items and actions of this layout in the given menu.
+     * <p>The prebuilt items are passed as-is, since the inventory copies them when they are set.</p>
+     * @param menu The menu to populate.
+     */
+    void apply(AbstractMenu menu) {
+        for (int slot = 0; slot < items.length; slot++) {
+            if (items[slot] != null) menu.setItem(items[slot], slot, actions[slot]);
+        }
+    }
+}
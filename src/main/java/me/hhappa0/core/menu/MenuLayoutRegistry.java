@@ -0,0 +1,212 @@
+package me.hhappa0.core.menu;
+
+import me.hhappa0.core.bootstrap.Core;
+import me.hhappa0.core.config.Config;
+import me.hhappa0.core.util.SchedulerUtil;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Compiles menus declared in a YAML {@link Config} into reusable {@link MenuLayout}s.
+ *
+ * <p>Every top-level key of the configuration is a menu id. Example:</p>
+ * <pre>
+ * shop:
+ *   title: "&lt;gold&gt;Shop"
+ *   rows: 3
+ *   click-interval: 100
+ *   items:
+ *     filler:
+ *       material: GRAY_STAINED_GLASS_PANE
+ *       name: " "
+ *       slots: [0, 1, 2]
+ *     buy:
+ *       material: GOLD_INGOT
+ *       name: "&lt;yellow&gt;Buy"
+ *       lore: ["&lt;gray&gt;Click to buy"]
+ *       slot: 13
+ *       action: buy
+ *       click-interval: 1000
+ * </pre>
+ *
+ * <p>The optional {@code click-interval} values are the minimum time in milliseconds between two click actions of the menu or item.</p>
+ *
+ * <p>Named actions are bound to Java handlers with {@link #registerAction(String, Consumer)} before the layouts are compiled.</p>
+ */
+public class MenuLayoutRegistry {
+    private final Plugin plugin;
+    private final Config config;
+    private final SchedulerUtil scheduler;
+    private final Map<String, Consumer<InventoryClickEvent>> actions;
+    private final AtomicLong generation;
+    private final Object reloadLock;
+    private volatile Map<String, MenuLayout> layouts;
+
+    /**
+     * Creates a registry for the menus declared in the given config.
+     * @param plugin The instance of your main plugin class.
+     * @param config The config containing the menu definitions.
+     */
+    public MenuLayoutRegistry(Plugin plugin, Config config) {
+        this.plugin = plugin;
+        this.config = config;
+        this.scheduler = new SchedulerUtil(plugin);
+        this.actions = new ConcurrentHashMap<>();
+        this.generation = new AtomicLong();
+        this.reloadLock = new Object();
+        this.layouts = Map.of();
+    }
+
+    /**
+     * Binds a named action to a handler. Layouts referencing the name will execute the handler on click.
+     * @param name The action name used in the menu configuration.
+     * @param handler The Consumer function to run when an item with this action is clicked.
+     */
+    public void registerAction(String name, Consumer<InventoryClickEvent> handler) {
+        this.actions.put(name, handler);
+    }
+
+    /**
+     * Compiles all menus of the config on the calling thread and swaps them in.
+     */
+    public void load() {
+        synchronized (this.reloadLock) {
+            this.publish(this.generation.incrementAndGet(), this.compile());
+        }
+    }
+
+    /**
+     * Reloads the config and recompiles all menus off the main thread.
+     * <p>The new layouts are swapped in atomically once compiled. Menus that are already open keep their layout.
+     * Overlapping reloads run one after another, and a reload that was superseded before it started is skipped,
+     * so only the most recently started one is swapped in.</p>
+     */
+    public void reloadAsync() {
+        long generation = this.generation.incrementAndGet();
+
+        this.scheduler.runTaskAsync(() -> {
+            synchronized (this.reloadLock) {
+                if (generation != this.generation.get()) return;
+
+                this.config.reload();
+                this.publish(generation, this.compile());
+            }
+        });
+    }
+
+    /**
+     * Returns the compiled layout with the given id.
+     * @param id The menu id.
+     * @return The layout, or {@code null} if no valid menu with that id exists.
+     */
+    public MenuLayout getLayout(String id) {
+        return this.layouts.get(id);
+    }
+
+    /**
+     * Opens the layout with the given id for a player.
+     * @param player The player to open the menu for.
+     * @param id The menu id.
+     * @throws IllegalArgumentException if no valid menu with that id exists.
+     */
+    public void open(Player player, String id) {
+        MenuLayout layout = this.getLayout(id);
+        if (layout == null) throw new IllegalArgumentException("Unknown menu layout '" + id + "'.");
+
+        new LayoutMenu(player, layout).open();
+    }
+
+    private void publish(long generation, Map<String, MenuLayout> layouts) {
+        if (generation == this.generation.get()) this.layouts = layouts;
+    }
+
+    private Map<String, MenuLayout> compile() {
+        Map<String, MenuLayout> previous = this.layouts;
+        Map<String, MenuLayout> compiled = new HashMap<>();
+
+        for (String id : this.config.getConfig().getKeys(false)) {
+            ConfigurationSection section = this.config.getConfig().getConfigurationSection(id);
+
+            try {
+                if (section == null) throw new IllegalArgumentException("Not a section.");
+
+                compiled.put(id, this.compile(id, section));
+            } catch (IllegalArgumentException e) {
+                Core.logger.severe("Could not compile menu '{}': {}", id, e.getMessage());
+
+                if (previous.containsKey(id)) compiled.put(id, previous.get(id));
+            }
+        }
+
+        return Map.copyOf(compiled);
+    }
+
+    @SuppressWarnings("unchecked")
+    private MenuLayout compile(String id, ConfigurationSection section) {
+        String title = section.getString("title", "");
+        int rows = section.getInt("rows", 0);
+
+        if (rows < 1 || rows > 6) throw new IllegalArgumentException("The rows must be between one and six, got " + rows + ".");
+
+        ItemStack[] items = new ItemStack[rows * 9];
+        Consumer<InventoryClickEvent>[] slotActions = new Consumer[rows * 9];
+        long[] slotClickIntervals = new long[rows * 9];
+        ConfigurationSection itemsSection = section.getConfigurationSection("items");
+
+        if (itemsSection != null) {
+            for (String key : itemsSection.getKeys(false)) {
+                ConfigurationSection itemSection = itemsSection.getConfigurationSection(key);
+                if (itemSection == null) throw new IllegalArgumentException("Item '" + key + "' is not a section.");
+
+                ItemStack item = this.buildItem(key, itemSection);
+                Consumer<InventoryClickEvent> action = null;
+                String actionName = itemSection.getString("action");
+
+                if (actionName != null) {
+                    action = this.actions.get(actionName);
+                    if (action == null) throw new IllegalArgumentException("Item '" + key + "' uses the unknown action '" + actionName + "'.");
+                }
+
+                List<Integer> slots = itemSection.isInt("slot") ? List.of(itemSection.getInt("slot")) : itemSection.getIntegerList("slots");
+                if (slots.isEmpty()) throw new IllegalArgumentException("Item '" + key + "' has no slot.");
+
+                for (int slot : slots) {
+                    if (slot < 0 || slot >= items.length) throw new IllegalArgumentException("Item '" + key + "' uses the slot " + slot + ", which is outside of the menu.");
+                    if (items[slot] != null) throw new IllegalArgumentException("Item '" + key + "' uses the slot " + slot + ", which is already taken.");
+
+                    items[slot] = item;
+                    slotActions[slot] = action;
+                    slotClickIntervals[slot] = itemSection.getLong("click-interval", 0);
+                }
+            }
+        }
+
+        return new MenuLayout(id, title, MiniMessage.miniMessage().deserialize(title), rows, items, slotActions, section.getLong("click-interval", 0), slotClickIntervals);
+    }
+
+    private ItemStack buildItem(String key, ConfigurationSection section) {
+        String materialName = section.getString("material");
+        Material material = materialName == null ? null : Material.matchMaterial(materialName);
+
+        if (material == null || !material.isItem()) throw new IllegalArgumentException("Item '" + key + "' has the invalid material '" + materialName + "'.");
+
+        ItemBuilder builder = new ItemBuilder(material).amount(section.getInt("amount", 1));
+
+        if (section.isString("name")) builder.name(section.getString("name"));
+        if (section.isList("lore")) builder.lore(section.getStringList("lore"));
+
+        return builder.build();
+    }
+}
@@ -1,9 +1,13 @@
 package me.hhappa0.core.menu;
 
+import me.hhappa0.core.bootstrap.Core;
+import me.hhappa0.core.metrics.Histogram;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 import java.util.function.Consumer;
 
@@ -11,6 +15,13 @@ import java.util.function.Consumer;
  * Global listener to route inventory clicks to the appropriate AbstractMenu instance.
  */
 public class MenuListener implements Listener {
+    private final ClickThrottle clickThrottle;
+    private final Histogram actionTimer;
+
+    public MenuListener(ClickThrottle clickThrottle) {
+        this.clickThrottle = clickThrottle;
+        this.actionTimer = Core.metrics.timer("core_menu_action_seconds", "Time spent running menu click actions.");
+    }
 
     @EventHandler
     public void onInventoryClick(InventoryClickEvent event) {
@@ -26,7 +37,23 @@ public class MenuListener implements Listener {
             int slot = event.getRawSlot();
             Consumer<InventoryClickEvent> action = holder.getAction(slot);
 
-            if (action != null) action.accept(event);
+            if (action == null && Core.itemDispatcher != null) action = Core.itemDispatcher.getClickHandler(event.getCurrentItem());
+            if (action == null) return;
+
+            if (event.getClick() == ClickType.DOUBLE_CLICK && menu.isDoubleClickIgnored()) {
+                clickThrottle.drop();
+                return;
+            }
+
+            if (!clickThrottle.tryClick(event.getWhoClicked().getUniqueId(), menu.getClass(), slot, menu.getClickInterval(), menu.getClickInterval(slot))) return;
+
+            long start = System.nanoTime();
+
+            try {
+                action.accept(event);
+            } finally {
+                actionTimer.observeNanos(System.nanoTime() - start);
+            }
         }
     }
 
@@ -34,6 +61,15 @@ public class MenuListener implements Listener {
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().getHolder() instanceof MenuHolder holder) {
             holder.getMenu().handleMenuClose();
+
+            if (Core.menuSessions != null) Core.menuSessions.unregister(holder.getMenu());
         }
     }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        if (Core.menuSessions != null) Core.menuSessions.unregister(event.getPlayer());
+
+        clickThrottle.clear(event.getPlayer().getUniqueId());
+    }
 }
@@ -0,0 +1,256 @@
+package me.hhappa0.core.menu;
+
+import me.hhappa0.core.bootstrap.Core;
+import me.hhappa0.core.util.collection.UuidMap;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tracks all open {@link AbstractMenu} sessions, keyed by player.
+ *
+ * <p>Sessions are registered when a menu opens and removed when it closes, when the player quits and when the plugin
+ * is disabled. A periodic {@link #sweep()} removes stale sessions and logs closed menus that are still referenced
+ * after {@link #LEAK_THRESHOLD_MILLIS} and an old generation collection, which can indicate a leak. Menus that only
+ * have not been collected yet, because no old generation collection has run since they were closed, are not reported.</p>
+ *
+ * <p>All methods must be called on the main thread, except {@link #getOpenCount()}, which may be read from any thread.</p>
+ */
+public class MenuSessionRegistry {
+    /** The time after closing, after which a menu that is still referenced is reported as leaked. */
+    public static final long LEAK_THRESHOLD_MILLIS = 5 * 60 * 1000L;
+    /** The maximum number of closed menus watched for leaks. The oldest ones stop being watched beyond it. */
+    public static final int MAX_WATCHED_MENUS = 10_000;
+
+    private static final long SESSION_BASE_BYTES = 256;
+    private static final long SLOT_BYTES = 16;
+    private static final long ITEM_BYTES = 256;
+    private static final List<GarbageCollectorMXBean> OLD_GENERATION_COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .filter(bean -> !isYoungGenerationCollector(bean.getName()))
+            .toList();
+
+    private final UuidMap<AbstractMenu> sessions;
+    private final Map<Class<? extends AbstractMenu>, Set<AbstractMenu>> sessionsByType;
+    private final List<ClosedMenu> closedMenus;
+    /** Mirrors the size of {@link #sessions}, so the count can be read by other threads, for example by the metrics endpoint. */
+    private volatile int openCount;
+
+    /**
+     * Creates an empty registry.
+     */
+    public MenuSessionRegistry() {
+        this.sessions = new UuidMap<>();
+        this.sessionsByType = new HashMap<>();
+        this.closedMenus = new ArrayList<>();
+    }
+
+    /**
+     * Registers an opened menu. A previous session of the same player is replaced.
+     * @param menu The menu that was opened.
+     */
+    public void register(AbstractMenu menu) {
+        AbstractMenu previous = this.sessions.put(menu.player.getUniqueId(), menu);
+        this.openCount = this.sessions.size();
+        if (previous == menu) return;
+        if (previous != null) this.removeFromType(previous);
+
+        this.sessionsByType.computeIfAbsent(menu.getClass(), type -> new LinkedHashSet<>()).add(menu);
+    }
+
+    /**
+     * Removes the session of a closed menu, if it is still the player's current session.
+     * @param menu The menu that was closed.
+     */
+    public void unregister(AbstractMenu menu) {
+        if (this.sessions.remove(menu.player.getUniqueId(), menu) == null) return;
+
+        this.openCount = this.sessions.size();
+
+        this.removeFromType(menu);
+
+        if (this.closedMenus.size() >= MAX_WATCHED_MENUS) this.closedMenus.remove(0);
+        this.closedMenus.add(new ClosedMenu(menu, System.currentTimeMillis(), oldGenerationCollections()));
+    }
+
+    /**
+     * Removes the session of a player, for example when the player quits.
+     * @param player The player.
+     */
+    public void unregister(Player player) {
+        AbstractMenu menu = this.sessions.get(player.getUniqueId());
+
+        if (menu != null) this.unregister(menu);
+    }
+
+    /**
+     * Returns the menu a player currently has open.
+     * @param player The player.
+     * @return The open menu, or {@code null} if the player has no menu open.
+     */
+    public AbstractMenu getSession(Player player) {
+        return this.sessions.get(player.getUniqueId());
+    }
+
+    /**
+     * Returns all open instances of a menu type.
+     * @param type The menu class.
+     * @return A copy of the open instances.
+     */
+    public List<AbstractMenu> getSessions(Class<? extends AbstractMenu> type) {
+        Set<AbstractMenu> menus = this.sessionsByType.get(type);
+
+        return menus == null ? List.of() : List.copyOf(menus);
+    }
+
+    /**
+     * Returns the number of open menus. Can be called from any thread.
+     * @return The open session count.
+     */
+    public int getOpenCount() {
+        return this.openCount;
+    }
+
+    /**
+     * Returns the number of open instances of a menu type.
+     * @param type The menu class.
+     * @return The open session count of the type.
+     */
+    public int getOpenCount(Class<? extends AbstractMenu> type) {
+        Set<AbstractMenu> menus = this.sessionsByType.get(type);
+
+        return menus == null ? 0 : menus.size();
+    }
+
+    /**
+     * Returns the number of closed menus that are watched for leaks.
+     * @return The number of closed menus still being watched.
+     */
+    public int getClosedCount() {
+        return this.closedMenus.size();
+    }
+
+    /**
+     * Roughly estimates the memory retained by all open menus, based on their inventory sizes and item counts.
+     * @return The estimated size in bytes.
+     */
+    public long estimateMemoryBytes() {
+        long bytes = 0;
+
+        for (AbstractMenu menu : this.sessions.values()) {
+            bytes += SESSION_BASE_BYTES;
+
+            if (menu.getInventory() == null) continue;
+
+            for (ItemStack item : menu.getInventory().getContents()) {
+                bytes += item == null ? SLOT_BYTES : SLOT_BYTES + ITEM_BYTES;
+            }
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Rebuilds the contents of every open instance of a menu type.
+     * @param type The menu class.
+     */
+    public void refresh(Class<? extends AbstractMenu> type) {
+        for (AbstractMenu menu : this.getSessions(type)) menu.refresh();
+    }
+
+    /**
+     * Closes every open instance of a menu type.
+     * @param type The menu class.
+     */
+    public void closeAll(Class<? extends AbstractMenu> type) {
+        for (AbstractMenu menu : this.getSessions(type)) this.close(menu);
+    }
+
+    /**
+     * Closes all open menus.
+     */
+    public void closeAll() {
+        for (AbstractMenu menu : this.sessions.values()) this.close(menu);
+    }
+
+    /**
+     * Removes sessions whose player is offline or no longer looks at the menu, and reports closed menus that are still
+     * referenced after {@link #LEAK_THRESHOLD_MILLIS} and at least one old generation collection since they were closed.
+     */
+    public void sweep() {
+        for (AbstractMenu menu : this.sessions.values()) {
+            if (!menu.player.isOnline() || !(menu.player.getOpenInventory().getTopInventory().getHolder() instanceof MenuHolder holder) || holder.getMenu() != menu) {
+                Core.logger.warning("Removed stale menu session {} of {}.", menu.getClass().getName(), menu.player.getName());
+                this.unregister(menu);
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        long oldGenerationCollections = oldGenerationCollections();
+        Map<String, Integer> leaked = new HashMap<>();
+        Iterator<ClosedMenu> iterator = this.closedMenus.iterator();
+
+        while (iterator.hasNext()) {
+            ClosedMenu closedMenu = iterator.next();
+
+            if (closedMenu.reference.get() == null) {
+                iterator.remove();
+            } else if (now - closedMenu.closedAt >= LEAK_THRESHOLD_MILLIS && oldGenerationCollections > closedMenu.oldGenerationCollections) {
+                leaked.merge(closedMenu.type, 1, Integer::sum);
+                iterator.remove();
+            }
+        }
+
+        leaked.forEach((type, count) -> Core.logger.warning("{} closed menu(s) of type {} are still referenced {} s after closing and survived a full collection. They might be leaked.", count, type, LEAK_THRESHOLD_MILLIS / 1000));
+    }
+
+    private void close(AbstractMenu menu) {
+        if (menu.player.isOnline()) menu.player.closeInventory();
+
+        this.unregister(menu);
+    }
+
+    private static long oldGenerationCollections() {
+        long collections = 0;
+
+        for (GarbageCollectorMXBean bean : OLD_GENERATION_COLLECTORS) collections += Math.max(0, bean.getCollectionCount());
+
+        return collections;
+    }
+
+    private static boolean isYoungGenerationCollector(String name) {
+        return name.contains("Young") || name.contains("Scavenge") || name.contains("ParNew") || name.equals("Copy") || name.contains("Minor") || name.contains("Pauses");
+    }
+
+    private void removeFromType(AbstractMenu menu) {
+        Set<AbstractMenu> menus = this.sessionsByType.get(menu.getClass());
+        if (menus == null) return;
+
+        menus.remove(menu);
+
+        if (menus.isEmpty()) this.sessionsByType.remove(menu.getClass());
+    }
+
+    private static final class ClosedMenu {
+        private final WeakReference<AbstractMenu> reference;
+        private final String type;
+        private final long closedAt;
+        private final long oldGenerationCollections;
+
+        private ClosedMenu(AbstractMenu menu, long closedAt, long oldGenerationCollections) {
+            this.reference = new WeakReference<>(menu);
+            this.type = menu.getClass().getName();
+            this.closedAt = closedAt;
+            this.oldGenerationCollections = oldGenerationCollections;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package me.hhappa0.core.message;
+
+import me.hhappa0.core.bootstrap.Core;
+import me.hhappa0.core.config.Config;
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A catalog of precompiled messages with one {@link Config} file per locale.
+ *
+ * <p>Each locale is loaded from {@code <directory>/<locale>.yml}, for example {@code messages/en_us.yml}. Every string
+ * in the file is compiled into a {@link MessageTemplate} once, so sending a message only fills in its placeholders.
+ * The locale of a player is resolved automatically, falling back to the language and then to the default locale.
+ * Locales whose file neither exists nor is bundled in the plugin jar are skipped.</p>
+ */
+public class MessageCatalog {
+    private final Plugin plugin;
+    private final String directory;
+    private final String defaultLocale;
+    private final String[] locales;
+    private final Map<Locale, Map<String, MessageTemplate>> resolvedLocales;
+    private volatile Map<String, Map<String, MessageTemplate>> templates;
+
+    /**
+     * Creates a catalog and loads all given locales.
+     * @param plugin The instance of your main plugin class.
+     * @param directory The directory containing the locale files, relative to the plugin's data folder.
+     * @param defaultLocale The locale used if a player's locale or a message is missing, for example {@code en_us}.
+     * @param locales The additional locales to load.
+     */
+    public MessageCatalog(Plugin plugin, String directory, String defaultLocale, String... locales) {
+        this.plugin = plugin;
+        this.directory = directory;
+        this.defaultLocale = defaultLocale.toLowerCase(Locale.ROOT);
+        this.locales = locales;
+        this.resolvedLocales = new ConcurrentHashMap<>();
+
+        this.reload();
+    }
+
+    /**
+     * Reloads and recompiles all locale files.
+     */
+    public void reload() {
+        Map<String, Map<String, MessageTemplate>> compiled = new HashMap<>();
+
+        Map<String, MessageTemplate> defaultTemplates = this.compile(this.defaultLocale);
+        compiled.put(this.defaultLocale, defaultTemplates == null ? Map.of() : defaultTemplates);
+
+        for (String locale : this.locales) {
+            String name = locale.toLowerCase(Locale.ROOT);
+            if (compiled.containsKey(name)) continue;
+
+            Map<String, MessageTemplate> templates = this.compile(name);
+            if (templates != null) compiled.put(name, templates);
+        }
+
+        this.templates = Map.copyOf(compiled);
+        this.resolvedLocales.clear();
+    }
+
+    /**
+     * Returns the template of a message in a locale.
+     * @param locale The locale.
+     * @param key The key of the message.
+     * @return The template, or {@code null} if the message does not exist in the locale or the default locale.
+     */
+    public MessageTemplate getTemplate(Locale locale, String key) {
+        MessageTemplate template = this.resolvedLocales.computeIfAbsent(locale, this::resolve).get(key);
+
+        return template != null ? template : this.templates.get(this.defaultLocale).get(key);
+    }
+
+    /**
+     * Renders a message in a locale. Missing messages are rendered as their key.
+     * @param locale The locale.
+     * @param key The key of the message.
+     * @param values The placeholder values.
+     * @return The rendered message.
+     */
+    public Component render(Locale locale, String key, Placeholder.Value... values) {
+        MessageTemplate template = this.getTemplate(locale, key);
+
+        return template == null ? Component.text(key) : template.render(values);
+    }
+
+    /**
+     * Renders a message in the locale of the recipient.
+     * @param recipient The recipient. Non-player recipients use the default locale.
+     * @param key The key of the message.
+     * @param values The placeholder values.
+     * @return The rendered message.
+     */
+    public Component render(CommandSender recipient, String key, Placeholder.Value... values) {
+        return this.render(this.getLocale(recipient), key, values);
+    }
+
+    /**
+     * Sends a message in the locale of the recipient.
+     * @param recipient The recipient.
+     * @param key The key of the message.
+     * @param values The placeholder values.
+     */
+    public void send(CommandSender recipient, String key, Placeholder.Value... values) {
+        recipient.sendMessage(this.render(recipient, key, values));
+    }
+
+    /**
+     * Sends a message to many recipients, rendering it only once per locale.
+     * @param recipients The recipients.
+     * @param key The key of the message.
+     * @param values The placeholder values.
+     */
+    public void broadcast(Collection<? extends CommandSender> recipients, String key, Placeholder.Value... values) {
+        Map<Locale, Component> rendered = new HashMap<>();
+
+        for (CommandSender recipient : recipients) {
+            recipient.sendMessage(rendered.computeIfAbsent(this.getLocale(recipient), locale -> this.render(locale, key, values)));
+        }
+    }
+
+    private Locale getLocale(CommandSender recipient) {
+        return recipient instanceof Player player ? player.locale() : Locale.ROOT;
+    }
+
+    private Map<String, MessageTemplate> resolve(Locale locale) {
+        Map<String, Map<String, MessageTemplate>> templates = this.templates;
+        Map<String, MessageTemplate> resolved = templates.get(locale.toString().toLowerCase(Locale.ROOT));
+
+        if (resolved == null) resolved = templates.get(locale.getLanguage().toLowerCase(Locale.ROOT));
+        if (resolved == null) resolved = templates.get(this.defaultLocale);
+
+        return resolved;
+    }
+
+    private boolean isBundled(String fileName) {
+        try (InputStream resource = this.plugin.getResource(fileName)) {
+            return resource != null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Map<String, MessageTemplate> compile(String locale) {
+        String fileName = this.directory + "/" + locale + ".yml";
+
+        if (!new File(this.plugin.getDataFolder(), fileName).exists() && !this.isBundled(fileName)) {
+            Core.logger.warning("Skipped locale {}, because {} neither exists nor is bundled.", locale, fileName);
+            return null;
+        }
+
+        Config config = new Config(this.plugin, fileName);
+        Map<String, MessageTemplate> compiled = new HashMap<>();
+
+        for (String key : config.getConfig().getKeys(true)) {
+            if (!config.getConfig().isString(key)) continue;
+
+            try {
+                compiled.put(key, MessageTemplate.compile(config.getString(key)));
+            } catch (RuntimeException e) {
+                Core.logger.severe("Could not compile message '{}' of locale {}: {}", key, locale, e.getMessage());
+            }
+        }
+
+        return Map.copyOf(compiled);
+    }
+}
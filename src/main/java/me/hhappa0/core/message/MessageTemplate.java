@@ -0,0 +1,156 @@
+package me.hhappa0.core.message;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.minimessage.tag.standard.StandardTags;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * A message that was deserialized with MiniMessage once and only needs its placeholders filled in when it is sent.
+ *
+ * <p>Every tag that is not a standard MiniMessage tag, like {@code <player>}, is treated as a placeholder. Messages
+ * without placeholders always return the same component.</p>
+ */
+public final class MessageTemplate {
+    private static final char MARKER = '\uE000';
+    private static final char INDEX_BASE = '\uE100';
+    private static final MiniMessage PARSER = MiniMessage.builder().postProcessor(UnaryOperator.identity()).build();
+
+    private final String raw;
+    private final Component component;
+    private final String[] placeholders;
+
+    private MessageTemplate(String raw, Component component, String[] placeholders) {
+        this.raw = raw;
+        this.component = component;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Deserializes a MiniMessage string into a template.
+     * @param raw The MiniMessage-formatted message.
+     * @return The compiled template.
+     */
+    public static MessageTemplate compile(String raw) {
+        List<String> placeholders = new ArrayList<>();
+        TagResolver standard = StandardTags.defaults();
+        TagResolver resolver = new TagResolver() {
+            @Override
+            public Tag resolve(@NotNull String name, @NotNull ArgumentQueue arguments, @NotNull Context ctx) {
+                int index = placeholders.indexOf(name);
+
+                if (index < 0) {
+                    index = placeholders.size();
+                    placeholders.add(name);
+                }
+
+                return Tag.selfClosingInserting(Component.text(String.valueOf(MARKER) + (char) (INDEX_BASE + index)));
+            }
+
+            @Override
+            public boolean has(@NotNull String name) {
+                return !standard.has(name);
+            }
+        };
+
+        Component component = PARSER.deserialize(raw, resolver);
+
+        return new MessageTemplate(raw, component, placeholders.toArray(String[]::new));
+    }
+
+    /**
+     * Returns the MiniMessage string this template was compiled from.
+     * @return The raw message.
+     */
+    public String getRaw() {
+        return raw;
+    }
+
+    /**
+     * Returns the names of the placeholders used in this template.
+     * @return The placeholder names.
+     */
+    public List<String> getPlaceholders() {
+        return List.of(placeholders);
+    }
+
+    /**
+     * Fills the placeholders with the given values. Placeholders without a value are rendered as their tag.
+     * @param values The values to fill in.
+     * @return The rendered message.
+     */
+    public Component render(Placeholder.Value... values) {
+        if (placeholders.length == 0) return component;
+
+        Component[] arguments = new Component[placeholders.length];
+
+        for (int i = 0; i < placeholders.length; i++) {
+            for (Placeholder.Value value : values) {
+                if (value.getName().equals(placeholders[i])) {
+                    arguments[i] = value.getComponent();
+                    break;
+                }
+            }
+
+            if (arguments[i] == null) arguments[i] = Component.text("<" + placeholders[i] + ">");
+        }
+
+        return fill(component, arguments);
+    }
+
+    private static Component fill(Component component, Component[] arguments) {
+        List<Component> children = component.children();
+        List<Component> filled = null;
+
+        for (int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Component replaced = fill(child, arguments);
+
+            if (replaced != child && filled == null) filled = new ArrayList<>(children.subList(0, i));
+            if (filled != null) filled.add(replaced);
+        }
+
+        Component result = filled == null ? component : component.children(filled);
+        HoverEvent<?> hoverEvent = result.hoverEvent();
+
+        if (hoverEvent != null && hoverEvent.action() == HoverEvent.Action.SHOW_TEXT) {
+            Component hover = (Component) hoverEvent.value();
+            Component filledHover = fill(hover, arguments);
+
+            if (filledHover != hover) result = result.hoverEvent(HoverEvent.showText(filledHover));
+        }
+
+        if (result instanceof TextComponent text && text.content().indexOf(MARKER) >= 0) {
+            String content = text.content();
+            List<Component> parts = new ArrayList<>();
+            int start = 0;
+
+            for (int i = 0; i < content.length() - 1; i++) {
+                if (content.charAt(i) != MARKER) continue;
+
+                if (i > start) parts.add(Component.text(content.substring(start, i)));
+                parts.add(arguments[content.charAt(i + 1) - INDEX_BASE]);
+
+                start = i + 2;
+                i++;
+            }
+
+            if (start < content.length()) parts.add(Component.text(content.substring(start)));
+            parts.addAll(text.children());
+
+            return text.content("").children(parts);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+package me.hhappa0.core.message;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.function.Function;
+
+/**
+ * A typed placeholder of a {@link MessageTemplate}, referenced in message strings as {@code <name>}.
+ *
+ * @param <T> The type of the values filled into the placeholder.
+ */
+public final class Placeholder<T> {
+    private final String name;
+    private final Function<T, Component> renderer;
+
+    private Placeholder(String name, Function<T, Component> renderer) {
+        this.name = name;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Creates a placeholder that inserts plain text.
+     * @param name The name of the placeholder.
+     * @return The placeholder.
+     */
+    public static Placeholder<String> string(String name) {
+        return new Placeholder<>(name, Component::text);
+    }
+
+    /**
+     * Creates a placeholder that inserts a number.
+     * @param name The name of the placeholder.
+     * @return The placeholder.
+     */
+    public static Placeholder<Number> number(String name) {
+        return new Placeholder<>(name, value -> Component.text(value.toString()));
+    }
+
+    /**
+     * Creates a placeholder that inserts a component.
+     * @param name The name of the placeholder.
+     * @return The placeholder.
+     */
+    public static Placeholder<Component> component(String name) {
+        return new Placeholder<>(name, Function.identity());
+    }
+
+    /**
+     * Creates a placeholder with a custom renderer.
+     * @param name The name of the placeholder.
+     * @param renderer The function turning a value into a component.
+     * @param <T> The type of the values.
+     * @return The placeholder.
+     */
+    public static <T> Placeholder<T> of(String name, Function<T, Component> renderer) {
+        return new Placeholder<>(name, renderer);
+    }
+
+    /**
+     * Returns the name of the placeholder.
+     * @return The placeholder name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Binds a value to this placeholder.
+     * @param value The value to fill in.
+     * @return The bound value.
+     */
+    public Value with(T value) {
+        return new Value(name, renderer.apply(value));
+    }
+
+    /**
+     * A value bound to a placeholder, ready to be filled into a template.
+     */
+    public static final class Value {
+        private final String name;
+        private final Component component;
+
+        private Value(String name, Component component) {
+            this.name = name;
+            this.component = component;
+        }
+
+        /**
+         * @return The name of the placeholder.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The rendered value.
+         */
+        public Component getComponent() {
+            return component;
+        }
+    }
+}
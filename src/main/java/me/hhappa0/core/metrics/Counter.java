@@ -0,0 +1,47 @@
+package me.hhappa0.core.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count, backed by a striped {@link LongAdder} so concurrent increments do not contend.
+ */
+public final class Counter extends Metric {
+    private final LongAdder value;
+
+    Counter(String name, String help, String labels) {
+        super(name, help, labels);
+        this.value = new LongAdder();
+    }
+
+    /**
+     * Increments the counter by one.
+     */
+    public void increment() {
+        this.value.increment();
+    }
+
+    /**
+     * Increments the counter by the given amount.
+     * @param amount The amount to add. Must not be negative.
+     */
+    public void add(long amount) {
+        this.value.add(amount);
+    }
+
+    /**
+     * @return The current count.
+     */
+    public long get() {
+        return this.value.sum();
+    }
+
+    @Override
+    String getType() {
+        return "counter";
+    }
+
+    @Override
+    void write(StringBuilder builder) {
+        writeSample(builder, "", null, this.value.sum());
+    }
+}
@@ -0,0 +1,32 @@
+package me.hhappa0.core.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A counter whose value is maintained elsewhere and read from a supplier whenever the metrics are scraped.
+ */
+public final class FunctionCounter extends Metric {
+    private final LongSupplier supplier;
+
+    FunctionCounter(String name, String help, String labels, LongSupplier supplier) {
+        super(name, help, labels);
+        this.supplier = supplier;
+    }
+
+    /**
+     * @return The current count.
+     */
+    public long get() {
+        return this.supplier.getAsLong();
+    }
+
+    @Override
+    String getType() {
+        return "counter";
+    }
+
+    @Override
+    void write(StringBuilder builder) {
+        writeSample(builder, "", null, this.get());
+    }
+}
@@ -0,0 +1,32 @@
+package me.hhappa0.core.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * A value that is read from a supplier whenever the metrics are scraped.
+ */
+public final class Gauge extends Metric {
+    private final DoubleSupplier supplier;
+
+    Gauge(String name, String help, String labels, DoubleSupplier supplier) {
+        super(name, help, labels);
+        this.supplier = supplier;
+    }
+
+    /**
+     * @return The current value.
+     */
+    public double get() {
+        return this.supplier.getAsDouble();
+    }
+
+    @Override
+    String getType() {
+        return "gauge";
+    }
+
+    @Override
+    void write(StringBuilder builder) {
+        writeSample(builder, "", null, this.get());
+    }
+}
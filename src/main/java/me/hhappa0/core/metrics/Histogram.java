@@ -0,0 +1,88 @@
+package me.hhappa0.core.metrics;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A distribution of observed values in fixed buckets. Recording is allocation-free and uses striped adders.
+ */
+public final class Histogram extends Metric {
+    /** Buckets in seconds for durations between 50 microseconds and 5 seconds. */
+    public static final double[] DURATION_BUCKETS = { 0.00005, 0.0001, 0.0005, 0.001, 0.005, 0.01, 0.05, 0.1, 0.5, 1, 5 };
+
+    private final double[] buckets;
+    private final LongAdder[] counts;
+    private final LongAdder count;
+    private final DoubleAdder sum;
+
+    Histogram(String name, String help, String labels, double[] buckets) {
+        super(name, help, labels);
+        this.buckets = buckets.clone();
+        this.counts = new LongAdder[buckets.length];
+        this.count = new LongAdder();
+        this.sum = new DoubleAdder();
+
+        for (int i = 0; i < buckets.length; i++) {
+            if (i > 0 && buckets[i] <= buckets[i - 1]) throw new IllegalArgumentException("Histogram buckets must be increasing.");
+
+            this.counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a value.
+     * @param value The observed value.
+     */
+    public void observe(double value) {
+        for (int i = 0; i < buckets.length; i++) {
+            if (value <= buckets[i]) {
+                this.counts[i].increment();
+                break;
+            }
+        }
+
+        this.count.increment();
+        this.sum.add(value);
+    }
+
+    /**
+     * Records a duration in seconds.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void observeNanos(long nanos) {
+        this.observe(nanos / 1_000_000_000.0);
+    }
+
+    /**
+     * @return The number of observed values.
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * @return The sum of all observed values.
+     */
+    public double getSum() {
+        return this.sum.sum();
+    }
+
+    @Override
+    String getType() {
+        return "histogram";
+    }
+
+    @Override
+    void write(StringBuilder builder) {
+        long cumulative = 0;
+
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += this.counts[i].sum();
+            writeSample(builder, "_bucket", "le=\"" + buckets[i] + "\"", cumulative);
+        }
+
+        writeSample(builder, "_bucket", "le=\"+Inf\"", this.count.sum());
+        writeSample(builder, "_sum", null, this.sum.sum());
+        writeSample(builder, "_count", null, this.count.sum());
+    }
+}
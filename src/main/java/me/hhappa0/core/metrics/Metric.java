@@ -0,0 +1,66 @@
+package me.hhappa0.core.metrics;
+
+/**
+ * Base class of all metrics of a {@link MetricsRegistry}.
+ */
+public abstract class Metric {
+    private final String name;
+    private final String help;
+    private final String labels;
+
+    Metric(String name, String help, String labels) {
+        this.name = name;
+        this.help = help;
+        this.labels = labels;
+    }
+
+    /**
+     * @return The name of the metric.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The description of the metric.
+     */
+    public String getHelp() {
+        return help;
+    }
+
+    /**
+     * @return The labels in Prometheus format without braces, for example {@code command="test"}, or an empty string.
+     */
+    public String getLabels() {
+        return labels;
+    }
+
+    /**
+     * @return The Prometheus type of the metric.
+     */
+    abstract String getType();
+
+    /**
+     * Appends the samples of this metric in the Prometheus text format.
+     */
+    abstract void write(StringBuilder builder);
+
+    void writeSample(StringBuilder builder, String suffix, String extraLabel, double value) {
+        builder.append(name).append(suffix);
+
+        if (!labels.isEmpty() || extraLabel != null) {
+            builder.append('{').append(labels);
+            if (!labels.isEmpty() && extraLabel != null) builder.append(',');
+            if (extraLabel != null) builder.append(extraLabel);
+            builder.append('}');
+        }
+
+        builder.append(' ');
+
+        if (value == Double.POSITIVE_INFINITY) builder.append("+Inf");
+        else if (value == (long) value) builder.append((long) value);
+        else builder.append(value);
+
+        builder.append('\n');
+    }
+}
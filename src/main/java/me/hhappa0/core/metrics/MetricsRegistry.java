@@ -0,0 +1,186 @@
+package me.hhappa0.core.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds the counters, gauges and histograms of a plugin and renders them in the Prometheus text format.
+ *
+ * <p>Metrics are identified by their name and labels. Requesting the same metric twice returns the same instance, so
+ * callers should look a metric up once and keep the reference instead of resolving it on every recording.</p>
+ *
+ * <p>Labels are passed as alternating names and values, for example {@code counter("commands_total", "Executed commands.", "command", "test")}.</p>
+ */
+public class MetricsRegistry {
+    private final Map<String, Metric> metrics;
+
+    /**
+     * Creates an empty registry.
+     */
+    public MetricsRegistry() {
+        this.metrics = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the counter with the given name and labels, creating it if it does not exist yet.
+     * @param name The name of the metric.
+     * @param help The description of the metric.
+     * @param labels Alternating label names and values.
+     * @return The counter.
+     * @throws IllegalArgumentException if a metric of another type is registered under the same name and labels.
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return this.register(Counter.class, name, labels, formattedLabels -> new Counter(name, help, formattedLabels));
+    }
+
+    /**
+     * Registers a counter reading its value from the supplier, replacing any such counter with the same name and labels.
+     * <p>Use this for counts that a component already maintains itself.</p>
+     * @param name The name of the metric.
+     * @param help The description of the metric.
+     * @param supplier The supplier called whenever the metrics are scraped. Must be thread-safe and never decrease.
+     * @param labels Alternating label names and values.
+     * @return The counter.
+     * @throws IllegalArgumentException if a metric of another type is registered under the same name and labels.
+     */
+    public FunctionCounter counter(String name, String help, LongSupplier supplier, String... labels) {
+        return this.replace(FunctionCounter.class, name, labels, formattedLabels -> new FunctionCounter(name, help, formattedLabels, supplier));
+    }
+
+    /**
+     * Registers a gauge reading its value from the supplier, replacing any gauge with the same name and labels.
+     * @param name The name of the metric.
+     * @param help The description of the metric.
+     * @param supplier The supplier called whenever the metrics are scraped. Must be thread-safe.
+     * @param labels Alternating label names and values.
+     * @return The gauge.
+     * @throws IllegalArgumentException if a metric of another type is registered under the same name and labels.
+     */
+    public Gauge gauge(String name, String help, DoubleSupplier supplier, String... labels) {
+        return this.replace(Gauge.class, name, labels, formattedLabels -> new Gauge(name, help, formattedLabels, supplier));
+    }
+
+    /**
+     * Returns the histogram with the given name and labels, creating it if it does not exist yet.
+     * @param name The name of the metric.
+     * @param help The description of the metric.
+     * @param buckets The increasing upper bounds of the buckets. Only used when the histogram is created.
+     * @param labels Alternating label names and values.
+     * @return The histogram.
+     * @throws IllegalArgumentException if a metric of another type is registered under the same name and labels.
+     */
+    public Histogram histogram(String name, String help, double[] buckets, String... labels) {
+        return this.register(Histogram.class, name, labels, formattedLabels -> new Histogram(name, help, formattedLabels, buckets));
+    }
+
+    /**
+     * Returns the histogram with the given name and labels using {@link Histogram#DURATION_BUCKETS}.
+     * @param name The name of the metric. Should end in {@code _seconds}.
+     * @param help The description of the metric.
+     * @param labels Alternating label names and values.
+     * @return The histogram.
+     */
+    public Histogram timer(String name, String help, String... labels) {
+        return this.histogram(name, help, Histogram.DURATION_BUCKETS, labels);
+    }
+
+    /**
+     * Removes the metric with the given name and labels.
+     * @param name The name of the metric.
+     * @param labels Alternating label names and values.
+     */
+    public void remove(String name, String... labels) {
+        this.metrics.remove(key(name, formatLabels(labels)));
+    }
+
+    /**
+     * @return A snapshot of all registered metrics.
+     */
+    public List<Metric> getMetrics() {
+        return new ArrayList<>(this.metrics.values());
+    }
+
+    /**
+     * Renders all metrics in the Prometheus text exposition format.
+     * @return The rendered metrics.
+     */
+    public String scrape() {
+        List<Metric> sorted = this.getMetrics();
+        sorted.sort((a, b) -> {
+            int compare = a.getName().compareTo(b.getName());
+            return compare != 0 ? compare : a.getLabels().compareTo(b.getLabels());
+        });
+
+        StringBuilder builder = new StringBuilder(sorted.size() * 64);
+        String lastName = null;
+
+        for (Metric metric : sorted) {
+            if (!metric.getName().equals(lastName)) {
+                builder.append("# HELP ").append(metric.getName()).append(' ').append(escapeHelp(metric.getHelp())).append('\n');
+                builder.append("# TYPE ").append(metric.getName()).append(' ').append(metric.getType()).append('\n');
+                lastName = metric.getName();
+            }
+
+            metric.write(builder);
+        }
+
+        return builder.toString();
+    }
+
+    private <T extends Metric> T register(Class<T> type, String name, String[] labels, Function<String, T> factory) {
+        String formattedLabels = formatLabels(labels);
+        Metric metric = this.metrics.computeIfAbsent(key(name, formattedLabels), key -> factory.apply(formattedLabels));
+
+        if (!type.isInstance(metric)) throw new IllegalArgumentException("The metric '" + name + "' is already registered as a " + metric.getType() + ".");
+
+        return type.cast(metric);
+    }
+
+    private <T extends Metric> T replace(Class<T> type, String name, String[] labels, Function<String, T> factory) {
+        String formattedLabels = formatLabels(labels);
+        Metric metric = this.metrics.compute(key(name, formattedLabels), (key, previous) -> previous == null || type.isInstance(previous) ? factory.apply(formattedLabels) : previous);
+
+        if (!type.isInstance(metric)) throw new IllegalArgumentException("The metric '" + name + "' is already registered as a " + metric.getType() + ".");
+
+        return type.cast(metric);
+    }
+
+    private static String key(String name, String formattedLabels) {
+        return formattedLabels.isEmpty() ? name : name + '{' + formattedLabels + '}';
+    }
+
+    private static String formatLabels(String[] labels) {
+        if (labels.length % 2 != 0) throw new IllegalArgumentException("Labels must be passed as name and value pairs.");
+
+        StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) builder.append(',');
+
+            builder.append(labels[i]).append("=\"");
+
+            String value = labels[i + 1];
+            for (int j = 0; j < value.length(); j++) {
+                char c = value.charAt(j);
+
+                if (c == '\\') builder.append("\\\\");
+                else if (c == '"') builder.append("\\\"");
+                else if (c == '\n') builder.append("\\n");
+                else builder.append(c);
+            }
+
+            builder.append('"');
+        }
+
+        return builder.toString();
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+}
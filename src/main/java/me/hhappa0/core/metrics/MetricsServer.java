@@ -0,0 +1,123 @@
+package me.hhappa0.core.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the metrics of a {@link MetricsRegistry} in the Prometheus text format under {@code /metrics}.
+ *
+ * <p>The server uses the HTTP server built into the JDK and answers requests on a single daemon thread, so scrapes never
+ * run on the main thread.</p>
+ */
+public class MetricsServer {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final MetricsRegistry registry;
+    private final InetSocketAddress address;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Creates a server listening on the loopback interface.
+     * @param registry The registry to expose.
+     * @param port The local port to listen on.
+     */
+    public MetricsServer(MetricsRegistry registry, int port) {
+        this(registry, new InetSocketAddress("127.0.0.1", port));
+    }
+
+    /**
+     * Creates a server listening on the given address.
+     * @param registry The registry to expose.
+     * @param address The address to listen on.
+     */
+    public MetricsServer(MetricsRegistry registry, InetSocketAddress address) {
+        this.registry = registry;
+        this.address = address;
+    }
+
+    /**
+     * Starts the server.
+     * @throws IllegalStateException if the server is already running.
+     * @throws UncheckedIOException if the address could not be bound.
+     */
+    public synchronized void start() {
+        if (this.server != null) throw new IllegalStateException("The metrics server is already running.");
+
+        try {
+            this.server = HttpServer.create(this.address, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not bind the metrics server to " + this.address + ".", e);
+        }
+
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Core Metrics Server");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.server.createContext("/metrics", this::handle);
+        this.server.setExecutor(this.executor);
+        this.server.start();
+    }
+
+    /**
+     * Stops the server if it is running.
+     */
+    public synchronized void stop() {
+        if (this.server == null) return;
+
+        this.server.stop(0);
+        this.executor.shutdownNow();
+        this.server = null;
+        this.executor = null;
+    }
+
+    /**
+     * @return Whether the server is running.
+     */
+    public synchronized boolean isRunning() {
+        return this.server != null;
+    }
+
+    /**
+     * @return The port the server listens on, which differs from the configured port when that was zero.
+     * @throws IllegalStateException if the server is not running.
+     */
+    public synchronized int getPort() {
+        if (this.server == null) throw new IllegalStateException("The metrics server is not running.");
+
+        return this.server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET") && !exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = this.registry.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+
+            if (exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+
+            exchange.sendResponseHeaders(200, body.length);
+
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package me.hhappa0.core.metrics;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import com.destroystokyo.paper.event.server.ServerTickStartEvent;
+import me.hhappa0.core.bootstrap.Core;
+import me.hhappa0.core.config.Config;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Records the duration and the main-thread allocation of the last server ticks and compares them against a stored baseline.
+ *
+ * <p>The percentiles are exported to {@link Core#metrics} while the monitor is running. A baseline taken on a known good
+ * build can be stored with {@link #saveBaseline(Config, String)}, and {@link #checkBaseline(Config, String, double)}
+ * reports every percentile that regressed past it, for example after a load test or an update.</p>
+ *
+ * <p>Allocation is only measured on JVMs supporting per-thread allocation counters and reported as {@code -1} otherwise.</p>
+ */
+public class TickMonitor implements Listener {
+    private static final double[] QUANTILES = { 0.5, 0.95, 0.99 };
+
+    private final Plugin plugin;
+    private final long[] durations;
+    private final long[] allocations;
+    private final com.sun.management.ThreadMXBean threadBean;
+    private long tickStart;
+    private long allocatedAtStart;
+    private volatile int count;
+    private volatile long recordedTicks;
+    private volatile Snapshot snapshot;
+    private int index;
+    private boolean running;
+
+    /**
+     * Creates a monitor keeping the given number of ticks.
+     * @param plugin The instance of your main plugin class.
+     * @param sampleSize The number of most recent ticks the percentiles are calculated from, for example 1200 for one minute.
+     */
+    public TickMonitor(Plugin plugin, int sampleSize) {
+        if (sampleSize < 1) throw new IllegalArgumentException("The sample size must be positive.");
+
+        this.plugin = plugin;
+        this.durations = new long[sampleSize];
+        this.allocations = new long[sampleSize];
+
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        this.threadBean = bean instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemorySupported() ? sunBean : null;
+    }
+
+    /**
+     * Starts recording ticks and exports the percentiles to {@link Core#metrics}.
+     */
+    public void start() {
+        if (this.running) return;
+
+        this.running = true;
+        this.plugin.getServer().getPluginManager().registerEvents(this, this.plugin);
+
+        for (double quantile : QUANTILES) {
+            Core.metrics.gauge("core_tick_duration_seconds", "Server tick duration over the recent ticks.", () -> this.getSnapshot().getDurationNanos(quantile) / 1_000_000_000.0, "quantile", String.valueOf(quantile));
+            Core.metrics.gauge("core_tick_allocated_bytes", "Bytes allocated by the main thread per tick over the recent ticks.", () -> this.getSnapshot().getAllocatedBytes(quantile), "quantile", String.valueOf(quantile));
+        }
+    }
+
+    /**
+     * Stops recording ticks and removes the exported metrics.
+     */
+    public void stop() {
+        if (!this.running) return;
+
+        this.running = false;
+        HandlerList.unregisterAll(this);
+
+        for (double quantile : QUANTILES) {
+            Core.metrics.remove("core_tick_duration_seconds", "quantile", String.valueOf(quantile));
+            Core.metrics.remove("core_tick_allocated_bytes", "quantile", String.valueOf(quantile));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onTickStart(ServerTickStartEvent event) {
+        this.allocatedAtStart = this.allocatedBytes();
+        this.tickStart = System.nanoTime();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(ServerTickEndEvent event) {
+        if (this.tickStart == 0) return;
+
+        long duration = System.nanoTime() - this.tickStart;
+        long allocated = this.threadBean == null ? -1 : this.allocatedBytes() - this.allocatedAtStart;
+
+        this.durations[this.index] = duration;
+        this.allocations[this.index] = allocated;
+        this.index = (this.index + 1) % this.durations.length;
+
+        if (this.count < this.durations.length) this.count++;
+        this.recordedTicks++;
+    }
+
+    /**
+     * Calculates the percentiles of the recorded ticks. May be called from any thread.
+     * <p>The snapshot is only recalculated once a new tick has been recorded, so all percentiles of a scrape share one copy.</p>
+     * @return The snapshot.
+     */
+    public Snapshot getSnapshot() {
+        Snapshot snapshot = this.snapshot;
+        long ticks = this.recordedTicks;
+        if (snapshot != null && snapshot.ticks == ticks) return snapshot;
+
+        int count = this.count;
+        long[] durations = Arrays.copyOf(this.durations, count);
+        long[] allocations = Arrays.copyOf(this.allocations, count);
+
+        Arrays.sort(durations);
+        Arrays.sort(allocations);
+
+        snapshot = new Snapshot(ticks, durations, allocations);
+        this.snapshot = snapshot;
+
+        return snapshot;
+    }
+
+    /**
+     * Stores the current percentiles as the baseline under the given path and saves the config.
+     * @param config The config holding the baseline.
+     * @param path The path of the baseline section.
+     * @throws IllegalStateException if no ticks have been recorded yet.
+     */
+    public void saveBaseline(Config config, String path) {
+        Snapshot snapshot = this.getSnapshot();
+        if (snapshot.getTickCount() == 0) throw new IllegalStateException("No ticks have been recorded yet.");
+
+        for (double quantile : QUANTILES) {
+            config.set(path + ".duration-nanos." + percentileKey(quantile), snapshot.getDurationNanos(quantile));
+            config.set(path + ".allocated-bytes." + percentileKey(quantile), snapshot.getAllocatedBytes(quantile));
+        }
+
+        config.save();
+    }
+
+    /**
+     * Compares the current percentiles against the baseline stored under the given path and logs every regression.
+     * @param config The config holding the baseline.
+     * @param path The path of the baseline section.
+     * @param tolerance The allowed relative increase, for example {@code 0.1} for ten percent.
+     * @return A description of every percentile exceeding its baseline by more than the tolerance. Empty if none regressed.
+     * @throws IllegalStateException if no ticks have been recorded yet.
+     */
+    public List<String> checkBaseline(Config config, String path, double tolerance) {
+        Snapshot snapshot = this.getSnapshot();
+        if (snapshot.getTickCount() == 0) throw new IllegalStateException("No ticks have been recorded yet.");
+
+        List<String> regressions = new ArrayList<>();
+
+        for (double quantile : QUANTILES) {
+            String key = percentileKey(quantile);
+            long baselineDuration = config.getLong(path + ".duration-nanos." + key, -1);
+            long baselineAllocation = config.getLong(path + ".allocated-bytes." + key, -1);
+
+            if (baselineDuration > 0 && snapshot.getDurationNanos(quantile) > baselineDuration * (1 + tolerance)) {
+                regressions.add(String.format("%s tick duration %.2f ms exceeds the baseline of %.2f ms", key, snapshot.getDurationNanos(quantile) / 1_000_000.0, baselineDuration / 1_000_000.0));
+            }
+
+            if (baselineAllocation > 0 && snapshot.getAllocatedBytes(quantile) > baselineAllocation * (1 + tolerance)) {
+                regressions.add(String.format("%s tick allocation %d bytes exceeds the baseline of %d bytes", key, snapshot.getAllocatedBytes(quantile), baselineAllocation));
+            }
+        }
+
+        for (String regression : regressions) Core.logger.warning("Tick regression: {}.", regression);
+
+        return regressions;
+    }
+
+    private static String percentileKey(double quantile) {
+        return "p" + Math.round(quantile * 100);
+    }
+
+    private long allocatedBytes() {
+        return this.threadBean == null ? 0 : this.threadBean.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Sorted tick samples at a point in time.
+     */
+    public static final class Snapshot {
+        private final long ticks;
+        private final long[] durations;
+        private final long[] allocations;
+
+        private Snapshot(long ticks, long[] durations, long[] allocations) {
+            this.ticks = ticks;
+            this.durations = durations;
+            this.allocations = allocations;
+        }
+
+        /**
+         * @return The number of ticks in this snapshot.
+         */
+        public int getTickCount() {
+            return this.durations.length;
+        }
+
+        /**
+         * Returns a tick duration percentile.
+         * @param quantile The quantile between 0 and 1, for example {@code 0.95}.
+         * @return The duration in nanoseconds, or 0 if no ticks have been recorded.
+         */
+        public long getDurationNanos(double quantile) {
+            return percentile(this.durations, quantile);
+        }
+
+        /**
+         * Returns a percentile of the bytes allocated by the main thread per tick.
+         * @param quantile The quantile between 0 and 1, for example {@code 0.95}.
+         * @return The allocated bytes, -1 if unsupported or 0 if no ticks have been recorded.
+         */
+        public long getAllocatedBytes(double quantile) {
+            return percentile(this.allocations, quantile);
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) return 0;
+
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+    }
+}
@@ -1,12 +1,33 @@
 package me.hhappa0.core.plugin;
 
+import me.hhappa0.core.bootstrap.Bootstrap;
 import me.hhappa0.core.bootstrap.Core;
 import me.hhappa0.core.bootstrap.CoreInitializer;
+import me.hhappa0.core.command.BaseCommand;
 import me.hhappa0.core.config.Config;
+import me.hhappa0.core.logging.OverflowPolicy;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.event.Listener;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
 public abstract class CorePlugin extends JavaPlugin {
+    /** The bootstrap stage initializing the Core library. */
+    public static final String STAGE_CORE = "core";
+    /** The bootstrap stage scanning the commands package. */
+    public static final String STAGE_SCAN_COMMANDS = "scan-commands";
+    /** The bootstrap stage scanning the listeners package. */
+    public static final String STAGE_SCAN_LISTENERS = "scan-listeners";
+    /** The bootstrap stage registering the scanned commands. */
+    public static final String STAGE_COMMANDS = "commands";
+    /** The bootstrap stage registering the scanned listeners. */
+    public static final String STAGE_LISTENERS = "listeners";
+    /** The bootstrap stage calling {@link #startup()}, which runs after all other stages. */
+    public static final String STAGE_STARTUP = "startup";
+
     private final String commandsPackageName;
     private final String listenersPackageName;
     private final String noPermissionMessage;
@@ -22,18 +43,90 @@ public abstract class CorePlugin extends JavaPlugin {
 
     public abstract void shutdown();
 
+    /**
+     * Defines whether commands are registered lazily.
+     * <p>Lazy commands are only created on their first use, or one per tick on the main thread once {@link #startup()} has finished.
+     * This keeps commands with expensive constructors from slowing down the startup.</p>
+     * @return {@code true} to register commands lazily.
+     */
+    public boolean isLazyCommandRegistration() {
+        return false;
+    }
+
+    /**
+     * Defines what {@link Core#logger} does when more records are logged than its buffer can hold.
+     * @return {@link OverflowPolicy#DROP} to never block the logging thread, or {@link OverflowPolicy#BLOCK} to never lose records.
+     */
+    public OverflowPolicy getLogOverflowPolicy() {
+        return OverflowPolicy.DROP;
+    }
+
+    /**
+     * Defines the local port serving the Core metrics in the Prometheus text format.
+     * <p>The metrics are served on {@code http://127.0.0.1:<port>/metrics} once {@link #startup()} has finished.</p>
+     * @return The port, or {@code -1} to disable the metrics endpoint.
+     */
+    public int getMetricsPort() {
+        return -1;
+    }
+
+    /**
+     * Declares additional startup tasks, such as config parsing or cache preloading.
+     * <p>Tasks that do not need the main thread should be declared as async tasks so they run in parallel.
+     * Tasks needing the Core library should depend on {@link #STAGE_CORE}. {@link #startup()} runs after all declared tasks.</p>
+     * @param bootstrap The bootstrap of this plugin.
+     */
+    public void bootstrap(Bootstrap bootstrap) {
+    }
+
     @Override
     public void onEnable() {
-        this.core = CoreInitializer.initialize(this, this.noPermissionMessage);
-        if (this.commandsPackageName != null) this.core.registerCommandsIn(this.commandsPackageName);
-        if (this.listenersPackageName != null) this.core.registerListenersIn(this.listenersPackageName);
+        Bootstrap bootstrap = new Bootstrap(this);
+        AtomicReference<Set<Class<? extends BaseCommand>>> commands = new AtomicReference<>();
+        AtomicReference<Set<Class<? extends Listener>>> listeners = new AtomicReference<>();
 
-        startup();
+        bootstrap.task(STAGE_CORE, () -> this.core = CoreInitializer.initialize(this, this.noPermissionMessage, this.getLogOverflowPolicy()));
+
+        if (this.commandsPackageName != null) {
+            bootstrap.asyncTask(STAGE_SCAN_COMMANDS, () -> commands.set(Core.scanCommandsIn(this.commandsPackageName)));
+            bootstrap.task(STAGE_COMMANDS, () -> {
+                if (this.isLazyCommandRegistration()) this.core.registerCommandsLazily(commands.get());
+                else this.core.registerCommands(commands.get());
+            }, STAGE_CORE, STAGE_SCAN_COMMANDS);
+        }
+
+        if (this.listenersPackageName != null) {
+            bootstrap.asyncTask(STAGE_SCAN_LISTENERS, () -> listeners.set(Core.scanListenersIn(this.listenersPackageName)));
+            bootstrap.task(STAGE_LISTENERS, () -> this.core.registerListeners(listeners.get()), STAGE_CORE, STAGE_SCAN_LISTENERS);
+        }
+
+        bootstrap(bootstrap);
+
+        bootstrap.task(STAGE_STARTUP, this::startup, bootstrap.getTaskNames().toArray(String[]::new));
+        bootstrap.run();
+
+        if (this.isLazyCommandRegistration()) this.core.prewarmCommands();
+
+        if (this.getMetricsPort() >= 0) {
+            try {
+                Core.startMetricsServer(this.getMetricsPort());
+            } catch (UncheckedIOException e) {
+                Core.logger.severe("Could not start the metrics server: {}", e.getMessage());
+            }
+        }
     }
 
     @Override
     public void onDisable() {
+        Core.eventSubscriptions.closeAll();
+
         shutdown();
+
+        if (Core.menuSessions != null) Core.menuSessions.closeAll();
+
+        Core.stopMetricsServer();
+
+        if (Core.logger != null) Core.logger.close();
     }
 
     public Core getCore() {
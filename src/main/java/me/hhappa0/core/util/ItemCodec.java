@@ -0,0 +1,132 @@
+package me.hhappa0.core.util;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Encodes {@link ItemStack}s into Paper's compact binary item format instead of Bukkit's YAML maps.
+ *
+ * <p>Single items are stored as the bytes of {@link ItemStack#serializeAsBytes()}. Multiple items, such as the contents of
+ * an inventory, are stored in one length-prefixed block: {@code byte version, int count}, followed by {@code int length,
+ * bytes} per item, where a length of {@code 0} stands for an empty slot. The Base64 methods wrap both formats in a single
+ * string so they can be stored in a YAML file.</p>
+ *
+ * <p>Items are upgraded to the current data version when they are decoded, like with the YAML format.</p>
+ */
+public final class ItemCodec {
+    private static final byte VERSION = 1;
+    private static final byte[] EMPTY = new byte[0];
+
+    private ItemCodec() {}
+
+    /**
+     * Encodes a single item.
+     * @param item The item.
+     * @return The encoded item, or an empty array if the item is {@code null} or empty.
+     */
+    public static byte[] encode(ItemStack item) {
+        if (item == null || item.isEmpty()) return EMPTY;
+
+        return item.serializeAsBytes();
+    }
+
+    /**
+     * Decodes a single item.
+     * @param bytes The encoded item.
+     * @return The item, or {@code null} if the array is empty.
+     */
+    public static ItemStack decode(byte[] bytes) {
+        if (bytes.length == 0) return null;
+
+        return ItemStack.deserializeBytes(bytes);
+    }
+
+    /**
+     * Encodes multiple items into a single block, keeping the position of empty slots.
+     * @param items The items, e.g. the contents of an inventory. Can contain {@code null}s.
+     * @return The encoded items.
+     */
+    public static byte[] encodeAll(ItemStack[] items) {
+        byte[][] encoded = new byte[items.length][];
+        int size = 1 + 4 + 4 * items.length;
+
+        for (int i = 0; i < items.length; i++) {
+            encoded[i] = encode(items[i]);
+            size += encoded[i].length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(VERSION).putInt(items.length);
+
+        for (byte[] item : encoded) {
+            buffer.putInt(item.length).put(item);
+        }
+
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a block of items created with {@link #encodeAll(ItemStack[])}.
+     * @param bytes The encoded items.
+     * @return The items, with {@code null} for empty slots.
+     * @throws IllegalArgumentException if the block is not in the expected format.
+     */
+    public static ItemStack[] decodeAll(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+        if (buffer.remaining() < 5 || buffer.get() != VERSION) throw new IllegalArgumentException("Unknown item block format.");
+
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining() / 4) throw new IllegalArgumentException("Invalid item count " + count + ".");
+
+        ItemStack[] items = new ItemStack[count];
+
+        for (int i = 0; i < count; i++) {
+            int length = buffer.remaining() >= 4 ? buffer.getInt() : -1;
+            if (length < 0 || length > buffer.remaining()) throw new IllegalArgumentException("The item block is truncated.");
+            if (length == 0) continue;
+
+            byte[] item = new byte[length];
+            buffer.get(item);
+            items[i] = ItemStack.deserializeBytes(item);
+        }
+
+        return items;
+    }
+
+    /**
+     * Encodes a single item into a Base64 string.
+     * @see #encode(ItemStack)
+     */
+    public static String toBase64(ItemStack item) {
+        return Base64.getEncoder().encodeToString(encode(item));
+    }
+
+    /**
+     * Decodes a single item from a Base64 string.
+     * @see #decode(byte[])
+     * @throws IllegalArgumentException if the string is not valid Base64.
+     */
+    public static ItemStack fromBase64(String encoded) {
+        return decode(Base64.getDecoder().decode(encoded));
+    }
+
+    /**
+     * Encodes multiple items into a Base64 string.
+     * @see #encodeAll(ItemStack[])
+     */
+    public static String toBase64All(ItemStack[] items) {
+        return Base64.getEncoder().encodeToString(encodeAll(items));
+    }
+
+    /**
+     * Decodes multiple items from a Base64 string.
+     * @see #decodeAll(byte[])
+     * @throws IllegalArgumentException if the string is not valid Base64 or not in the expected format.
+     */
+    public static ItemStack[] fromBase64All(String encoded) {
+        return decodeAll(Base64.getDecoder().decode(encoded));
+    }
+}
@@ -1,19 +1,66 @@
 package me.hhappa0.core.util;
 
+import me.hhappa0.core.bootstrap.Core;
+import me.hhappa0.core.metrics.Histogram;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * A utility class for easily scheduling synchronous and asynchronous tasks.
+ *
+ * <p>On region-threaded servers, work has to run on the thread owning the entity or location it touches. The
+ * {@code runAtEntity}, {@code runAtLocation} and {@code runGlobal} methods route to the region schedulers there and to
+ * the classic main-thread scheduler otherwise, so the same plugin code runs on both. The synchronous methods behave
+ * like their {@code runGlobal} counterparts.</p>
+ *
+ * <p>Scheduled tasks are timed into {@link Core#metrics}, and one-shot tasks that are scheduled but have not run yet are
+ * reported as the scheduler backlog. Tasks cancelled by the server before running stay counted in the backlog.</p>
  */
 public class SchedulerUtil {
+    private static final boolean REGIONIZED_SERVER = isClassPresent("io.papermc.paper.threadedregions.RegionizedServer");
+    private static final long MILLIS_PER_TICK = 50;
+    private static final AtomicLong PENDING_TASKS = new AtomicLong();
+    private static final Histogram SYNC_TIMER = Core.metrics.timer("core_scheduler_task_seconds", "Time spent running scheduled tasks.", "thread", "sync");
+    private static final Histogram ASYNC_TIMER = Core.metrics.timer("core_scheduler_task_seconds", "Time spent running scheduled tasks.", "thread", "async");
+
+    static {
+        Core.metrics.gauge("core_scheduler_pending_tasks", "One-shot tasks scheduled but not run yet.", PENDING_TASKS::get);
+    }
+
     private final Plugin plugin;
+    private final boolean regionized;
 
     /**
      * Creates an instance of the Scheduler Utility.
      * @param plugin The instance of your main plugin class.
      */
     public SchedulerUtil(Plugin plugin) {
+        this(plugin, REGIONIZED_SERVER);
+    }
+
+    /**
+     * Creates an instance of the Scheduler Utility with an explicit scheduling mode.
+     * <p>This allows using the region schedulers on servers that provide them without being region-threaded,
+     * or forcing the classic scheduler when running against a stand-in server.</p>
+     * @param plugin The instance of your main plugin class.
+     * @param regionized Whether to use the region schedulers.
+     */
+    public SchedulerUtil(Plugin plugin, boolean regionized) {
         this.plugin = plugin;
+        this.regionized = regionized;
+    }
+
+    /**
+     * Returns whether this scheduler routes tasks to the region schedulers.
+     * @return {@code true} if the region schedulers are used.
+     */
+    public boolean isRegionized() {
+        return this.regionized;
     }
 
     /**
@@ -22,8 +69,7 @@ public class SchedulerUtil {
      * @param task The Runnable task to execute.
      */
     public void runTaskSync(Runnable task) {
-        if (this.plugin.getServer().isPrimaryThread()) task.run();
-        else this.plugin.getServer().getScheduler().runTask(plugin, task);
+        this.runGlobal(task);
     }
 
     /**
@@ -32,7 +78,10 @@ public class SchedulerUtil {
      * @param task The Runnable task to execute.
      */
     public void runTaskAsync(Runnable task) {
-        this.plugin.getServer().getScheduler().runTaskAsynchronously(plugin, task);
+        Runnable pending = pending(task, ASYNC_TIMER);
+
+        if (this.regionized) this.plugin.getServer().getAsyncScheduler().runNow(plugin, scheduledTask -> pending.run());
+        else this.plugin.getServer().getScheduler().runTaskAsynchronously(plugin, pending);
     }
 
     /**
@@ -42,7 +91,7 @@ public class SchedulerUtil {
      * @param delayTicks The delay in server ticks (20 ticks = 1 second).
      */
     public void runTaskLaterSync(Runnable task, long delayTicks) {
-        this.plugin.getServer().getScheduler().runTaskLater(plugin, task, delayTicks);
+        this.runGlobalLater(task, delayTicks);
     }
 
     /**
@@ -52,7 +101,10 @@ public class SchedulerUtil {
      * @param delayTicks The delay in server ticks (20 ticks = 1 second).
      */
     public void runTaskLaterAsync(Runnable task, long delayTicks) {
-        this.plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, task, delayTicks);
+        Runnable pending = pending(task, ASYNC_TIMER);
+
+        if (this.regionized) this.plugin.getServer().getAsyncScheduler().runDelayed(plugin, scheduledTask -> pending.run(), delayTicks * MILLIS_PER_TICK, TimeUnit.MILLISECONDS);
+        else this.plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, pending, delayTicks);
     }
 
     /**
@@ -63,7 +115,7 @@ public class SchedulerUtil {
      * @param periodTicks The interval between executions in server ticks (20 ticks = 1 second).
      */
     public void runTaskTimerSync(Runnable task, long delayTicks, long periodTicks) {
-        this.plugin.getServer().getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks);
+        this.runGlobalTimer(task, delayTicks, periodTicks);
     }
 
     /**
@@ -74,6 +126,222 @@ public class SchedulerUtil {
      * @param periodTicks The interval between executions in server ticks (20 ticks = 1 second).
      */
     public void runTaskTimerAsync(Runnable task, long delayTicks, long periodTicks) {
-        this.plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, task, delayTicks, periodTicks);
+        Runnable timed = timed(task, ASYNC_TIMER);
+
+        if (this.regionized) this.plugin.getServer().getAsyncScheduler().runAtFixedRate(plugin, scheduledTask -> timed.run(), Math.max(1, delayTicks * MILLIS_PER_TICK), Math.max(1, periodTicks) * MILLIS_PER_TICK, TimeUnit.MILLISECONDS);
+        else this.plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, timed, delayTicks, periodTicks);
+    }
+
+    /**
+     * Runs a task on the global region (the main server thread on classic servers) immediately.
+     * <p>The task runs directly if the calling thread already is the global region or main thread.</p>
+     *
+     * @param task The Runnable task to execute.
+     */
+    public void runGlobal(Runnable task) {
+        if (this.regionized) {
+            if (this.plugin.getServer().isGlobalTickThread()) task.run();
+            else this.plugin.getServer().getGlobalRegionScheduler().execute(plugin, pending(task, SYNC_TIMER));
+        } else {
+            if (this.plugin.getServer().isPrimaryThread()) task.run();
+            else this.plugin.getServer().getScheduler().runTask(plugin, pending(task, SYNC_TIMER));
+        }
+    }
+
+    /**
+     * Runs a task on the global region (the main server thread on classic servers) after a specified delay.
+     *
+     * @param task The Runnable task to execute.
+     * @param delayTicks The delay in server ticks (20 ticks = 1 second).
+     */
+    public void runGlobalLater(Runnable task, long delayTicks) {
+        Runnable pending = pending(task, SYNC_TIMER);
+
+        if (this.regionized) this.plugin.getServer().getGlobalRegionScheduler().runDelayed(plugin, scheduledTask -> pending.run(), Math.max(1, delayTicks));
+        else this.plugin.getServer().getScheduler().runTaskLater(plugin, pending, delayTicks);
+    }
+
+    /**
+     * Schedules a task to run on the global region (the main server thread on classic servers) at regular intervals.
+     *
+     * @param task The Runnable task to execute repeatedly.
+     * @param delayTicks The initial delay before the first execution in server ticks (20 ticks = 1 second).
+     * @param periodTicks The interval between executions in server ticks (20 ticks = 1 second).
+     */
+    public void runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        Runnable timed = timed(task, SYNC_TIMER);
+
+        if (this.regionized) this.plugin.getServer().getGlobalRegionScheduler().runAtFixedRate(plugin, scheduledTask -> timed.run(), Math.max(1, delayTicks), Math.max(1, periodTicks));
+        else this.plugin.getServer().getScheduler().runTaskTimer(plugin, timed, delayTicks, periodTicks);
+    }
+
+    /**
+     * Runs a task on the thread owning the location immediately.
+     * <p>The task runs directly if the calling thread already owns the location.</p>
+     *
+     * @param location The location the task works with.
+     * @param task The Runnable task to execute.
+     */
+    public void runAtLocation(Location location, Runnable task) {
+        if (this.regionized) {
+            if (this.plugin.getServer().isOwnedByCurrentRegion(location)) task.run();
+            else this.plugin.getServer().getRegionScheduler().execute(plugin, location, pending(task, SYNC_TIMER));
+        } else {
+            this.runGlobal(task);
+        }
+    }
+
+    /**
+     * Runs a task on the thread owning the location after a specified delay.
+     *
+     * @param location The location the task works with.
+     * @param task The Runnable task to execute.
+     * @param delayTicks The delay in server ticks (20 ticks = 1 second).
+     */
+    public void runAtLocationLater(Location location, Runnable task, long delayTicks) {
+        if (this.regionized) {
+            Runnable pending = pending(task, SYNC_TIMER);
+
+            this.plugin.getServer().getRegionScheduler().runDelayed(plugin, location, scheduledTask -> pending.run(), Math.max(1, delayTicks));
+        } else {
+            this.runGlobalLater(task, delayTicks);
+        }
+    }
+
+    /**
+     * Schedules a task to run on the thread owning the location at regular intervals.
+     *
+     * @param location The location the task works with.
+     * @param task The Runnable task to execute repeatedly.
+     * @param delayTicks The initial delay before the first execution in server ticks (20 ticks = 1 second).
+     * @param periodTicks The interval between executions in server ticks (20 ticks = 1 second).
+     */
+    public void runAtLocationTimer(Location location, Runnable task, long delayTicks, long periodTicks) {
+        if (this.regionized) {
+            Runnable timed = timed(task, SYNC_TIMER);
+
+            this.plugin.getServer().getRegionScheduler().runAtFixedRate(plugin, location, scheduledTask -> timed.run(), Math.max(1, delayTicks), Math.max(1, periodTicks));
+        } else {
+            this.runGlobalTimer(task, delayTicks, periodTicks);
+        }
+    }
+
+    /**
+     * Runs a task on the thread owning the entity immediately.
+     * <p>The task runs directly if the calling thread already owns the entity.</p>
+     *
+     * @param entity The entity the task works with.
+     * @param task The Runnable task to execute.
+     */
+    public void runAtEntity(Entity entity, Runnable task) {
+        this.runAtEntity(entity, task, null);
+    }
+
+    /**
+     * Runs a task on the thread owning the entity immediately.
+     *
+     * @param entity The entity the task works with.
+     * @param task The Runnable task to execute.
+     * @param retired The Runnable executed instead if the entity was removed before the task could run. Can be null.
+     */
+    public void runAtEntity(Entity entity, Runnable task, Runnable retired) {
+        if (this.regionized) {
+            if (this.plugin.getServer().isOwnedByCurrentRegion(entity)) task.run();
+            else if (!entity.getScheduler().execute(plugin, timed(task, SYNC_TIMER), retired, 1) && retired != null) retired.run();
+        } else {
+            this.runGlobal(() -> this.runIfScheduled(entity, task, retired));
+        }
+    }
+
+    /**
+     * Runs a task on the thread owning the entity after a specified delay.
+     *
+     * @param entity The entity the task works with.
+     * @param task The Runnable task to execute.
+     * @param retired The Runnable executed instead if the entity was removed before the task could run. Can be null.
+     * @param delayTicks The delay in server ticks (20 ticks = 1 second).
+     */
+    public void runAtEntityLater(Entity entity, Runnable task, Runnable retired, long delayTicks) {
+        if (this.regionized) {
+            Runnable timed = timed(task, SYNC_TIMER);
+
+            if (entity.getScheduler().runDelayed(plugin, scheduledTask -> timed.run(), retired, Math.max(1, delayTicks)) == null && retired != null) retired.run();
+        } else {
+            this.runGlobalLater(() -> this.runIfScheduled(entity, task, retired), delayTicks);
+        }
+    }
+
+    /**
+     * Schedules a task to run on the thread owning the entity at regular intervals, until the entity is removed.
+     *
+     * @param entity The entity the task works with.
+     * @param task The Runnable task to execute repeatedly.
+     * @param retired The Runnable executed once the entity was removed. Can be null.
+     * @param delayTicks The initial delay before the first execution in server ticks (20 ticks = 1 second).
+     * @param periodTicks The interval between executions in server ticks (20 ticks = 1 second).
+     */
+    public void runAtEntityTimer(Entity entity, Runnable task, Runnable retired, long delayTicks, long periodTicks) {
+        Runnable timed = timed(task, SYNC_TIMER);
+
+        if (this.regionized) {
+            if (entity.getScheduler().runAtFixedRate(plugin, scheduledTask -> timed.run(), retired, Math.max(1, delayTicks), Math.max(1, periodTicks)) == null && retired != null) retired.run();
+        } else {
+            this.plugin.getServer().getScheduler().runTaskTimer(plugin, bukkitTask -> {
+                if (isScheduled(entity)) {
+                    timed.run();
+                } else {
+                    bukkitTask.cancel();
+
+                    if (retired != null) retired.run();
+                }
+            }, delayTicks, periodTicks);
+        }
+    }
+
+    private void runIfScheduled(Entity entity, Runnable task, Runnable retired) {
+        if (isScheduled(entity)) task.run();
+        else if (retired != null) retired.run();
+    }
+
+    /**
+     * Returns whether an entity still has its scheduler on region-threaded servers, which retire it only once the entity
+     * is removed. Unlike {@link Entity#isValid()}, this stays true for dead players until they quit and for dead entities
+     * until they are removed.
+     */
+    private static boolean isScheduled(Entity entity) {
+        if (entity instanceof Player player) return player.isOnline();
+
+        return entity.isValid() || entity.isDead() && entity.isInWorld();
+    }
+
+    private static Runnable pending(Runnable task, Histogram timer) {
+        Runnable timed = timed(task, timer);
+        PENDING_TASKS.incrementAndGet();
+
+        return () -> {
+            PENDING_TASKS.decrementAndGet();
+            timed.run();
+        };
+    }
+
+    private static Runnable timed(Runnable task, Histogram timer) {
+        return () -> {
+            long start = System.nanoTime();
+
+            try {
+                task.run();
+            } finally {
+                timer.observeNanos(System.nanoTime() - start);
+            }
+        };
+    }
+
+    private static boolean isClassPresent(String className) {
+        try {
+            Class.forName(className);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
     }
 }
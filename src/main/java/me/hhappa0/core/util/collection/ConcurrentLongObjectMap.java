@@ -0,0 +1,180 @@
+package me.hhappa0.core.util.collection;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongFunction;
+
+/**
+ * A thread-safe {@link LongObjectMap}, split into independently locked stripes. Useful for per-chunk or per-block
+ * state keyed by a packed coordinate, for example {@link org.bukkit.Chunk#getChunkKey()}.
+ *
+ * <p>Each stripe is a {@link LongObjectMap} guarded by its own {@link StampedLock}, so threads working with different keys
+ * rarely contend, and readers of the same stripe do not block each other.</p>
+ *
+ * @param <V> The type of the values.
+ */
+public class ConcurrentLongObjectMap<V> {
+    private final LongObjectMap<V>[] stripes;
+    private final StampedLock[] locks;
+    private final int stripeMask;
+
+    /**
+     * Creates an empty map with one stripe per available processor, rounded up to a power of two.
+     */
+    public ConcurrentLongObjectMap() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an empty map.
+     * @param concurrency The expected number of concurrently writing threads, rounded up to a power of two stripes.
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentLongObjectMap(int concurrency) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(concurrency, 1 << 16)) * 2 - 1);
+
+        this.stripes = new LongObjectMap[stripeCount];
+        this.locks = new StampedLock[stripeCount];
+        this.stripeMask = stripeCount - 1;
+
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new LongObjectMap<>();
+            this.locks[i] = new StampedLock();
+        }
+    }
+
+    /**
+     * Returns the value of a key.
+     * @param key The key.
+     * @return The value, or {@code null} if the key is not present.
+     */
+    public V get(long key) {
+        int stripe = this.stripe(key);
+        StampedLock lock = this.locks[stripe];
+        long stamp = lock.readLock();
+
+        try {
+            return this.stripes[stripe].get(key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @param key The key.
+     * @return Whether the key is present.
+     */
+    public boolean containsKey(long key) {
+        return this.get(key) != null;
+    }
+
+    /**
+     * Associates a value with a key.
+     * @param key The key.
+     * @param value The value. Must not be {@code null}.
+     * @return The previous value, or {@code null} if the key was not present.
+     */
+    public V put(long key, V value) {
+        int stripe = this.stripe(key);
+        StampedLock lock = this.locks[stripe];
+        long stamp = lock.writeLock();
+
+        try {
+            return this.stripes[stripe].put(key, value);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the value of a key, creating and inserting it atomically if the key is not present.
+     * <p>The factory runs while the key's stripe is locked and must not access this map.</p>
+     * @param key The key.
+     * @param factory Creates the value for an absent key. Must not return {@code null}.
+     * @return The present or created value.
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> factory) {
+        V value = this.get(key);
+        if (value != null) return value;
+
+        int stripe = this.stripe(key);
+        StampedLock lock = this.locks[stripe];
+        long stamp = lock.writeLock();
+
+        try {
+            return this.stripes[stripe].computeIfAbsent(key, factory);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes a key.
+     * @param key The key.
+     * @return The removed value, or {@code null} if the key was not present.
+     */
+    public V remove(long key) {
+        int stripe = this.stripe(key);
+        StampedLock lock = this.locks[stripe];
+        long stamp = lock.writeLock();
+
+        try {
+            return this.stripes[stripe].remove(key);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return The number of entries. Not a snapshot if the map is modified concurrently.
+     */
+    public int size() {
+        int size = 0;
+
+        for (int stripe = 0; stripe < this.stripes.length; stripe++) {
+            long stamp = this.locks[stripe].readLock();
+
+            try {
+                size += this.stripes[stripe].size();
+            } finally {
+                this.locks[stripe].unlockRead(stamp);
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        for (int stripe = 0; stripe < this.stripes.length; stripe++) {
+            long stamp = this.locks[stripe].writeLock();
+
+            try {
+                this.stripes[stripe].clear();
+            } finally {
+                this.locks[stripe].unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Calls the consumer for every entry, one stripe at a time while it is read-locked. The consumer must not modify this map.
+     * @param consumer The consumer.
+     */
+    public void forEach(LongObjectMap.EntryConsumer<? super V> consumer) {
+        for (int stripe = 0; stripe < this.stripes.length; stripe++) {
+            long stamp = this.locks[stripe].readLock();
+
+            try {
+                this.stripes[stripe].forEach(consumer);
+            } finally {
+                this.locks[stripe].unlockRead(stamp);
+            }
+        }
+    }
+
+    private int stripe(long key) {
+        return (Hashing.mix(key) >>> 16) & this.stripeMask;
+    }
+}
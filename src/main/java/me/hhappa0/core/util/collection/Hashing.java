@@ -0,0 +1,60 @@
+package me.hhappa0.core.util.collection;
+
+/**
+ * Hashing and sizing helpers shared by the open-addressing collections.
+ */
+final class Hashing {
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private Hashing() {
+    }
+
+    static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    static int mix(long key) {
+        return mix((int) (key ^ (key >>> 32)));
+    }
+
+    static int mix(long most, long least) {
+        return mix(most * 31 + least);
+    }
+
+    /**
+     * Returns the power of two table size holding the expected number of entries below the maximum load factor.
+     */
+    static int tableSize(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("The expected size can not be negative.");
+
+        long minimum = Math.max(4, (long) Math.ceil(expectedSize / 0.75));
+        if (minimum > MAX_CAPACITY) throw new IllegalArgumentException("The expected size " + expectedSize + " is too large.");
+
+        return Integer.highestOneBit((int) minimum - 1) << 1;
+    }
+
+    /**
+     * Returns the largest number of entries a table of the given size holds. The table grows once it exceeds it, and at
+     * least one slot always stays free, so probes terminate.
+     */
+    static int resizeThreshold(int capacity) {
+        return capacity == MAX_CAPACITY ? capacity - 2 : capacity - (capacity >>> 2);
+    }
+
+    /**
+     * Returns the table size after growing a full table.
+     */
+    static int grow(int capacity) {
+        if (capacity == MAX_CAPACITY) throw new IllegalStateException("The collection can not grow beyond " + MAX_CAPACITY + " slots.");
+
+        return capacity << 1;
+    }
+
+    /**
+     * Returns whether the entry at {@code slot}, whose ideal slot is {@code ideal}, may move back into {@code gap}.
+     */
+    static boolean canShift(int ideal, int gap, int slot, int mask) {
+        return ((slot - ideal) & mask) >= ((slot - gap) & mask);
+    }
+}
@@ -0,0 +1,246 @@
+package me.hhappa0.core.util.collection;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * A map from {@code int} keys to values, using open addressing with linear probing.
+ *
+ * <p>Keys are kept in a primitive array, so lookups neither box the key nor follow entry nodes. Removing an entry shifts
+ * the following entries back instead of leaving a tombstone, so lookups stay short after many removals.</p>
+ *
+ * <p>Values must not be {@code null}. This class is not thread-safe.</p>
+ *
+ * @param <V> The type of the values.
+ */
+public class IntObjectMap<V> {
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int resizeAt;
+    private int size;
+
+    /**
+     * Creates an empty map.
+     */
+    public IntObjectMap() {
+        this(8);
+    }
+
+    /**
+     * Creates an empty map that holds the given number of entries without growing.
+     * @param expectedSize The expected number of entries.
+     */
+    public IntObjectMap(int expectedSize) {
+        this.allocate(Hashing.tableSize(expectedSize));
+    }
+
+    /**
+     * @return The number of entries.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return Whether the map has no entries.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the value of a key.
+     * @param key The key.
+     * @return The value, or {@code null} if the key is not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int slot = Hashing.mix(key) & this.mask;
+        Object value;
+
+        while ((value = this.values[slot]) != null) {
+            if (this.keys[slot] == key) return (V) value;
+
+            slot = (slot + 1) & this.mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the value of a key, or the default value if the key is not present.
+     * @param key The key.
+     * @param defaultValue The value returned if the key is not present.
+     * @return The value.
+     */
+    public V getOrDefault(int key, V defaultValue) {
+        V value = this.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * @param key The key.
+     * @return Whether the key is present.
+     */
+    public boolean containsKey(int key) {
+        return this.get(key) != null;
+    }
+
+    /**
+     * Associates a value with a key.
+     * @param key The key.
+     * @param value The value. Must not be {@code null}.
+     * @return The previous value, or {@code null} if the key was not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        Objects.requireNonNull(value, "value");
+
+        int slot = Hashing.mix(key) & this.mask;
+        Object current;
+
+        while ((current = this.values[slot]) != null) {
+            if (this.keys[slot] == key) {
+                this.values[slot] = value;
+                return (V) current;
+            }
+
+            slot = (slot + 1) & this.mask;
+        }
+
+        this.keys[slot] = key;
+        this.values[slot] = value;
+
+        if (++this.size > this.resizeAt) this.rehash(Hashing.grow(this.values.length));
+
+        return null;
+    }
+
+    /**
+     * Returns the value of a key, creating and inserting it if the key is not present.
+     * @param key The key.
+     * @param factory Creates the value for an absent key. Must not return {@code null}.
+     * @return The present or created value.
+     */
+    public V computeIfAbsent(int key, IntFunction<? extends V> factory) {
+        V value = this.get(key);
+        if (value != null) return value;
+
+        value = factory.apply(key);
+        this.put(key, value);
+
+        return value;
+    }
+
+    /**
+     * Removes a key.
+     * @param key The key.
+     * @return The removed value, or {@code null} if the key was not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int slot = Hashing.mix(key) & this.mask;
+        Object value;
+
+        while ((value = this.values[slot]) != null) {
+            if (this.keys[slot] == key) {
+                this.shiftBack(slot);
+                this.size--;
+                return (V) value;
+            }
+
+            slot = (slot + 1) & this.mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes all entries. The table keeps its size.
+     */
+    public void clear() {
+        if (this.size == 0) return;
+
+        Arrays.fill(this.values, null);
+        this.size = 0;
+    }
+
+    /**
+     * Calls the consumer for every entry. The map must not be modified meanwhile.
+     * @param consumer The consumer.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> consumer) {
+        for (int slot = 0; slot < this.values.length; slot++) {
+            Object value = this.values[slot];
+
+            if (value != null) consumer.accept(this.keys[slot], (V) value);
+        }
+    }
+
+    /**
+     * @return The keys in no particular order.
+     */
+    public int[] keys() {
+        int[] result = new int[this.size];
+        int index = 0;
+
+        for (int slot = 0; slot < this.values.length; slot++) {
+            if (this.values[slot] != null) result[index++] = this.keys[slot];
+        }
+
+        return result;
+    }
+
+    private void shiftBack(int gap) {
+        int slot = gap;
+
+        while (true) {
+            slot = (slot + 1) & this.mask;
+            if (this.values[slot] == null) break;
+
+            if (Hashing.canShift(Hashing.mix(this.keys[slot]) & this.mask, gap, slot, this.mask)) {
+                this.keys[gap] = this.keys[slot];
+                this.values[gap] = this.values[slot];
+                gap = slot;
+            }
+        }
+
+        this.values[gap] = null;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+
+        this.allocate(capacity);
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) continue;
+
+            int slot = Hashing.mix(oldKeys[i]) & this.mask;
+            while (this.values[slot] != null) slot = (slot + 1) & this.mask;
+
+            this.keys[slot] = oldKeys[i];
+            this.values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.resizeAt = Hashing.resizeThreshold(capacity);
+    }
+
+    /**
+     * Receives the entries of an {@link IntObjectMap}.
+     * @param <V> The type of the values.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+}
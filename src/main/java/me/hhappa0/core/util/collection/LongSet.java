@@ -0,0 +1,197 @@
+package me.hhappa0.core.util.collection;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of {@code long} values, using open addressing with linear probing.
+ *
+ * <p>Values are kept in a primitive array without boxing. Zero marks a free slot, so the value zero is tracked by a
+ * separate flag. This class is not thread-safe.</p>
+ */
+public class LongSet {
+    private long[] keys;
+    private int mask;
+    private int resizeAt;
+    private int size;
+    private boolean containsZero;
+
+    /**
+     * Creates an empty set.
+     */
+    public LongSet() {
+        this(8);
+    }
+
+    /**
+     * Creates an empty set that holds the given number of values without growing.
+     * @param expectedSize The expected number of values.
+     */
+    public LongSet(int expectedSize) {
+        this.allocate(Hashing.tableSize(expectedSize));
+    }
+
+    /**
+     * @return The number of values.
+     */
+    public int size() {
+        return this.containsZero ? this.size + 1 : this.size;
+    }
+
+    /**
+     * @return Whether the set has no values.
+     */
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * @param value The value.
+     * @return Whether the value is present.
+     */
+    public boolean contains(long value) {
+        if (value == 0) return this.containsZero;
+
+        int slot = Hashing.mix(value) & this.mask;
+        long key;
+
+        while ((key = this.keys[slot]) != 0) {
+            if (key == value) return true;
+
+            slot = (slot + 1) & this.mask;
+        }
+
+        return false;
+    }
+
+    /**
+     * Adds a value.
+     * @param value The value.
+     * @return {@code true} if the value was not present yet.
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            boolean added = !this.containsZero;
+            this.containsZero = true;
+            return added;
+        }
+
+        int slot = Hashing.mix(value) & this.mask;
+        long key;
+
+        while ((key = this.keys[slot]) != 0) {
+            if (key == value) return false;
+
+            slot = (slot + 1) & this.mask;
+        }
+
+        this.keys[slot] = value;
+
+        if (++this.size > this.resizeAt) this.rehash(Hashing.grow(this.keys.length));
+
+        return true;
+    }
+
+    /**
+     * Removes a value.
+     * @param value The value.
+     * @return {@code true} if the value was present.
+     */
+    public boolean remove(long value) {
+        if (value == 0) {
+            boolean removed = this.containsZero;
+            this.containsZero = false;
+            return removed;
+        }
+
+        int slot = Hashing.mix(value) & this.mask;
+        long key;
+
+        while ((key = this.keys[slot]) != 0) {
+            if (key == value) {
+                this.shiftBack(slot);
+                this.size--;
+                return true;
+            }
+
+            slot = (slot + 1) & this.mask;
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes all values. The table keeps its size.
+     */
+    public void clear() {
+        if (this.size > 0) Arrays.fill(this.keys, 0);
+
+        this.size = 0;
+        this.containsZero = false;
+    }
+
+    /**
+     * Calls the consumer for every value. The set must not be modified meanwhile.
+     * @param consumer The consumer.
+     */
+    public void forEach(LongConsumer consumer) {
+        if (this.containsZero) consumer.accept(0);
+
+        for (long key : this.keys) {
+            if (key != 0) consumer.accept(key);
+        }
+    }
+
+    /**
+     * @return The values in no particular order.
+     */
+    public long[] toArray() {
+        long[] result = new long[this.size()];
+        int index = 0;
+
+        if (this.containsZero) result[index++] = 0;
+
+        for (long key : this.keys) {
+            if (key != 0) result[index++] = key;
+        }
+
+        return result;
+    }
+
+    private void shiftBack(int gap) {
+        int slot = gap;
+
+        while (true) {
+            slot = (slot + 1) & this.mask;
+            if (this.keys[slot] == 0) break;
+
+            if (Hashing.canShift(Hashing.mix(this.keys[slot]) & this.mask, gap, slot, this.mask)) {
+                this.keys[gap] = this.keys[slot];
+                gap = slot;
+            }
+        }
+
+        this.keys[gap] = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = this.keys;
+
+        this.allocate(capacity);
+
+        for (long key : oldKeys) {
+            if (key == 0) continue;
+
+            int slot = Hashing.mix(key) & this.mask;
+            while (this.keys[slot] != 0) slot = (slot + 1) & this.mask;
+
+            this.keys[slot] = key;
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.mask = capacity - 1;
+        this.resizeAt = Hashing.resizeThreshold(capacity);
+    }
+}
@@ -0,0 +1,275 @@
+package me.hhappa0.core.util.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A map from {@link UUID} keys to values, using open addressing with linear probing.
+ *
+ * <p>The two halves of each key are stored inline in primitive arrays, so the map keeps no reference to the key objects
+ * and lookups compare two longs instead of calling {@link UUID#equals(Object)} on a chain of entry nodes. This makes it
+ * a good fit for per-player state.</p>
+ *
+ * <p>Values must not be {@code null}. This class is not thread-safe, see {@link ConcurrentUuidMap} for a concurrent variant.</p>
+ *
+ * @param <V> The type of the values.
+ */
+public class UuidMap<V> {
+    private long[] mostBits;
+    private long[] leastBits;
+    private Object[] values;
+    private int mask;
+    private int resizeAt;
+    private int size;
+
+    /**
+     * Creates an empty map.
+     */
+    public UuidMap() {
+        this(8);
+    }
+
+    /**
+     * Creates an empty map that holds the given number of entries without growing.
+     * @param expectedSize The expected number of entries.
+     */
+    public UuidMap(int expectedSize) {
+        this.allocate(Hashing.tableSize(expectedSize));
+    }
+
+    /**
+     * @return The number of entries.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return Whether the map has no entries.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the value of a key.
+     * @param key The key.
+     * @return The value, or {@code null} if the key is not present.
+     */
+    public V get(UUID key) {
+        return this.get(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    /**
+     * Returns the value of the key with the given bits.
+     * @param most The most significant bits of the key.
+     * @param least The least significant bits of the key.
+     * @return The value, or {@code null} if the key is not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long most, long least) {
+        int slot = Hashing.mix(most, least) & this.mask;
+        Object value;
+
+        while ((value = this.values[slot]) != null) {
+            if (this.mostBits[slot] == most && this.leastBits[slot] == least) return (V) value;
+
+            slot = (slot + 1) & this.mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * @param key The key.
+     * @return Whether the key is present.
+     */
+    public boolean containsKey(UUID key) {
+        return this.get(key) != null;
+    }
+
+    /**
+     * Associates a value with a key.
+     * @param key The key.
+     * @param value The value. Must not be {@code null}.
+     * @return The previous value, or {@code null} if the key was not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(UUID key, V value) {
+        Objects.requireNonNull(value, "value");
+
+        long most = key.getMostSignificantBits();
+        long least = key.getLeastSignificantBits();
+        int slot = Hashing.mix(most, least) & this.mask;
+        Object current;
+
+        while ((current = this.values[slot]) != null) {
+            if (this.mostBits[slot] == most && this.leastBits[slot] == least) {
+                this.values[slot] = value;
+                return (V) current;
+            }
+
+            slot = (slot + 1) & this.mask;
+        }
+
+        this.mostBits[slot] = most;
+        this.leastBits[slot] = least;
+        this.values[slot] = value;
+
+        if (++this.size > this.resizeAt) this.rehash(Hashing.grow(this.values.length));
+
+        return null;
+    }
+
+    /**
+     * Returns the value of a key, creating and inserting it if the key is not present.
+     * @param key The key.
+     * @param factory Creates the value for an absent key. Must not return {@code null}.
+     * @return The present or created value.
+     */
+    public V computeIfAbsent(UUID key, Function<? super UUID, ? extends V> factory) {
+        V value = this.get(key);
+        if (value != null) return value;
+
+        value = factory.apply(key);
+        this.put(key, value);
+
+        return value;
+    }
+
+    /**
+     * Removes a key.
+     * @param key The key.
+     * @return The removed value, or {@code null} if the key was not present.
+     */
+    public V remove(UUID key) {
+        return this.remove(key, null);
+    }
+
+    /**
+     * Removes a key if it is mapped to the given value, compared by identity.
+     * @param key The key.
+     * @param expected The expected value, or {@code null} to remove any value.
+     * @return The removed value, or {@code null} if nothing was removed.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(UUID key, Object expected) {
+        long most = key.getMostSignificantBits();
+        long least = key.getLeastSignificantBits();
+        int slot = Hashing.mix(most, least) & this.mask;
+        Object value;
+
+        while ((value = this.values[slot]) != null) {
+            if (this.mostBits[slot] == most && this.leastBits[slot] == least) {
+                if (expected != null && expected != value) return null;
+
+                this.shiftBack(slot);
+                this.size--;
+                return (V) value;
+            }
+
+            slot = (slot + 1) & this.mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes all entries. The table keeps its size.
+     */
+    public void clear() {
+        if (this.size == 0) return;
+
+        Arrays.fill(this.values, null);
+        this.size = 0;
+    }
+
+    /**
+     * @return A copy of the values in no particular order.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> result = new ArrayList<>(this.size);
+
+        for (Object value : this.values) {
+            if (value != null) result.add((V) value);
+        }
+
+        return result;
+    }
+
+    /**
+     * Calls the consumer for every value. The map must not be modified meanwhile.
+     * @param consumer The consumer.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> consumer) {
+        for (Object value : this.values) {
+            if (value != null) consumer.accept((V) value);
+        }
+    }
+
+    /**
+     * Calls the consumer for every entry. A {@link UUID} is created for every key. The map must not be modified meanwhile.
+     * @param consumer The consumer.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super UUID, ? super V> consumer) {
+        for (int slot = 0; slot < this.values.length; slot++) {
+            Object value = this.values[slot];
+
+            if (value != null) consumer.accept(new UUID(this.mostBits[slot], this.leastBits[slot]), (V) value);
+        }
+    }
+
+    private void shiftBack(int gap) {
+        int slot = gap;
+
+        while (true) {
+            slot = (slot + 1) & this.mask;
+            if (this.values[slot] == null) break;
+
+            if (Hashing.canShift(Hashing.mix(this.mostBits[slot], this.leastBits[slot]) & this.mask, gap, slot, this.mask)) {
+                this.mostBits[gap] = this.mostBits[slot];
+                this.leastBits[gap] = this.leastBits[slot];
+                this.values[gap] = this.values[slot];
+                gap = slot;
+            }
+        }
+
+        this.values[gap] = null;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldMostBits = this.mostBits;
+        long[] oldLeastBits = this.leastBits;
+        Object[] oldValues = this.values;
+
+        this.allocate(capacity);
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) continue;
+
+            int slot = Hashing.mix(oldMostBits[i], oldLeastBits[i]) & this.mask;
+            while (this.values[slot] != null) slot = (slot + 1) & this.mask;
+
+            this.mostBits[slot] = oldMostBits[i];
+            this.leastBits[slot] = oldLeastBits[i];
+            this.values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.mostBits = new long[capacity];
+        this.leastBits = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.resizeAt = Hashing.resizeThreshold(capacity);
+    }
+}
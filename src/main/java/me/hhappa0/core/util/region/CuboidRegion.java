@@ -0,0 +1,16 @@
+package me.hhappa0.core.util.region;
+
+/**
+ * An axis-aligned box between two corners.
+ */
+public class CuboidRegion extends Region {
+
+    public CuboidRegion(String id, String world, int priority, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        super(id, world, priority, minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    @Override
+    public boolean contains(double x, double y, double z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+}
@@ -0,0 +1,84 @@
+package me.hhappa0.core.util.region;
+
+/**
+ * A 2D polygon on the X/Z plane, extruded between two Y levels.
+ */
+public class PolygonRegion extends Region {
+    private final double[] xs;
+    private final double[] zs;
+
+    /**
+     * Creates a polygon region.
+     * @param xs The X coordinates of the polygon points.
+     * @param zs The Z coordinates of the polygon points, in the same order as {@code xs}.
+     * @throws IllegalArgumentException if there are less than three points or the arrays differ in length.
+     */
+    public PolygonRegion(String id, String world, int priority, double[] xs, double[] zs, double minY, double maxY) {
+        super(id, world, priority, min(xs), minY, min(zs), max(xs), maxY, max(zs));
+
+        if (xs.length != zs.length || xs.length < 3) throw new IllegalArgumentException("A polygon needs at least three points.");
+
+        this.xs = xs.clone();
+        this.zs = zs.clone();
+    }
+
+    @Override
+    public boolean contains(double x, double y, double z) {
+        if (y < minY || y > maxY || x < minX || x > maxX || z < minZ || z > maxZ) return false;
+
+        boolean inside = false;
+
+        for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+            if ((zs[i] > z) != (zs[j] > z) && x < (xs[j] - xs[i]) * (z - zs[i]) / (zs[j] - zs[i]) + xs[i]) inside = !inside;
+        }
+
+        return inside;
+    }
+
+    @Override
+    public boolean intersects(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        if (!super.intersects(minX, minY, minZ, maxX, maxY, maxZ)) return false;
+
+        double y = Math.max(minY, this.minY);
+
+        if (this.contains(minX, y, minZ)) return true;
+
+        for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+            if (xs[i] >= minX && xs[i] <= maxX && zs[i] >= minZ && zs[i] <= maxZ) return true;
+
+            if (segmentsIntersect(xs[j], zs[j], xs[i], zs[i], minX, minZ, maxX, minZ)
+                    || segmentsIntersect(xs[j], zs[j], xs[i], zs[i], maxX, minZ, maxX, maxZ)
+                    || segmentsIntersect(xs[j], zs[j], xs[i], zs[i], maxX, maxZ, minX, maxZ)
+                    || segmentsIntersect(xs[j], zs[j], xs[i], zs[i], minX, maxZ, minX, minZ)) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean segmentsIntersect(double ax, double az, double bx, double bz, double cx, double cz, double dx, double dz) {
+        double d1 = cross(cx, cz, dx, dz, ax, az);
+        double d2 = cross(cx, cz, dx, dz, bx, bz);
+        double d3 = cross(ax, az, bx, bz, cx, cz);
+        double d4 = cross(ax, az, bx, bz, dx, dz);
+
+        return ((d1 > 0) != (d2 > 0) || d1 == 0 || d2 == 0) && ((d3 > 0) != (d4 > 0) || d3 == 0 || d4 == 0);
+    }
+
+    private static double cross(double ax, double az, double bx, double bz, double px, double pz) {
+        return (bx - ax) * (pz - az) - (bz - az) * (px - ax);
+    }
+
+    private static double min(double[] values) {
+        double min = Double.POSITIVE_INFINITY;
+        for (double value : values) min = Math.min(min, value);
+
+        return min;
+    }
+
+    private static double max(double[] values) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (double value : values) max = Math.max(max, value);
+
+        return max;
+    }
+}
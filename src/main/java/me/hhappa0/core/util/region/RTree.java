@@ -0,0 +1,445 @@
+package me.hhappa0.core.util.region;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An R-tree over the bounding boxes of {@link Region}s, using quadratic splits and sort-tile-recursive bulk loading.
+ *
+ * <p>Queries recurse through the tree without allocating. The tree is not thread-safe.</p>
+ */
+final class RTree {
+    private static final int MAX_ENTRIES = 16;
+    private static final int MIN_ENTRIES = 6;
+
+    private Node root;
+    private int size;
+
+    RTree() {
+        this.root = new Node(true);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEachContaining(double x, double y, double z, Consumer<? super Region> consumer) {
+        if (size > 0) forEachContaining(root, x, y, z, consumer);
+    }
+
+    void forEachIntersecting(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, Consumer<? super Region> consumer) {
+        if (size > 0) forEachIntersecting(root, minX, minY, minZ, maxX, maxY, maxZ, consumer);
+    }
+
+    Region getHighestPriority(double x, double y, double z) {
+        return size == 0 ? null : getHighestPriority(root, x, y, z, null);
+    }
+
+    void insert(Region region) {
+        Node leaf = chooseLeaf(root, region);
+
+        leaf.add(region);
+        size++;
+
+        Node split = leaf.count > MAX_ENTRIES ? split(leaf) : null;
+        adjust(leaf, split);
+    }
+
+    boolean remove(Region region) {
+        Node leaf = findLeaf(root, region);
+        if (leaf == null) return false;
+
+        leaf.removeAt(leaf.indexOf(region));
+        size--;
+
+        condense(leaf);
+
+        if (!root.leaf && root.count == 1) {
+            root = (Node) root.entries[0];
+            root.parent = null;
+        }
+
+        return true;
+    }
+
+    /**
+     * Replaces the contents of the tree with the given regions, packing them with the sort-tile-recursive algorithm.
+     */
+    void load(List<Region> regions) {
+        size = regions.size();
+
+        if (regions.isEmpty()) {
+            root = new Node(true);
+            return;
+        }
+
+        List<Object> entries = new ArrayList<>(regions);
+        boolean leaf = true;
+
+        do {
+            entries = pack(entries, leaf);
+            leaf = false;
+        } while (entries.size() > 1);
+
+        root = (Node) entries.get(0);
+    }
+
+    private static void forEachContaining(Node node, double x, double y, double z, Consumer<? super Region> consumer) {
+        for (int i = 0; i < node.count; i++) {
+            Object entry = node.entries[i];
+
+            if (node.leaf) {
+                Region region = (Region) entry;
+
+                if (region.contains(x, y, z)) consumer.accept(region);
+            } else {
+                Node child = (Node) entry;
+
+                if (child.containsPoint(x, y, z)) forEachContaining(child, x, y, z, consumer);
+            }
+        }
+    }
+
+    private static void forEachIntersecting(Node node, double minX, double minY, double minZ, double maxX, double maxY, double maxZ, Consumer<? super Region> consumer) {
+        for (int i = 0; i < node.count; i++) {
+            Object entry = node.entries[i];
+
+            if (node.leaf) {
+                Region region = (Region) entry;
+
+                if (region.intersects(minX, minY, minZ, maxX, maxY, maxZ)) consumer.accept(region);
+            } else {
+                Node child = (Node) entry;
+
+                if (child.intersects(minX, minY, minZ, maxX, maxY, maxZ)) forEachIntersecting(child, minX, minY, minZ, maxX, maxY, maxZ, consumer);
+            }
+        }
+    }
+
+    private static Region getHighestPriority(Node node, double x, double y, double z, Region best) {
+        for (int i = 0; i < node.count; i++) {
+            Object entry = node.entries[i];
+
+            if (node.leaf) {
+                Region region = (Region) entry;
+
+                if ((best == null || ranksHigher(region, best)) && region.contains(x, y, z)) best = region;
+            } else {
+                Node child = (Node) entry;
+
+                if (child.containsPoint(x, y, z)) best = getHighestPriority(child, x, y, z, best);
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Orders regions by descending priority, breaking ties by ascending id, so the result does not depend on the tree layout.
+     */
+    static boolean ranksHigher(Region region, Region other) {
+        return region.getPriority() > other.getPriority() || (region.getPriority() == other.getPriority() && region.getId().compareTo(other.getId()) < 0);
+    }
+
+    private static Node chooseLeaf(Node node, Region region) {
+        while (!node.leaf) {
+            Node best = null;
+            double bestEnlargement = Double.POSITIVE_INFINITY;
+            double bestVolume = Double.POSITIVE_INFINITY;
+
+            for (int i = 0; i < node.count; i++) {
+                Node child = (Node) node.entries[i];
+                double volume = child.volume();
+                double enlargement = volume(
+                        Math.min(child.minX, region.minX), Math.min(child.minY, region.minY), Math.min(child.minZ, region.minZ),
+                        Math.max(child.maxX, region.maxX), Math.max(child.maxY, region.maxY), Math.max(child.maxZ, region.maxZ)) - volume;
+
+                if (enlargement < bestEnlargement || (enlargement == bestEnlargement && volume < bestVolume)) {
+                    best = child;
+                    bestEnlargement = enlargement;
+                    bestVolume = volume;
+                }
+            }
+
+            node = best;
+        }
+
+        return node;
+    }
+
+    private static Node findLeaf(Node node, Region region) {
+        if (node.leaf) return node.indexOf(region) >= 0 ? node : null;
+
+        for (int i = 0; i < node.count; i++) {
+            Node child = (Node) node.entries[i];
+
+            if (child.containsBox(region)) {
+                Node leaf = findLeaf(child, region);
+                if (leaf != null) return leaf;
+            }
+        }
+
+        return null;
+    }
+
+    private void adjust(Node node, Node split) {
+        while (node != root) {
+            Node parent = node.parent;
+
+            node.recalculate();
+
+            if (split != null) {
+                parent.add(split);
+                split = parent.count > MAX_ENTRIES ? split(parent) : null;
+            }
+
+            node = parent;
+        }
+
+        node.recalculate();
+
+        if (split != null) {
+            Node newRoot = new Node(false);
+
+            newRoot.add(node);
+            newRoot.add(split);
+            newRoot.recalculate();
+
+            root = newRoot;
+        }
+    }
+
+    private void condense(Node node) {
+        List<Region> orphans = new ArrayList<>();
+
+        while (node != root) {
+            Node parent = node.parent;
+
+            if (node.count < MIN_ENTRIES) {
+                parent.removeAt(parent.indexOf(node));
+                collect(node, orphans);
+            } else {
+                node.recalculate();
+            }
+
+            node = parent;
+        }
+
+        root.recalculate();
+
+        if (!root.leaf && root.count == 0) root = new Node(true);
+
+        size -= orphans.size();
+
+        for (Region orphan : orphans) insert(orphan);
+    }
+
+    private static void collect(Node node, List<Region> regions) {
+        for (int i = 0; i < node.count; i++) {
+            if (node.leaf) regions.add((Region) node.entries[i]);
+            else collect((Node) node.entries[i], regions);
+        }
+    }
+
+    /**
+     * Splits an overflowing node with the quadratic split algorithm and returns the new sibling.
+     */
+    private static Node split(Node node) {
+        Object[] entries = new Object[node.count];
+        System.arraycopy(node.entries, 0, entries, 0, node.count);
+
+        int seedA = 0;
+        int seedB = 1;
+        double worstWaste = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < entries.length; i++) {
+            for (int j = i + 1; j < entries.length; j++) {
+                double waste = volume(
+                        Math.min(minX(entries[i]), minX(entries[j])), Math.min(minY(entries[i]), minY(entries[j])), Math.min(minZ(entries[i]), minZ(entries[j])),
+                        Math.max(maxX(entries[i]), maxX(entries[j])), Math.max(maxY(entries[i]), maxY(entries[j])), Math.max(maxZ(entries[i]), maxZ(entries[j])))
+                        - volume(entries[i]) - volume(entries[j]);
+
+                if (waste > worstWaste) {
+                    worstWaste = waste;
+                    seedA = i;
+                    seedB = j;
+                }
+            }
+        }
+
+        Node sibling = new Node(node.leaf);
+
+        node.clear();
+        node.add(entries[seedA]);
+        sibling.add(entries[seedB]);
+        node.recalculate();
+        sibling.recalculate();
+
+        int remaining = entries.length - 2;
+
+        for (int i = 0; i < entries.length; i++) {
+            if (i == seedA || i == seedB) continue;
+
+            Object entry = entries[i];
+
+            if (node.count + remaining <= MIN_ENTRIES) {
+                node.add(entry);
+            } else if (sibling.count + remaining <= MIN_ENTRIES) {
+                sibling.add(entry);
+            } else {
+                double enlargementA = node.enlargement(entry);
+                double enlargementB = sibling.enlargement(entry);
+
+                if (enlargementA < enlargementB || (enlargementA == enlargementB && node.count <= sibling.count)) node.add(entry);
+                else sibling.add(entry);
+            }
+
+            node.recalculate();
+            sibling.recalculate();
+            remaining--;
+        }
+
+        return sibling;
+    }
+
+    private static List<Object> pack(List<Object> entries, boolean leaf) {
+        int nodeCount = (int) Math.ceil(entries.size() / (double) MAX_ENTRIES);
+        int sliceCount = (int) Math.ceil(Math.sqrt(nodeCount));
+        int sliceSize = sliceCount * MAX_ENTRIES;
+        List<Object> nodes = new ArrayList<>(nodeCount);
+
+        entries.sort(Comparator.comparingDouble(entry -> minX(entry) + maxX(entry)));
+
+        for (int sliceStart = 0; sliceStart < entries.size(); sliceStart += sliceSize) {
+            List<Object> slice = new ArrayList<>(entries.subList(sliceStart, Math.min(sliceStart + sliceSize, entries.size())));
+
+            slice.sort(Comparator.comparingDouble(entry -> minZ(entry) + maxZ(entry)));
+
+            for (int nodeStart = 0; nodeStart < slice.size(); nodeStart += MAX_ENTRIES) {
+                Node node = new Node(leaf);
+
+                for (int i = nodeStart; i < Math.min(nodeStart + MAX_ENTRIES, slice.size()); i++) node.add(slice.get(i));
+
+                node.recalculate();
+                nodes.add(node);
+            }
+        }
+
+        return nodes;
+    }
+
+    private static double minX(Object entry) {
+        return entry instanceof Region region ? region.minX : ((Node) entry).minX;
+    }
+
+    private static double minY(Object entry) {
+        return entry instanceof Region region ? region.minY : ((Node) entry).minY;
+    }
+
+    private static double minZ(Object entry) {
+        return entry instanceof Region region ? region.minZ : ((Node) entry).minZ;
+    }
+
+    private static double maxX(Object entry) {
+        return entry instanceof Region region ? region.maxX : ((Node) entry).maxX;
+    }
+
+    private static double maxY(Object entry) {
+        return entry instanceof Region region ? region.maxY : ((Node) entry).maxY;
+    }
+
+    private static double maxZ(Object entry) {
+        return entry instanceof Region region ? region.maxZ : ((Node) entry).maxZ;
+    }
+
+    private static double volume(Object entry) {
+        return volume(minX(entry), minY(entry), minZ(entry), maxX(entry), maxY(entry), maxZ(entry));
+    }
+
+    private static double volume(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        return (maxX - minX) * (maxY - minY) * (maxZ - minZ);
+    }
+
+    private static final class Node {
+        private final boolean leaf;
+        private final Object[] entries;
+        private Node parent;
+        private int count;
+        private double minX;
+        private double minY;
+        private double minZ;
+        private double maxX;
+        private double maxY;
+        private double maxZ;
+
+        private Node(boolean leaf) {
+            this.leaf = leaf;
+            this.entries = new Object[MAX_ENTRIES + 1];
+        }
+
+        private void add(Object entry) {
+            entries[count++] = entry;
+
+            if (entry instanceof Node child) child.parent = this;
+        }
+
+        private void removeAt(int index) {
+            System.arraycopy(entries, index + 1, entries, index, count - index - 1);
+            entries[--count] = null;
+        }
+
+        private int indexOf(Object entry) {
+            for (int i = 0; i < count; i++) {
+                if (entries[i] == entry) return i;
+            }
+
+            return -1;
+        }
+
+        private void clear() {
+            for (int i = 0; i < count; i++) entries[i] = null;
+
+            count = 0;
+        }
+
+        private void recalculate() {
+            minX = minY = minZ = Double.POSITIVE_INFINITY;
+            maxX = maxY = maxZ = Double.NEGATIVE_INFINITY;
+
+            for (int i = 0; i < count; i++) {
+                Object entry = entries[i];
+
+                minX = Math.min(minX, RTree.minX(entry));
+                minY = Math.min(minY, RTree.minY(entry));
+                minZ = Math.min(minZ, RTree.minZ(entry));
+                maxX = Math.max(maxX, RTree.maxX(entry));
+                maxY = Math.max(maxY, RTree.maxY(entry));
+                maxZ = Math.max(maxZ, RTree.maxZ(entry));
+            }
+        }
+
+        private double volume() {
+            return RTree.volume(minX, minY, minZ, maxX, maxY, maxZ);
+        }
+
+        private double enlargement(Object entry) {
+            return RTree.volume(
+                    Math.min(minX, RTree.minX(entry)), Math.min(minY, RTree.minY(entry)), Math.min(minZ, RTree.minZ(entry)),
+                    Math.max(maxX, RTree.maxX(entry)), Math.max(maxY, RTree.maxY(entry)), Math.max(maxZ, RTree.maxZ(entry))) - volume();
+        }
+
+        private boolean containsPoint(double x, double y, double z) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+        }
+
+        private boolean containsBox(Region region) {
+            return region.minX >= minX && region.maxX <= maxX && region.minY >= minY && region.maxY <= maxY && region.minZ >= minZ && region.maxZ <= maxZ;
+        }
+
+        private boolean intersects(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+            return this.minX <= maxX && this.maxX >= minX && this.minY <= maxY && this.maxY >= minY && this.minZ <= maxZ && this.maxZ >= minZ;
+        }
+    }
+}
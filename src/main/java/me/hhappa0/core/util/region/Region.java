@@ -0,0 +1,105 @@
+package me.hhappa0.core.util.region;
+
+import org.bukkit.Location;
+
+/**
+ * An area in a world that can be stored in a {@link RegionIndex}.
+ *
+ * <p>Every region has an axis-aligned bounding box, which the index uses to narrow down candidates before the exact
+ * {@link #contains(double, double, double)} check runs. When regions overlap, the one with the highest priority wins.</p>
+ */
+public abstract class Region {
+    private final String id;
+    private final String world;
+    private final int priority;
+    protected final double minX;
+    protected final double minY;
+    protected final double minZ;
+    protected final double maxX;
+    protected final double maxY;
+    protected final double maxZ;
+
+    protected Region(String id, String world, int priority, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        this.id = id;
+        this.world = world;
+        this.priority = priority;
+        this.minX = Math.min(minX, maxX);
+        this.minY = Math.min(minY, maxY);
+        this.minZ = Math.min(minZ, maxZ);
+        this.maxX = Math.max(minX, maxX);
+        this.maxY = Math.max(minY, maxY);
+        this.maxZ = Math.max(minZ, maxZ);
+    }
+
+    /**
+     * Checks whether a point lies inside the region.
+     * @param x The X coordinate.
+     * @param y The Y coordinate.
+     * @param z The Z coordinate.
+     * @return {@code true} if the point is inside.
+     */
+    public abstract boolean contains(double x, double y, double z);
+
+    /**
+     * Checks whether the region intersects an axis-aligned box.
+     * <p>The default implementation compares the bounding boxes. Subclasses refine this for their shape.</p>
+     * @return {@code true} if the region and the box intersect.
+     */
+    public boolean intersects(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        return this.minX <= maxX && this.maxX >= minX && this.minY <= maxY && this.maxY >= minY && this.minZ <= maxZ && this.maxZ >= minZ;
+    }
+
+    /**
+     * Checks whether a location lies inside the region.
+     * @param location The location.
+     * @return {@code true} if the location is in the same world and inside the region.
+     */
+    public boolean contains(Location location) {
+        return location.getWorld() != null && location.getWorld().getName().equals(this.world) && this.contains(location.getX(), location.getY(), location.getZ());
+    }
+
+    /**
+     * @return The unique id of the region.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return The name of the world the region is in.
+     */
+    public String getWorld() {
+        return world;
+    }
+
+    /**
+     * @return The priority used to order overlapping regions. Higher values win.
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMinZ() {
+        return minZ;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+
+    public double getMaxZ() {
+        return maxZ;
+    }
+}
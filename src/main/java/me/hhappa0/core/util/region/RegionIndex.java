@@ -0,0 +1,276 @@
+package me.hhappa0.core.util.region;
+
+import me.hhappa0.core.config.Config;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A per-world spatial index answering which {@link Region}s contain a location.
+ *
+ * <p>Regions are stored in one R-tree per world, so queries scale logarithmically with the number of regions. The
+ * {@code forEach} and {@code getHighestPriority} queries do not allocate and are meant for hot paths like move and
+ * block events. The index is not thread-safe and should only be used on the main thread.</p>
+ */
+public class RegionIndex {
+    private final Map<String, RTree> trees;
+    private final Map<String, Region> regions;
+
+    /**
+     * Creates an empty index.
+     */
+    public RegionIndex() {
+        this.trees = new HashMap<>();
+        this.regions = new HashMap<>();
+    }
+
+    /**
+     * Replaces all regions of the index with the given ones, bulk loading a balanced tree per world.
+     * @param regions The regions to load.
+     * @throws IllegalArgumentException if two regions share an id.
+     */
+    public void load(Collection<? extends Region> regions) {
+        Map<String, Region> byId = new HashMap<>();
+        Map<String, List<Region>> byWorld = new HashMap<>();
+
+        for (Region region : regions) {
+            if (byId.put(region.getId(), region) != null) throw new IllegalArgumentException("Duplicate region id '" + region.getId() + "'.");
+
+            byWorld.computeIfAbsent(region.getWorld(), world -> new ArrayList<>()).add(region);
+        }
+
+        this.trees.clear();
+        this.regions.clear();
+        this.regions.putAll(byId);
+
+        byWorld.forEach((world, worldRegions) -> {
+            RTree tree = new RTree();
+            tree.load(worldRegions);
+
+            this.trees.put(world, tree);
+        });
+    }
+
+    /**
+     * Replaces all regions of the index with the regions defined in a config section. Example:
+     * <pre>
+     * regions:
+     *   spawn:
+     *     world: world
+     *     type: cuboid
+     *     priority: 10
+     *     min: [-50, 0, -50]
+     *     max: [50, 320, 50]
+     *   arena:
+     *     world: world
+     *     type: sphere
+     *     center: [200, 64, 200]
+     *     radius: 30
+     *   market:
+     *     world: world
+     *     type: polygon
+     *     points: [[0, 0], [40, 0], [20, 35]]
+     *     min-y: 60
+     *     max-y: 90
+     * </pre>
+     * @param config The config containing the regions.
+     * @param path The path to the regions section.
+     * @throws IllegalArgumentException if a region is invalid.
+     */
+    public void load(Config config, String path) {
+        ConfigurationSection section = config.getConfig().getConfigurationSection(path);
+        List<Region> loaded = new ArrayList<>();
+
+        if (section != null) {
+            for (String id : section.getKeys(false)) {
+                ConfigurationSection regionSection = section.getConfigurationSection(id);
+                if (regionSection == null) throw new IllegalArgumentException("Region '" + id + "' is not a section.");
+
+                loaded.add(parse(id, regionSection));
+            }
+        }
+
+        this.load(loaded);
+    }
+
+    /**
+     * Adds a region to the index.
+     * @param region The region to add.
+     * @throws IllegalArgumentException if a region with the same id already exists.
+     */
+    public void add(Region region) {
+        if (this.regions.putIfAbsent(region.getId(), region) != null) throw new IllegalArgumentException("Duplicate region id '" + region.getId() + "'.");
+
+        this.trees.computeIfAbsent(region.getWorld(), world -> new RTree()).insert(region);
+    }
+
+    /**
+     * Removes the region with the given id from the index.
+     * @param id The region id.
+     * @return The removed region, or {@code null} if no region with the id exists.
+     */
+    public Region remove(String id) {
+        Region region = this.regions.remove(id);
+
+        if (region != null) this.trees.get(region.getWorld()).remove(region);
+
+        return region;
+    }
+
+    /**
+     * Returns the region with the given id.
+     * @param id The region id.
+     * @return The region, or {@code null} if no region with the id exists.
+     */
+    public Region get(String id) {
+        return this.regions.get(id);
+    }
+
+    /**
+     * Returns the number of regions in the index.
+     * @return The region count.
+     */
+    public int size() {
+        return this.regions.size();
+    }
+
+    /**
+     * Passes every region containing the location to the consumer, without allocating.
+     * @param location The location.
+     * @param consumer The consumer receiving the regions, in no particular order.
+     */
+    public void forEachContaining(Location location, Consumer<? super Region> consumer) {
+        World world = location.getWorld();
+
+        if (world != null) this.forEachContaining(world.getName(), location.getX(), location.getY(), location.getZ(), consumer);
+    }
+
+    /**
+     * Passes every region containing the point to the consumer, without allocating.
+     * @param world The name of the world.
+     * @param x The X coordinate.
+     * @param y The Y coordinate.
+     * @param z The Z coordinate.
+     * @param consumer The consumer receiving the regions, in no particular order.
+     */
+    public void forEachContaining(String world, double x, double y, double z, Consumer<? super Region> consumer) {
+        RTree tree = this.trees.get(world);
+
+        if (tree != null) tree.forEachContaining(x, y, z, consumer);
+    }
+
+    /**
+     * Passes every region intersecting the box to the consumer, without allocating.
+     * @param world The name of the world.
+     * @param consumer The consumer receiving the regions, in no particular order.
+     */
+    public void forEachIntersecting(String world, double minX, double minY, double minZ, double maxX, double maxY, double maxZ, Consumer<? super Region> consumer) {
+        RTree tree = this.trees.get(world);
+
+        if (tree != null) tree.forEachIntersecting(Math.min(minX, maxX), Math.min(minY, maxY), Math.min(minZ, maxZ), Math.max(minX, maxX), Math.max(minY, maxY), Math.max(minZ, maxZ), consumer);
+    }
+
+    /**
+     * Returns the region with the highest priority containing the location, without allocating.
+     * <p>Of regions with the same priority, the one with the lexicographically smallest id wins.</p>
+     * @param location The location.
+     * @return The region, or {@code null} if no region contains the location.
+     */
+    public Region getHighestPriority(Location location) {
+        World world = location.getWorld();
+
+        return world == null ? null : this.getHighestPriority(world.getName(), location.getX(), location.getY(), location.getZ());
+    }
+
+    /**
+     * Returns the region with the highest priority containing the point, without allocating.
+     * <p>Of regions with the same priority, the one with the lexicographically smallest id wins.</p>
+     * @param world The name of the world.
+     * @param x The X coordinate.
+     * @param y The Y coordinate.
+     * @param z The Z coordinate.
+     * @return The region, or {@code null} if no region contains the point.
+     */
+    public Region getHighestPriority(String world, double x, double y, double z) {
+        RTree tree = this.trees.get(world);
+
+        return tree == null ? null : tree.getHighestPriority(x, y, z);
+    }
+
+    /**
+     * Returns all regions containing the location, ordered from the highest to the lowest priority and then by id.
+     * @param location The location.
+     * @return The regions containing the location.
+     */
+    public List<Region> getContaining(Location location) {
+        List<Region> result = new ArrayList<>();
+
+        this.forEachContaining(location, result::add);
+        result.sort(Comparator.comparingInt(Region::getPriority).reversed().thenComparing(Region::getId));
+
+        return result;
+    }
+
+    private static Region parse(String id, ConfigurationSection section) {
+        String world = section.getString("world");
+        String type = section.getString("type", "");
+        int priority = section.getInt("priority", 0);
+
+        if (world == null) throw new IllegalArgumentException("Region '" + id + "' has no world.");
+
+        switch (type.toLowerCase()) {
+            case "cuboid": {
+                double[] min = coordinates(id, section, "min", 3);
+                double[] max = coordinates(id, section, "max", 3);
+
+                return new CuboidRegion(id, world, priority, min[0], min[1], min[2], max[0], max[1], max[2]);
+            }
+            case "sphere": {
+                double[] center = coordinates(id, section, "center", 3);
+                double radius = section.getDouble("radius");
+
+                if (radius <= 0) throw new IllegalArgumentException("Region '" + id + "' needs a positive radius.");
+
+                return new SphereRegion(id, world, priority, center[0], center[1], center[2], radius);
+            }
+            case "polygon": {
+                List<?> points = section.getList("points", List.of());
+                double[] xs = new double[points.size()];
+                double[] zs = new double[points.size()];
+
+                for (int i = 0; i < points.size(); i++) {
+                    if (!(points.get(i) instanceof List<?> point) || point.size() != 2 || !(point.get(0) instanceof Number x) || !(point.get(1) instanceof Number z)) {
+                        throw new IllegalArgumentException("Region '" + id + "' has an invalid point at index " + i + ".");
+                    }
+
+                    xs[i] = x.doubleValue();
+                    zs[i] = z.doubleValue();
+                }
+
+                if (points.size() < 3) throw new IllegalArgumentException("Region '" + id + "' needs at least three points.");
+
+                return new PolygonRegion(id, world, priority, xs, zs, section.getDouble("min-y", -64), section.getDouble("max-y", 320));
+            }
+            default:
+                throw new IllegalArgumentException("Region '" + id + "' has the unknown type '" + type + "'.");
+        }
+    }
+
+    private static double[] coordinates(String id, ConfigurationSection section, String key, int size) {
+        List<Double> values = section.getDoubleList(key);
+        if (values.size() != size) throw new IllegalArgumentException("Region '" + id + "' needs " + size + " coordinates for '" + key + "'.");
+
+        double[] coordinates = new double[size];
+        for (int i = 0; i < size; i++) coordinates[i] = values.get(i);
+
+        return coordinates;
+    }
+}
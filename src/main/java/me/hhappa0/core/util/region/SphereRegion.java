@@ -0,0 +1,55 @@
+package me.hhappa0.core.util.region;
+
+/**
+ * A sphere around a center point.
+ */
+public class SphereRegion extends Region {
+    private final double centerX;
+    private final double centerY;
+    private final double centerZ;
+    private final double radius;
+    private final double radiusSquared;
+
+    public SphereRegion(String id, String world, int priority, double centerX, double centerY, double centerZ, double radius) {
+        super(id, world, priority, centerX - radius, centerY - radius, centerZ - radius, centerX + radius, centerY + radius, centerZ + radius);
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.centerZ = centerZ;
+        this.radius = radius;
+        this.radiusSquared = radius * radius;
+    }
+
+    @Override
+    public boolean contains(double x, double y, double z) {
+        double dx = x - centerX;
+        double dy = y - centerY;
+        double dz = z - centerZ;
+
+        return dx * dx + dy * dy + dz * dz <= radiusSquared;
+    }
+
+    @Override
+    public boolean intersects(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        double dx = centerX - Math.max(minX, Math.min(centerX, maxX));
+        double dy = centerY - Math.max(minY, Math.min(centerY, maxY));
+        double dz = centerZ - Math.max(minZ, Math.min(centerZ, maxZ));
+
+        return dx * dx + dy * dy + dz * dz <= radiusSquared;
+    }
+
+    public double getCenterX() {
+        return centerX;
+    }
+
+    public double getCenterY() {
+        return centerY;
+    }
+
+    public double getCenterZ() {
+        return centerZ;
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+}
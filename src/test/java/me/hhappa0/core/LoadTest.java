@@ -0,0 +1,289 @@
+package me.hhappa0.core;
+
+import me.hhappa0.core.bootstrap.Core;
+import me.hhappa0.core.command.BaseCommand;
+import me.hhappa0.core.command.CommandInfo;
+import me.hhappa0.core.menu.AbstractMenu;
+import me.hhappa0.core.menu.ItemBuilder;
+import me.hhappa0.core.util.SchedulerUtil;
+import org.bukkit.Material;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+import org.mockbukkit.mockbukkit.plugin.PluginMock;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Simulates a full server of players driving menus, commands and scheduled tasks, and compares the tick duration and the
+ * main-thread allocation per tick against a baseline measured on the same machine.
+ *
+ * <p>Every tick a twentieth of the players opens a menu, spams clicks into it, runs and tab-completes a command and
+ * closes the menu again, while every player has an entity timer running. Run it with {@code mvn -Pload test}. Pass
+ * {@code -Dload.updateBaseline=true} to store the measured percentiles as the new baseline instead of checking them, and
+ * {@code -Dload.players=<count>} to change the number of players. The baseline is stored in the file given by
+ * {@code -Dload.baseline=<path>}, which defaults to {@code target/load-baseline.properties}. Timings are only comparable
+ * on the same machine, so CI measures the baseline on the base commit right before checking the change.</p>
+ */
+@Tag("load")
+class LoadTest {
+    private static final int PLAYERS = Integer.getInteger("load.players", 2000);
+    private static final int WARMUP_TICKS = 200;
+    private static final int MEASURED_TICKS = 1200;
+    private static final int ACTING_SHARE = 20;
+    private static final int CLICKS_PER_OPEN = 8;
+    private static final double TOLERANCE = 0.25;
+    private static final double[] QUANTILES = { 0.5, 0.95, 0.99 };
+
+    private final AtomicLong clicks = new AtomicLong();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong timerRuns = new AtomicLong();
+    private final List<PlayerMock> players = new ArrayList<>();
+    private ServerMock server;
+    private PluginMock plugin;
+    private SchedulerUtil scheduler;
+    private LoadCommand command;
+    private Command bukkitCommand;
+    private com.sun.management.ThreadMXBean threadBean;
+
+    @BeforeEach
+    void setUp() {
+        this.server = MockBukkit.mock();
+        this.plugin = MockBukkit.createMockPlugin();
+        this.scheduler = new Core().initialize(this.plugin, "<red>You do not have permission to execute this command!").getScheduler();
+        this.command = new LoadCommand(this.executions);
+        this.bukkitCommand = new Command("load") {
+            @Override
+            public boolean execute(@NotNull CommandSender sender, @NotNull String label, @NotNull String @NotNull [] args) {
+                return false;
+            }
+        };
+        this.threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int i = 0; i < PLAYERS; i++) {
+            PlayerMock player = this.server.addPlayer();
+
+            if (i % 4 != 0) player.addAttachment(this.plugin, "core.load", true);
+            this.scheduler.runAtEntityTimer(player, this.timerRuns::incrementAndGet, null, i % 20, 20);
+
+            this.players.add(player);
+        }
+
+        this.scheduler.runGlobalTimer(this.timerRuns::incrementAndGet, 0, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void tickPercentilesStayWithinBaseline() throws IOException {
+        for (int tick = 0; tick < WARMUP_TICKS; tick++) this.tick(tick);
+
+        long[] durations = new long[MEASURED_TICKS];
+        long[] allocations = new long[MEASURED_TICKS];
+
+        for (int i = 0; i < MEASURED_TICKS; i++) {
+            long allocatedAtStart = this.threadBean.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+
+            this.tick(WARMUP_TICKS + i);
+
+            durations[i] = System.nanoTime() - start;
+            allocations[i] = this.threadBean.getCurrentThreadAllocatedBytes() - allocatedAtStart;
+        }
+
+        this.server.getScheduler().performOneTick();
+
+        assertTrue(this.clicks.get() > 0, "No click reached a menu action.");
+        assertTrue(this.executions.get() > 0, "No command was executed.");
+        assertTrue(this.timerRuns.get() > 0, "No scheduled timer ran.");
+        assertEquals(0, Core.menuSessions.getOpenCount(), "Menus were left open.");
+
+        Arrays.sort(durations);
+        Arrays.sort(allocations);
+
+        Properties measured = new Properties();
+
+        for (double quantile : QUANTILES) {
+            measured.setProperty(durationKey(quantile), String.valueOf(percentile(durations, quantile)));
+            measured.setProperty(allocationKey(quantile), String.valueOf(percentile(allocations, quantile)));
+        }
+
+        if (Boolean.getBoolean("load.updateBaseline")) {
+            saveBaseline(measured);
+            return;
+        }
+
+        Properties baseline = loadBaseline();
+        List<String> regressions = new ArrayList<>();
+
+        for (double quantile : QUANTILES) {
+            check(regressions, baseline, measured, durationKey(quantile));
+            check(regressions, baseline, measured, allocationKey(quantile));
+        }
+
+        assertTrue(regressions.isEmpty(), "Tick regressions with " + PLAYERS + " players: " + String.join(", ", regressions));
+    }
+
+    private void tick(int tick) {
+        for (int i = tick % ACTING_SHARE; i < this.players.size(); i += ACTING_SHARE) {
+            PlayerMock player = this.players.get(i);
+
+            new LoadMenu(player, this.clicks).open();
+
+            for (int click = 0; click < CLICKS_PER_OPEN; click++) {
+                player.simulateInventoryClick(player.getOpenInventory(), click == CLICKS_PER_OPEN - 1 ? ClickType.DOUBLE_CLICK : ClickType.LEFT, click % 9);
+            }
+
+            this.command.onTabComplete(player, this.bukkitCommand, "load", new String[] { "s" });
+            this.command.onCommand(player, this.bukkitCommand, "load", new String[] { "shop", String.valueOf(tick) });
+            this.scheduler.runAtEntityLater(player, player::closeInventory, null, 1);
+
+            while (player.nextComponentMessage() != null) {
+                // Drain the no-permission messages, so the players do not keep them.
+            }
+        }
+
+        this.server.getScheduler().performOneTick();
+    }
+
+    private static void check(List<String> regressions, Properties baseline, Properties measured, String key) {
+        String value = baseline.getProperty(key);
+        assertNotNull(value, "The baseline has no value for " + key + ". Run the load test with -Dload.updateBaseline=true to store one.");
+
+        long limit = Long.parseLong(value);
+        long actual = Long.parseLong(measured.getProperty(key));
+
+        if (actual > limit * (1 + TOLERANCE)) regressions.add(key + " " + actual + " exceeds the baseline of " + limit);
+    }
+
+    private static Properties loadBaseline() throws IOException {
+        Path path = baselinePath();
+        Properties baseline = new Properties();
+
+        assertTrue(Files.isRegularFile(path), "The load baseline " + path + " is missing. Run the load test on a known good build with -Dload.updateBaseline=true to create it.");
+
+        try (InputStream in = Files.newInputStream(path)) {
+            baseline.load(in);
+        }
+
+        return baseline;
+    }
+
+    private static void saveBaseline(Properties measured) throws IOException {
+        Path path = baselinePath();
+
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+
+        try (OutputStream out = Files.newOutputStream(path)) {
+            measured.store(out, "Tick percentiles of " + PLAYERS + " simulated players, measured by LoadTest");
+        }
+    }
+
+    private static Path baselinePath() {
+        String path = System.getProperty("load.baseline");
+        assertFalse(path == null || path.isEmpty(), "The baseline path is not set, run the load test with -Pload.");
+
+        return Path.of(path);
+    }
+
+    private static String durationKey(double quantile) {
+        return "tick.duration-nanos." + percentileKey(quantile);
+    }
+
+    private static String allocationKey(double quantile) {
+        return "tick.allocated-bytes." + percentileKey(quantile);
+    }
+
+    private static String percentileKey(double quantile) {
+        return "p" + Math.round(quantile * 100);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static final class LoadMenu extends AbstractMenu {
+        private static final ItemStack BUTTON = new ItemBuilder(Material.EMERALD).name("<green>Buy").build();
+
+        private final AtomicLong clicks;
+
+        private LoadMenu(Player player, AtomicLong clicks) {
+            super(player);
+            this.clicks = clicks;
+        }
+
+        @Override
+        public String getMenuTitle() {
+            return "<gold>Shop";
+        }
+
+        @Override
+        public int getRows() {
+            return 3;
+        }
+
+        @Override
+        public long getClickInterval() {
+            return 50;
+        }
+
+        @Override
+        public void setMenuItems() {
+            for (int slot = 0; slot < 9; slot++) this.setItem(BUTTON, slot, event -> this.clicks.incrementAndGet());
+        }
+
+        @Override
+        public void handleMenuClose() {
+        }
+    }
+
+    @CommandInfo(name = "load", permission = "core.load")
+    private static final class LoadCommand extends BaseCommand {
+        private static final List<String> SUBCOMMANDS = List.of("sell", "shop", "stats", "top");
+
+        private final AtomicLong executions;
+
+        private LoadCommand(AtomicLong executions) {
+            this.executions = executions;
+        }
+
+        @Override
+        public void execute(CommandSender sender, String[] args) {
+            this.executions.incrementAndGet();
+        }
+
+        @Override
+        public List<String> tab(CommandSender sender, String[] args) {
+            return SUBCOMMANDS.stream().filter(subcommand -> subcommand.startsWith(args[0])).toList();
+        }
+    }
+}
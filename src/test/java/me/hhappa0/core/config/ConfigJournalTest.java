@@ -0,0 +1,196 @@
+package me.hhappa0.core.config;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes journals into a temporary directory and checks what {@link ConfigJournal#replay} and {@link Config} recover from
+ * them, including journals cut off or corrupted the way a crash in the middle of an append leaves them.
+ */
+class ConfigJournalTest {
+    private static final String FILE_NAME = "data.yml";
+
+    @TempDir
+    Path folder;
+
+    private Plugin plugin;
+    private File configFile;
+    private File journalFile;
+
+    @BeforeEach
+    void setUp() {
+        File dataFolder = this.folder.toFile();
+
+        this.plugin = (Plugin) Proxy.newProxyInstance(Plugin.class.getClassLoader(), new Class<?>[] { Plugin.class }, (proxy, method, args) -> switch (method.getName()) {
+            case "getName" -> "Test";
+            case "getDataFolder" -> dataFolder;
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+        this.configFile = new File(dataFolder, FILE_NAME);
+        this.journalFile = ConfigJournal.journalFile(this.configFile);
+    }
+
+    @Test
+    void replaysSetsAndRemovesInOrder() throws IOException {
+        ConfigJournal journal = this.newJournal();
+
+        journal.append("a.b", 5);
+        journal.append("name", "Steve");
+        journal.append("list", List.of(1, 2, 3));
+        journal.append("a.b", null);
+        journal.append("a.c", 2.5);
+        journal.append("name", "Alex");
+        journal.close();
+
+        YamlConfiguration config = new YamlConfiguration();
+
+        assertEquals(6, ConfigJournal.replay(this.journalFile, config));
+        assertFalse(config.contains("a.b"));
+        assertEquals(2.5, config.getDouble("a.c"));
+        assertEquals("Alex", config.getString("name"));
+        assertEquals(List.of(1, 2, 3), config.getIntegerList("list"));
+    }
+
+    @Test
+    void returnsMinusOneWithoutJournal() throws IOException {
+        assertEquals(-1, ConfigJournal.replay(this.journalFile, new YamlConfiguration()));
+
+        Files.createFile(this.journalFile.toPath());
+        assertEquals(-1, ConfigJournal.replay(this.journalFile, new YamlConfiguration()));
+    }
+
+    @Test
+    void stopsAtRecordTruncatedMidWrite() throws IOException {
+        ConfigJournal journal = this.newJournal();
+
+        journal.append("a", 1);
+        journal.append("b", 2);
+        journal.flush();
+        long complete = this.journalFile.length();
+
+        journal.append("c", "a value long enough to be cut in the middle");
+        journal.close();
+        long full = this.journalFile.length();
+
+        for (long length : new long[] { full - 1, complete + (full - complete) / 2, complete + 4 }) {
+            truncate(this.journalFile, length);
+
+            YamlConfiguration config = new YamlConfiguration();
+
+            assertEquals(2, ConfigJournal.replay(this.journalFile, config), "journal cut at " + length);
+            assertEquals(1, config.getInt("a"));
+            assertEquals(2, config.getInt("b"));
+            assertFalse(config.contains("c"));
+        }
+    }
+
+    @Test
+    void stopsAtRecordWithWrongChecksum() throws IOException {
+        ConfigJournal journal = this.newJournal();
+
+        journal.append("a", 1);
+        journal.flush();
+        long first = this.journalFile.length();
+
+        journal.append("b", 2);
+        journal.flush();
+        long second = this.journalFile.length();
+
+        journal.append("c", 3);
+        journal.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(this.journalFile, "rw")) {
+            long offset = second - 1;
+
+            assertTrue(offset > first + 8);
+            file.seek(offset);
+            int value = file.read();
+            file.seek(offset);
+            file.write(value ^ 0x01);
+        }
+
+        YamlConfiguration config = new YamlConfiguration();
+
+        assertEquals(1, ConfigJournal.replay(this.journalFile, config));
+        assertEquals(1, config.getInt("a"));
+        assertFalse(config.contains("b"));
+        assertFalse(config.contains("c"));
+    }
+
+    @Test
+    void compactionReplacesFileAndKeepsLaterRecords() throws IOException {
+        ConfigJournal journal = this.newJournal();
+
+        assertTrue(journal.append("a", 1));
+        assertFalse(journal.append("b", 2));
+        journal.compact("a: 10\n");
+        assertEquals(1, journal.getGeneration());
+        assertTrue(journal.append("c", 3));
+        journal.append("a", null);
+        journal.close();
+
+        assertEquals("a: 10\n", Files.readString(this.configFile.toPath(), StandardCharsets.UTF_8));
+        assertFalse(new File(this.folder.toFile(), FILE_NAME + ".tmp").exists());
+
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(this.configFile);
+
+        assertEquals(10, config.getInt("a"));
+        assertEquals(2, ConfigJournal.replay(this.journalFile, config));
+        assertFalse(config.contains("a"));
+        assertFalse(config.contains("b"));
+        assertEquals(3, config.getInt("c"));
+    }
+
+    @Test
+    void configFoldsLeftoverJournalIntoFileWhenNotJournaled() throws IOException {
+        Files.writeString(this.configFile.toPath(), "a: 1\nb: 2\n", StandardCharsets.UTF_8);
+
+        ConfigJournal journal = this.newJournal();
+
+        journal.append("b", null);
+        journal.append("c.d", "value");
+        journal.close();
+
+        Config config = new Config(this.plugin, FILE_NAME);
+
+        assertFalse(config.isJournaled());
+        assertFalse(this.journalFile.exists());
+        assertEquals(1, config.getConfig().getInt("a"));
+        assertFalse(config.getConfig().contains("b"));
+        assertEquals("value", config.getConfig().getString("c.d"));
+
+        YamlConfiguration saved = YamlConfiguration.loadConfiguration(this.configFile);
+
+        assertEquals(1, saved.getInt("a"));
+        assertNull(saved.get("b"));
+        assertEquals("value", saved.getString("c.d"));
+    }
+
+    private ConfigJournal newJournal() {
+        return new ConfigJournal(this.plugin, FILE_NAME, this.configFile, Long.MAX_VALUE, TimeUnit.HOURS.toMillis(1));
+    }
+
+    private static void truncate(File file, long length) throws IOException {
+        try (RandomAccessFile access = new RandomAccessFile(file, "rw")) {
+            access.setLength(length);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package me.hhappa0.core.config;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockbukkit.mockbukkit.MockBukkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that compact items read the same from the decode cache as from the file.
+ */
+class ConfigTest {
+    private static final String FILE_NAME = "data.yml";
+
+    @TempDir
+    Path folder;
+
+    private Config config;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockBukkit.mock();
+
+        File dataFolder = this.folder.toFile();
+        Plugin plugin = (Plugin) Proxy.newProxyInstance(Plugin.class.getClassLoader(), new Class<?>[] { Plugin.class }, (proxy, method, args) -> switch (method.getName()) {
+            case "getName" -> "Test";
+            case "getDataFolder" -> dataFolder;
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+
+        Files.createFile(new File(dataFolder, FILE_NAME).toPath());
+        this.config = new Config(plugin, FILE_NAME);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void readsEmptyItemsAsNull() {
+        this.config.setCompactItemStack("item", new ItemStack(Material.AIR));
+        this.config.setCompactItemStacks("items", new ItemStack[] { new ItemStack(Material.BREAD), new ItemStack(Material.AIR), null });
+
+        this.assertEmptyItemsAreNull();
+        this.config.save();
+        this.config.reload();
+        this.assertEmptyItemsAreNull();
+    }
+
+    @Test
+    void returnsCopiesOfCachedItems() {
+        ItemStack item = new ItemStack(Material.BREAD, 3);
+
+        this.config.setCompactItemStack("item", item);
+        item.setAmount(1);
+
+        ItemStack first = this.config.getCompactItemStack("item");
+
+        assertEquals(3, first.getAmount());
+        assertNotSame(first, this.config.getCompactItemStack("item"));
+    }
+
+    private void assertEmptyItemsAreNull() {
+        assertNull(this.config.getCompactItemStack("item"));
+        assertArrayEquals(new ItemStack[] { new ItemStack(Material.BREAD), null, null }, this.config.getCompactItemStacks("items"));
+    }
+}
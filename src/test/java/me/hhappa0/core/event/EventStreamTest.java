@@ -0,0 +1,159 @@
+package me.hhappa0.core.event;
+
+import me.hhappa0.core.bootstrap.Core;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.plugin.PluginMock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fires events on a MockBukkit server and checks when and how {@link EventStream} subscriptions deliver their windows.
+ */
+class EventStreamTest {
+    private static final UUID ALICE = new UUID(0, 1);
+    private static final UUID BOB = new UUID(0, 2);
+
+    private ServerMock server;
+    private PluginMock plugin;
+
+    @BeforeEach
+    void setUp() {
+        this.server = MockBukkit.mock();
+        this.plugin = MockBukkit.createMockPlugin();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Core.eventSubscriptions.closeAll();
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void deliversEventsOfAWindowTogether() {
+        List<List<Integer>> batches = new ArrayList<>();
+        EventSubscription<TestEvent> subscription = EventStream.of(this.plugin, TestEvent.class)
+                .windowTicks(5)
+                .filter(event -> event.value >= 0)
+                .subscribe(event -> event.value, batches::add);
+
+        this.fire(ALICE, 1);
+        this.fire(ALICE, -1);
+        this.fire(BOB, 2);
+        this.server.getScheduler().performTicks(4);
+        this.fire(ALICE, 3);
+        assertEquals(List.of(), batches);
+
+        this.server.getScheduler().performOneTick();
+        assertEquals(List.of(List.of(1, 2, 3)), batches);
+
+        this.server.getScheduler().performTicks(20);
+        assertEquals(1, batches.size());
+
+        this.fire(BOB, 4);
+        this.server.getScheduler().performTicks(5);
+        assertEquals(List.of(List.of(1, 2, 3), List.of(4)), batches);
+        assertFalse(subscription.isClosed());
+    }
+
+    @Test
+    void aggregatesEventsPerPlayer() {
+        List<PlayerAggregates> windows = new ArrayList<>();
+
+        EventStream.of(this.plugin, TestEvent.class)
+                .windowTicks(2)
+                .aggregateByPlayer(event -> event.player, event -> event.value, windows::add);
+
+        this.fire(ALICE, 1);
+        this.fire(BOB, 10);
+        this.fire(ALICE, 2);
+        this.fire(null, 100);
+        this.server.getScheduler().performTicks(2);
+
+        assertEquals(1, windows.size());
+
+        PlayerAggregates aggregates = windows.get(0);
+
+        assertEquals(2, aggregates.size());
+        assertEquals(2, aggregates.getCount(ALICE));
+        assertEquals(3, aggregates.getSum(ALICE));
+        assertEquals(1, aggregates.getCount(BOB));
+        assertEquals(10, aggregates.getSum(BOB));
+        assertEquals(3, aggregates.getTotalCount());
+        assertEquals(13, aggregates.getTotalSum());
+    }
+
+    @Test
+    void deliversCurrentWindowWhenClosed() {
+        List<List<Integer>> batches = new ArrayList<>();
+        EventSubscription<TestEvent> subscription = EventStream.of(this.plugin, TestEvent.class)
+                .windowTicks(20)
+                .subscribe(event -> event.value, batches::add);
+
+        this.fire(ALICE, 1);
+        this.fire(BOB, 2);
+        subscription.close();
+
+        assertTrue(subscription.isClosed());
+        assertEquals(List.of(List.of(1, 2)), batches);
+
+        this.fire(ALICE, 3);
+        this.server.getScheduler().performTicks(40);
+        subscription.close();
+        assertEquals(List.of(List.of(1, 2)), batches);
+    }
+
+    @Test
+    void closesOpenSubscriptionsThroughRegistry() {
+        List<List<Integer>> batches = new ArrayList<>();
+        EventSubscription<TestEvent> subscription = EventStream.of(this.plugin, TestEvent.class)
+                .windowTicks(20)
+                .subscribe(event -> event.value, batches::add);
+
+        assertEquals(1, Core.eventSubscriptions.getOpenCount());
+
+        this.fire(ALICE, 1);
+        Core.eventSubscriptions.closeAll();
+
+        assertTrue(subscription.isClosed());
+        assertEquals(0, Core.eventSubscriptions.getOpenCount());
+        assertEquals(List.of(List.of(1)), batches);
+    }
+
+    private void fire(UUID player, int value) {
+        this.server.getPluginManager().callEvent(new TestEvent(player, value));
+    }
+
+    public static final class TestEvent extends Event {
+        private static final HandlerList HANDLERS = new HandlerList();
+
+        private final UUID player;
+        private final int value;
+
+        private TestEvent(UUID player, int value) {
+            this.player = player;
+            this.value = value;
+        }
+
+        public static HandlerList getHandlerList() {
+            return HANDLERS;
+        }
+
+        @Override
+        public @NotNull HandlerList getHandlers() {
+            return HANDLERS;
+        }
+    }
+}
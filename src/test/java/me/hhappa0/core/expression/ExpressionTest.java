@@ -0,0 +1,138 @@
+package me.hhappa0.core.expression;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the precedence, folding, error reporting and variable binding of compiled {@link Expression}s.
+ */
+class ExpressionTest {
+    private static final Variables XYZ = Variables.of("x", "y", "z");
+
+    @Test
+    void followsOperatorPrecedence() {
+        assertEquals(-4, evaluate("-2^2"));
+        assertEquals(4, evaluate("(-2)^2"));
+        assertEquals(7, evaluate("1+2*3"));
+        assertEquals(9, evaluate("(1+2)*3"));
+        assertEquals(0.5, evaluate("2^-1"));
+        assertEquals(1, evaluate("1 + 2 > 2"));
+        assertEquals(1, evaluate("1 < 2 && 3 < 2 || 1"));
+        assertEquals(1, evaluate("!1 + 1"));
+        assertEquals(1, evaluate("!0 != 0"));
+    }
+
+    @Test
+    void groupsOperatorsInTheRightDirection() {
+        assertEquals(512, evaluate("2^3^2"));
+        assertEquals(64, evaluate("(2^3)^2"));
+        assertEquals(-4, evaluate("1-2-3"));
+        assertEquals(1, evaluate("8/4/2"));
+        assertEquals(2, evaluate("20 % 6 % 4"));
+        assertEquals(3, evaluate("0 ? 1 : 0 ? 2 : 3"));
+        assertEquals(2, evaluate("0 ? 1 : 1 ? 2 : 3"));
+    }
+
+    @Test
+    void foldsConstantOperations() {
+        assertTrue(Expression.compile("2 * (pi + max(1, 2, 3)) ^ 2").isConstant());
+        assertTrue(Expression.compile("1 > 2 ? 3 : 4").isConstant());
+        assertEquals(4, Expression.compile("1 > 2 ? 3 : 4").evaluate());
+        assertFalse(Expression.compile("x * 2", XYZ).isConstant());
+        assertFalse(Expression.compile("x > 1 ? 2 : 3", XYZ).isConstant());
+    }
+
+    @Test
+    void foldsConditionalsWithConstantConditions() {
+        Expression then = Expression.compile("2 > 1 ? x * 10 : y / 0", XYZ);
+        Expression otherwise = Expression.compile("0 ? x : y + 1", XYZ);
+        Expression constant = Expression.compile("1 ? 5 : x", XYZ);
+
+        assertFalse(then.isConstant());
+        assertEquals(30, then.evaluate(3, 4));
+        assertEquals(5, otherwise.evaluate(3, 4));
+        assertTrue(constant.isConstant());
+        assertEquals(5, constant.evaluate(3));
+    }
+
+    @Test
+    void evaluatesConditionalsLazily() {
+        Expression expression = Expression.compile("x > 0 ? y : z", XYZ);
+
+        assertEquals(2, expression.evaluate(1, 2, 3));
+        assertEquals(3, expression.evaluate(-1, 2, 3));
+    }
+
+    @Test
+    void reportsUnknownVariables() {
+        assertError("Unknown variable 'w' at position 5 of formula 'x + w * 2'.", "x + w * 2", XYZ);
+        assertError("Unknown variable 'x' at position 1 of formula 'x'.", "x", Variables.NONE);
+    }
+
+    @Test
+    void reportsUnknownFunctions() {
+        assertError("Unknown function 'foo' at position 5 of formula '1 + foo(2)'.", "1 + foo(2)", Variables.NONE);
+    }
+
+    @Test
+    void reportsWrongArgumentCounts() {
+        assertError("Wrong number of arguments for 'sqrt' at position 3 of formula '1+sqrt(1, 2)'.", "1+sqrt(1, 2)", Variables.NONE);
+        assertError("Wrong number of arguments for 'min' at position 1 of formula 'min(x)'.", "min(x)", XYZ);
+        assertError("Wrong number of arguments for 'clamp' at position 1 of formula 'clamp(1, 2)'.", "clamp(1, 2)", Variables.NONE);
+        assertError("Wrong number of arguments for 'abs' at position 1 of formula 'abs()'.", "abs()", Variables.NONE);
+    }
+
+    @Test
+    void reportsSyntaxErrors() {
+        assertError("Expected ')' at position 7 of formula '(1 + 2'.", "(1 + 2", Variables.NONE);
+        assertError("Unexpected end of formula at position 4 of formula '1 +'.", "1 +", Variables.NONE);
+        assertError("Unexpected ')' at position 3 of formula '1 ) 2'.", "1 ) 2", Variables.NONE);
+        assertError("Expected ':' at position 6 of formula '1 ? 2'.", "1 ? 2", Variables.NONE);
+        assertThrows(IllegalArgumentException.class, () -> Expression.compile(" "));
+    }
+
+    @Test
+    void evaluatesMoreThanThreeVariablesFromAnArray() {
+        Variables variables = Variables.of("a", "b", "c", "d", "e");
+        Expression expression = Expression.compile("a + b * c - d / e + max(a, b, c, d, e)", variables);
+        double[] values = variables.newValues();
+
+        values[0] = 1;
+        values[1] = 2;
+        values[2] = 3;
+        values[3] = 8;
+        values[4] = 4;
+        assertEquals(1 + 2 * 3 - 8.0 / 4 + 8, expression.evaluate(values));
+
+        values[3] = 100;
+        assertEquals(1 + 2 * 3 - 100.0 / 4 + 100, expression.evaluate(values));
+
+        assertEquals(4, Expression.compile("e", variables).evaluate(values));
+        assertThrows(IllegalStateException.class, () -> expression.evaluate(1, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> expression.evaluate(new double[4]));
+    }
+
+    @Test
+    void evaluatesUpToThreeVariablesWithoutAnArray() {
+        Expression expression = Expression.compile("x * 100 + y * 10 + z", XYZ);
+
+        assertEquals(123, expression.evaluate(1, 2, 3));
+        assertEquals(120, expression.evaluate(1, 2));
+        assertEquals(100, expression.evaluate(1));
+        assertEquals(123, expression.evaluate(new double[] { 1, 2, 3 }));
+    }
+
+    private static double evaluate(String source) {
+        return Expression.compile(source).evaluate();
+    }
+
+    private static void assertError(String message, String source, Variables variables) {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> Expression.compile(source, variables));
+
+        assertEquals(message, exception.getMessage());
+    }
+}
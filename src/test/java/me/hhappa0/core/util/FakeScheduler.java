@@ -0,0 +1,155 @@
+package me.hhappa0.core.util;
+
+import io.papermc.paper.threadedregions.scheduler.AsyncScheduler;
+import io.papermc.paper.threadedregions.scheduler.EntityScheduler;
+import io.papermc.paper.threadedregions.scheduler.GlobalRegionScheduler;
+import io.papermc.paper.threadedregions.scheduler.RegionScheduler;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A local stand-in for the classic and the region schedulers.
+ *
+ * <p>Every scheduler call is recorded with the scheduler it was routed to and its arguments, so a test can check the
+ * routing and run the scheduled task itself. Scheduling always succeeds and the calling thread never owns anything.</p>
+ */
+final class FakeScheduler {
+    private final List<Call> calls = new ArrayList<>();
+    private final Plugin plugin;
+
+    FakeScheduler() {
+        BukkitScheduler bukkitScheduler = this.recording(BukkitScheduler.class);
+        GlobalRegionScheduler globalScheduler = this.recording(GlobalRegionScheduler.class);
+        RegionScheduler regionScheduler = this.recording(RegionScheduler.class);
+        AsyncScheduler asyncScheduler = this.recording(AsyncScheduler.class);
+
+        Server server = proxy(Server.class, (method, args) -> switch (method.getName()) {
+            case "getScheduler" -> bukkitScheduler;
+            case "getGlobalRegionScheduler" -> globalScheduler;
+            case "getRegionScheduler" -> regionScheduler;
+            case "getAsyncScheduler" -> asyncScheduler;
+            default -> defaultValue(method.getReturnType());
+        });
+
+        this.plugin = proxy(Plugin.class, (method, args) -> method.getName().equals("getServer") ? server : defaultValue(method.getReturnType()));
+    }
+
+    /**
+     * @return A plugin whose server routes to this scheduler.
+     */
+    Plugin getPlugin() {
+        return this.plugin;
+    }
+
+    /**
+     * Creates a player with its own recording entity scheduler.
+     * @param online Whether the player is online, read on every call.
+     * @param dead Whether the player is dead, read on every call.
+     */
+    Player player(BooleanSupplier online, BooleanSupplier dead) {
+        EntityScheduler entityScheduler = this.recording(EntityScheduler.class);
+
+        return proxy(Player.class, (method, args) -> switch (method.getName()) {
+            case "getScheduler" -> entityScheduler;
+            case "isOnline", "isInWorld" -> online.getAsBoolean();
+            case "isDead" -> dead.getAsBoolean();
+            case "isValid" -> online.getAsBoolean() && !dead.getAsBoolean();
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    /**
+     * @return A recording task, as passed to timers that cancel themselves.
+     */
+    BukkitTask task() {
+        return this.recording(BukkitTask.class);
+    }
+
+    /**
+     * @return The most recent call.
+     */
+    Call last() {
+        return this.calls.get(this.calls.size() - 1);
+    }
+
+    /**
+     * Returns whether a call to the given scheduler method was recorded.
+     * @param target The routing target, e.g. {@code "BukkitTask.cancel"}.
+     */
+    boolean wasCalled(String target) {
+        return this.calls.stream().anyMatch(call -> call.target().equals(target));
+    }
+
+    private <T> T recording(Class<T> type) {
+        return proxy(type, (method, args) -> {
+            this.calls.add(new Call(type.getSimpleName() + "." + method.getName(), args == null ? new Object[0] : args));
+
+            Class<?> returnType = method.getReturnType();
+            if (returnType == boolean.class) return true;
+            if (returnType.isInterface() && returnType.getName().contains("Task")) return this.recording(returnType);
+
+            return defaultValue(returnType);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, BiFunction<Method, Object[], Object> handler) {
+        return (T) Proxy.newProxyInstance(FakeScheduler.class.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> method.getParameterCount() == 1 ? proxy == args[0] : handler.apply(method, args);
+            case "hashCode" -> method.getParameterCount() == 0 ? System.identityHashCode(proxy) : handler.apply(method, args);
+            case "toString" -> method.getParameterCount() == 0 ? "Fake" + type.getSimpleName() : handler.apply(method, args);
+            default -> handler.apply(method, args);
+        });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0.0F;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return (char) 0;
+
+        return null;
+    }
+
+    /**
+     * A recorded scheduler call.
+     */
+    static final class Call {
+        private final String target;
+        private final Object[] arguments;
+
+        private Call(String target, Object[] arguments) {
+            this.target = target;
+            this.arguments = arguments;
+        }
+
+        /**
+         * @return The scheduler interface and method, e.g. {@code "GlobalRegionScheduler.runAtFixedRate"}.
+         */
+        String target() {
+            return this.target;
+        }
+
+        /**
+         * @param index The index of the argument.
+         * @return The argument of the call.
+         */
+        Object argument(int index) {
+            return this.arguments[index];
+        }
+    }
+}
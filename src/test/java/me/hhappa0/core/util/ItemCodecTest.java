@@ -0,0 +1,103 @@
+package me.hhappa0.core.util;
+
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Round-trips items through {@link ItemCodec} with MockBukkit's implementation of {@link ItemStack#serializeAsBytes()}
+ * and checks the block layout and the rejection of blocks that are cut off or in an unknown format.
+ */
+class ItemCodecTest {
+    @BeforeEach
+    void setUp() {
+        MockBukkit.mock();
+    }
+
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void roundTripsSingleItems() {
+        ItemStack item = sword();
+
+        assertEquals(item, ItemCodec.decode(ItemCodec.encode(item)));
+        assertEquals(item, ItemCodec.fromBase64(ItemCodec.toBase64(item)));
+    }
+
+    @Test
+    void encodesMissingAndEmptyItemsAsNothing() {
+        assertEquals(0, ItemCodec.encode(null).length);
+        assertEquals(0, ItemCodec.encode(new ItemStack(Material.AIR)).length);
+        assertNull(ItemCodec.decode(new byte[0]));
+        assertNull(ItemCodec.fromBase64(ItemCodec.toBase64(new ItemStack(Material.AIR))));
+    }
+
+    @Test
+    void roundTripsBlocksAndKeepsEmptySlots() {
+        ItemStack[] items = { sword(), null, new ItemStack(Material.AIR), new ItemStack(Material.BREAD, 16), null };
+        ItemStack[] expected = { items[0], null, null, items[3], null };
+
+        byte[] bytes = ItemCodec.encodeAll(items);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+        assertEquals(1, buffer.get());
+        assertEquals(items.length, buffer.getInt());
+        assertEquals(ItemCodec.encode(items[0]).length, buffer.getInt());
+
+        assertArrayEquals(expected, ItemCodec.decodeAll(bytes));
+        assertArrayEquals(expected, ItemCodec.fromBase64All(ItemCodec.toBase64All(items)));
+        assertArrayEquals(new ItemStack[0], ItemCodec.decodeAll(ItemCodec.encodeAll(new ItemStack[0])));
+    }
+
+    @Test
+    void rejectsTruncatedBlocks() {
+        byte[] bytes = ItemCodec.encodeAll(new ItemStack[] { sword(), null, new ItemStack(Material.BREAD, 16) });
+
+        for (int length = 0; length < bytes.length; length++) {
+            byte[] truncated = Arrays.copyOf(bytes, length);
+
+            assertThrows(IllegalArgumentException.class, () -> ItemCodec.decodeAll(truncated), "block cut at " + length);
+        }
+    }
+
+    @Test
+    void rejectsUnknownFormats() {
+        byte[] bytes = ItemCodec.encodeAll(new ItemStack[] { sword() });
+        byte[] version = bytes.clone();
+        byte[] count = bytes.clone();
+
+        version[0] = 2;
+        ByteBuffer.wrap(count).putInt(1, -1);
+
+        assertThrows(IllegalArgumentException.class, () -> ItemCodec.decodeAll(version));
+        assertThrows(IllegalArgumentException.class, () -> ItemCodec.decodeAll(count));
+        assertThrows(IllegalArgumentException.class, () -> ItemCodec.fromBase64All("not base64!"));
+    }
+
+    private static ItemStack sword() {
+        ItemStack item = new ItemStack(Material.DIAMOND_SWORD);
+        ItemMeta meta = item.getItemMeta();
+
+        meta.addEnchant(Enchantment.SHARPNESS, 3, true);
+        meta.setUnbreakable(true);
+        item.setItemMeta(meta);
+
+        return item;
+    }
+}
@@ -0,0 +1,162 @@
+package me.hhappa0.core.util;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchedulerUtilTest {
+    private static final Runnable NOTHING = () -> {};
+
+    private FakeScheduler fake;
+    private Location location;
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        this.fake = new FakeScheduler();
+        this.location = new Location(null, 0, 64, 0);
+        this.player = this.fake.player(() -> true, () -> false);
+    }
+
+    @Test
+    void globalMethodsRouteToGlobalRegionSchedulerWhenRegionized() {
+        SchedulerUtil scheduler = new SchedulerUtil(this.fake.getPlugin(), true);
+
+        scheduler.runGlobal(NOTHING);
+        assertEquals("GlobalRegionScheduler.execute", this.fake.last().target());
+        scheduler.runGlobalLater(NOTHING, 5);
+        assertEquals("GlobalRegionScheduler.runDelayed", this.fake.last().target());
+        scheduler.runGlobalTimer(NOTHING, 5, 10);
+        assertEquals("GlobalRegionScheduler.runAtFixedRate", this.fake.last().target());
+    }
+
+    @Test
+    void globalMethodsRouteToClassicSchedulerOtherwise() {
+        SchedulerUtil scheduler = new SchedulerUtil(this.fake.getPlugin(), false);
+
+        scheduler.runGlobal(NOTHING);
+        assertEquals("BukkitScheduler.runTask", this.fake.last().target());
+        scheduler.runGlobalLater(NOTHING, 5);
+        assertEquals("BukkitScheduler.runTaskLater", this.fake.last().target());
+        scheduler.runGlobalTimer(NOTHING, 5, 10);
+        assertEquals("BukkitScheduler.runTaskTimer", this.fake.last().target());
+    }
+
+    @Test
+    void locationMethodsRouteToRegionSchedulerWhenRegionized() {
+        SchedulerUtil scheduler = new SchedulerUtil(this.fake.getPlugin(), true);
+
+        scheduler.runAtLocation(this.location, NOTHING);
+        assertEquals("RegionScheduler.execute", this.fake.last().target());
+        scheduler.runAtLocationLater(this.location, NOTHING, 5);
+        assertEquals("RegionScheduler.runDelayed", this.fake.last().target());
+        scheduler.runAtLocationTimer(this.location, NOTHING, 5, 10);
+        assertEquals("RegionScheduler.runAtFixedRate", this.fake.last().target());
+    }
+
+    @Test
+    void locationMethodsRouteToClassicSchedulerOtherwise() {
+        SchedulerUtil scheduler = new SchedulerUtil(this.fake.getPlugin(), false);
+
+        scheduler.runAtLocation(this.location, NOTHING);
+        assertEquals("BukkitScheduler.runTask", this.fake.last().target());
+        scheduler.runAtLocationLater(this.location, NOTHING, 5);
+        assertEquals("BukkitScheduler.runTaskLater", this.fake.last().target());
+        scheduler.runAtLocationTimer(this.location, NOTHING, 5, 10);
+        assertEquals("BukkitScheduler.runTaskTimer", this.fake.last().target());
+    }
+
+    @Test
+    void entityMethodsRouteToEntitySchedulerWhenRegionized() {
+        SchedulerUtil scheduler = new SchedulerUtil(this.fake.getPlugin(), true);
+
+        scheduler.runAtEntity(this.player, NOTHING);
+        assertEquals("EntityScheduler.execute", this.fake.last().target());
+        scheduler.runAtEntityLater(this.player, NOTHING, null, 5);
+        assertEquals("EntityScheduler.runDelayed", this.fake.last().target());
+        scheduler.runAtEntityTimer(this.player, NOTHING, null, 5, 10);
+        assertEquals("EntityScheduler.runAtFixedRate", this.fake.last().target());
+    }
+
+    @Test
+    void entityMethodsRouteToClassicSchedulerOtherwise() {
+        SchedulerUtil scheduler = new SchedulerUtil(this.fake.getPlugin(), false);
+
+        scheduler.runAtEntity(this.player, NOTHING);
+        assertEquals("BukkitScheduler.runTask", this.fake.last().target());
+        scheduler.runAtEntityLater(this.player, NOTHING, null, 5);
+        assertEquals("BukkitScheduler.runTaskLater", this.fake.last().target());
+        scheduler.runAtEntityTimer(this.player, NOTHING, null, 5, 10);
+        assertEquals("BukkitScheduler.runTaskTimer", this.fake.last().target());
+    }
+
+    @Test
+    void asyncMethodsRouteToAsyncSchedulerWhenRegionized() {
+        SchedulerUtil scheduler = new SchedulerUtil(this.fake.getPlugin(), true);
+
+        scheduler.runTaskAsync(NOTHING);
+        assertEquals("AsyncScheduler.runNow", this.fake.last().target());
+        scheduler.runTaskLaterAsync(NOTHING, 5);
+        assertEquals("AsyncScheduler.runDelayed", this.fake.last().target());
+        scheduler.runTaskTimerAsync(NOTHING, 5, 10);
+        assertEquals("AsyncScheduler.runAtFixedRate", this.fake.last().target());
+    }
+
+    @Test
+    void zeroPeriodIsClampedOnRegionizedServers() {
+        SchedulerUtil scheduler = new SchedulerUtil(this.fake.getPlugin(), true);
+
+        scheduler.runGlobalTimer(NOTHING, 0, 0);
+        assertEquals(1L, this.fake.last().argument(3));
+        scheduler.runAtLocationTimer(this.location, NOTHING, 0, 0);
+        assertEquals(1L, this.fake.last().argument(4));
+        scheduler.runAtEntityTimer(this.player, NOTHING, null, 0, 0);
+        assertEquals(1L, this.fake.last().argument(4));
+        scheduler.runTaskTimerAsync(NOTHING, 0, 0);
+        assertEquals(50L, this.fake.last().argument(3));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deadPlayerKeepsEntityTimerUntilQuitOnClassicServers() {
+        AtomicBoolean online = new AtomicBoolean(true);
+        Player deadPlayer = this.fake.player(online::get, () -> true);
+        AtomicInteger runs = new AtomicInteger();
+        AtomicInteger retirements = new AtomicInteger();
+
+        new SchedulerUtil(this.fake.getPlugin(), false).runAtEntityTimer(deadPlayer, runs::incrementAndGet, retirements::incrementAndGet, 0, 1);
+
+        Consumer<BukkitTask> timer = (Consumer<BukkitTask>) this.fake.last().argument(1);
+        timer.accept(this.fake.task());
+        assertEquals(1, runs.get());
+        assertEquals(0, retirements.get());
+        assertFalse(this.fake.wasCalled("BukkitTask.cancel"));
+
+        online.set(false);
+        timer.accept(this.fake.task());
+        assertEquals(1, runs.get());
+        assertEquals(1, retirements.get());
+        assertTrue(this.fake.wasCalled("BukkitTask.cancel"));
+    }
+
+    @Test
+    void deadPlayerStillRunsOneShotEntityTasksOnClassicServers() {
+        Player deadPlayer = this.fake.player(() -> true, () -> true);
+        AtomicInteger runs = new AtomicInteger();
+
+        new SchedulerUtil(this.fake.getPlugin(), false).runAtEntity(deadPlayer, runs::incrementAndGet, null);
+        ((Runnable) this.fake.last().argument(1)).run();
+
+        assertEquals(1, runs.get());
+    }
+}
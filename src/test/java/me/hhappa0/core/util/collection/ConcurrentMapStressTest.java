@@ -0,0 +1,142 @@
+package me.hhappa0.core.util.collection;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lets several threads create and remove entries of the same few keys in a concurrent map at once and checks that no
+ * value is lost, created twice or removed twice.
+ *
+ * <p>Every value is unique and starts with its key. Per key, the values created by the factory minus the values removed
+ * must equal the number of values left in the map, which is zero or one.</p>
+ */
+class ConcurrentMapStressTest {
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 200_000;
+    private static final int KEYS = 64;
+
+    static Stream<StressCase<?>> maps() {
+        return Stream.of(
+                new StressCase<>("ConcurrentLongObjectMap", () -> TestedMap.of(new ConcurrentLongObjectMap<>(4)), index -> index * (1L << 32) + index % 3),
+                new StressCase<>("ConcurrentUuidMap", () -> TestedMap.of(new ConcurrentUuidMap<>(4)), index -> new UUID(index % 2, index)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("maps")
+    void keepsEveryValueExactlyOnce(StressCase<?> stressCase) throws Exception {
+        stress(stressCase);
+    }
+
+    private static <K> void stress(StressCase<K> stressCase) throws Exception {
+        TestedMap<K> map = stressCase.factory.get();
+        List<K> keys = new ArrayList<>();
+        Map<K, AtomicInteger> created = new ConcurrentHashMap<>();
+        Map<K, AtomicInteger> removed = new ConcurrentHashMap<>();
+        Set<String> removedValues = ConcurrentHashMap.newKeySet();
+        AtomicInteger nextValue = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int i = 0; i < KEYS; i++) {
+            K key = stressCase.keys.apply(i);
+
+            keys.add(key);
+            created.put(key, new AtomicInteger());
+            removed.put(key, new AtomicInteger());
+        }
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int thread = 0; thread < THREADS; thread++) {
+                long seed = thread;
+
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    start.await();
+
+                    for (int operation = 0; operation < OPERATIONS; operation++) {
+                        K key = keys.get(random.nextInt(KEYS));
+
+                        if (random.nextInt(3) == 0) {
+                            String value = map.remove(key);
+                            if (value == null) continue;
+
+                            assertTrue(value.startsWith(key + "/"), stressCase + ": value " + value + " removed for key " + key);
+                            assertTrue(removedValues.add(value), stressCase + ": value " + value + " removed twice");
+                            removed.get(key).incrementAndGet();
+                        } else {
+                            String value = map.computeIfAbsent(key, k -> {
+                                created.get(k).incrementAndGet();
+                                return k + "/" + nextValue.getAndIncrement();
+                            });
+
+                            assertNotNull(value, stressCase.toString());
+                            assertTrue(value.startsWith(key + "/"), stressCase + ": value " + value + " returned for key " + key);
+                        }
+                    }
+
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<?> future : futures) future.get(2, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int present = 0;
+
+        for (K key : keys) {
+            int left = map.containsKey(key) ? 1 : 0;
+            present += left;
+
+            assertEquals(created.get(key).get() - removed.get(key).get(), left, stressCase + ": values created and removed for key " + key);
+        }
+
+        assertEquals(present, map.size(), stressCase.toString());
+    }
+
+    /**
+     * A concurrent map implementation under test, with the keys to use for it.
+     */
+    static final class StressCase<K> {
+        final String name;
+        final Supplier<TestedMap<K>> factory;
+        final IntFunction<K> keys;
+
+        StressCase(String name, Supplier<TestedMap<K>> factory, IntFunction<K> keys) {
+            this.name = name;
+            this.factory = factory;
+            this.keys = keys;
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+}
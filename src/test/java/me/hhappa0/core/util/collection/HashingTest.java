@@ -0,0 +1,30 @@
+package me.hhappa0.core.util.collection;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the collections hold their expected size without growing, and that their tables never fill up.
+ */
+class HashingTest {
+
+    @Test
+    void expectedSizeFitsWithoutGrowing() {
+        for (int expectedSize = 0; expectedSize <= 1 << 20; expectedSize++) {
+            int capacity = Hashing.tableSize(expectedSize);
+            int threshold = Hashing.resizeThreshold(capacity);
+
+            assertEquals(1, Integer.bitCount(capacity), "capacity " + capacity);
+            assertTrue(threshold >= expectedSize, "expected size " + expectedSize + " exceeds the threshold " + threshold + " of " + capacity + " slots");
+            assertTrue(threshold < capacity, "a table of " + capacity + " slots may fill up");
+            assertTrue(capacity == 4 || Hashing.resizeThreshold(capacity >>> 1) < expectedSize, "expected size " + expectedSize + " also fits into " + (capacity >>> 1) + " slots");
+        }
+    }
+
+    @Test
+    void largestTableKeepsAFreeSlot() {
+        assertTrue(Hashing.resizeThreshold(Hashing.MAX_CAPACITY) < Hashing.MAX_CAPACITY - 1);
+    }
+}
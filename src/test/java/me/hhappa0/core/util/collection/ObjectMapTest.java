@@ -0,0 +1,117 @@
+package me.hhappa0.core.util.collection;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs random operations against the primitive and concurrent maps and a {@link HashMap} and compares them after every
+ * step. The concurrent maps are only used by one thread here, see {@link ConcurrentMapStressTest} for their concurrent use.
+ */
+class ObjectMapTest {
+    private static final int SEEDS = 50;
+    private static final int OPERATIONS = 20_000;
+
+    static Stream<MapCase<?>> maps() {
+        return Stream.of(
+                new MapCase<>("IntObjectMap", expectedSize -> TestedMap.of(new IntObjectMap<>(expectedSize)), random -> RandomKeys::nextInt),
+                new MapCase<>("LongObjectMap", expectedSize -> TestedMap.of(new LongObjectMap<>(expectedSize)), random -> RandomKeys::nextLong),
+                new MapCase<>("ConcurrentLongObjectMap", expectedSize -> TestedMap.of(new ConcurrentLongObjectMap<>(1 + expectedSize % 4)), random -> RandomKeys::nextLong),
+                new MapCase<>("ConcurrentUuidMap", expectedSize -> TestedMap.of(new ConcurrentUuidMap<>(1 + expectedSize % 4)), RandomKeys::uuidPool));
+    }
+
+    @ParameterizedTest
+    @MethodSource("maps")
+    void behavesLikeHashMap(MapCase<?> mapCase) {
+        for (long seed = 0; seed < SEEDS; seed++) compare(mapCase, seed);
+    }
+
+    @ParameterizedTest
+    @MethodSource("maps")
+    void rejectsNullValues(MapCase<?> mapCase) {
+        assertThrows(NullPointerException.class, () -> putNull(mapCase));
+    }
+
+    private static <K> void compare(MapCase<K> mapCase, long seed) {
+        Random random = new Random(seed);
+        TestedMap<K> map = mapCase.factory.apply(random.nextInt(16));
+        Function<Random, K> keys = mapCase.keys.apply(random);
+        Map<K, String> expected = new HashMap<>();
+
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+            K key = keys.apply(random);
+            String context = mapCase + ", seed " + seed + ", operation " + operation + ", key " + key;
+
+            switch (random.nextInt(10)) {
+                case 0, 1, 2, 3 -> {
+                    String value = "v" + random.nextInt(100);
+                    assertEquals(expected.put(key, value), map.put(key, value), context);
+                }
+                case 4, 5, 6 -> assertEquals(expected.remove(key), map.remove(key), context);
+                case 7 -> assertEquals(expected.computeIfAbsent(key, k -> "c" + k), map.computeIfAbsent(key, k -> "c" + k), context);
+                case 8 -> assertEquals(expected.getOrDefault(key, "none"), map.getOrDefault(key, "none"), context);
+                default -> {
+                    if (random.nextInt(500) == 0) {
+                        expected.clear();
+                        map.clear();
+                    }
+                }
+            }
+
+            assertEquals(expected.size(), map.size(), context);
+            assertEquals(expected.get(key), map.get(key), context);
+            assertEquals(expected.containsKey(key), map.containsKey(key), context);
+
+            if (operation % 256 == 0) assertSameEntries(expected, map, context);
+        }
+
+        assertSameEntries(expected, map, mapCase + ", seed " + seed);
+    }
+
+    private static <K> void putNull(MapCase<K> mapCase) {
+        mapCase.factory.apply(0).put(mapCase.keys.apply(new Random(0)).apply(new Random(0)), null);
+    }
+
+    private static <K> void assertSameEntries(Map<K, String> expected, TestedMap<K> map, String context) {
+        Map<K, String> actual = new HashMap<>();
+
+        map.forEach((key, value) -> assertTrue(actual.put(key, value) == null, context + ": duplicate key " + key));
+        assertEquals(expected, actual, context);
+
+        List<K> keys = map.keys();
+        assertEquals(expected.size(), keys.size(), context);
+        for (K key : keys) assertTrue(expected.containsKey(key), context + ": unexpected key " + key);
+    }
+
+    /**
+     * A map implementation under test, with the keys to draw for it.
+     */
+    static final class MapCase<K> {
+        final String name;
+        final IntFunction<TestedMap<K>> factory;
+        final Function<Random, Function<Random, K>> keys;
+
+        MapCase(String name, IntFunction<TestedMap<K>> factory, Function<Random, Function<Random, K>> keys) {
+            this.name = name;
+            this.factory = factory;
+            this.keys = keys;
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package me.hhappa0.core.util.collection;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs random operations against the primitive sets and a {@link HashSet} and compares them after every step.
+ *
+ * <p>Values are mostly drawn from a small range around zero, so the separately tracked zero is added and removed often.</p>
+ */
+class PrimitiveSetTest {
+    private static final int SEEDS = 50;
+    private static final int OPERATIONS = 20_000;
+
+    static Stream<SetCase<?>> sets() {
+        return Stream.of(
+                new SetCase<>("IntSet", expectedSize -> TestedSet.of(new IntSet(expectedSize)), RandomKeys::nextInt),
+                new SetCase<>("LongSet", expectedSize -> TestedSet.of(new LongSet(expectedSize)), RandomKeys::nextLong));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sets")
+    void behavesLikeHashSet(SetCase<?> setCase) {
+        for (long seed = 0; seed < SEEDS; seed++) compare(setCase, seed);
+    }
+
+    private static <T> void compare(SetCase<T> setCase, long seed) {
+        Random random = new Random(seed);
+        TestedSet<T> set = setCase.factory.apply(random.nextInt(16));
+        Set<T> expected = new HashSet<>();
+
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+            T value = setCase.values.apply(random);
+            String context = setCase + ", seed " + seed + ", operation " + operation + ", value " + value;
+
+            switch (random.nextInt(10)) {
+                case 0, 1, 2, 3, 4 -> assertEquals(expected.add(value), set.add(value), context);
+                case 5, 6, 7, 8 -> assertEquals(expected.remove(value), set.remove(value), context);
+                default -> {
+                    if (random.nextInt(500) == 0) {
+                        expected.clear();
+                        set.clear();
+                    }
+                }
+            }
+
+            assertEquals(expected.size(), set.size(), context);
+            assertEquals(expected.isEmpty(), set.isEmpty(), context);
+            assertEquals(expected.contains(value), set.contains(value), context);
+
+            if (operation % 256 == 0) assertSameValues(expected, set, context);
+        }
+
+        assertSameValues(expected, set, setCase + ", seed " + seed);
+    }
+
+    private static <T> void assertSameValues(Set<T> expected, TestedSet<T> set, String context) {
+        Set<T> actual = new HashSet<>();
+
+        set.forEach(value -> assertTrue(actual.add(value), context + ": duplicate value " + value));
+        assertEquals(expected, actual, context);
+
+        List<T> values = set.toList();
+        assertEquals(expected.size(), values.size(), context);
+        for (T value : values) assertTrue(expected.contains(value), context + ": unexpected value " + value);
+    }
+
+    /**
+     * A set implementation under test, with the values to draw for it.
+     */
+    static final class SetCase<T> {
+        final String name;
+        final IntFunction<TestedSet<T>> factory;
+        final Function<Random, T> values;
+
+        SetCase(String name, IntFunction<TestedSet<T>> factory, Function<Random, T> values) {
+            this.name = name;
+            this.factory = factory;
+            this.values = values;
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package me.hhappa0.core.util.collection;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Draws keys that collide a lot in the hash tables of this package, so probe chains are long and removals keep
+ * shifting entries back across them.
+ */
+final class RandomKeys {
+
+    private RandomKeys() {
+    }
+
+    /**
+     * @return Mostly a small range around zero, sometimes any value and the extremes.
+     */
+    static int nextInt(Random random) {
+        return switch (random.nextInt(20)) {
+            case 0 -> random.nextInt();
+            case 1 -> random.nextBoolean() ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+            default -> random.nextInt(512) - 256;
+        };
+    }
+
+    /**
+     * @return Like {@link #nextInt(Random)}, plus values that only differ in their upper half.
+     */
+    static long nextLong(Random random) {
+        return switch (random.nextInt(20)) {
+            case 0 -> random.nextLong();
+            case 1 -> random.nextBoolean() ? Long.MIN_VALUE : Long.MAX_VALUE;
+            case 2 -> (random.nextInt(64) - 32) * (1L << 32) + random.nextInt(4);
+            default -> random.nextInt(512) - 256;
+        };
+    }
+
+    /**
+     * Creates a small pool of unique ids, partly sharing one half with each other.
+     * @return A function drawing ids from the pool.
+     */
+    static Function<Random, UUID> uuidPool(Random random) {
+        UUID[] pool = new UUID[512];
+        long sharedMost = random.nextLong();
+        long sharedLeast = random.nextLong();
+
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = switch (i % 4) {
+                case 0 -> new UUID(sharedMost, i);
+                case 1 -> new UUID(i, sharedLeast);
+                case 2 -> new UUID(0, i);
+                default -> new UUID(random.nextLong(), random.nextLong());
+            };
+        }
+
+        return draw -> pool[draw.nextInt(pool.length)];
+    }
+}
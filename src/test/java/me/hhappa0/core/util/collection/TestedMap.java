@@ -0,0 +1,270 @@
+package me.hhappa0.core.util.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Adapts the maps of this package to one interface with boxed keys, so they can share the same tests.
+ *
+ * @param <K> The boxed type of the keys.
+ */
+interface TestedMap<K> {
+    String get(K key);
+
+    String getOrDefault(K key, String defaultValue);
+
+    boolean containsKey(K key);
+
+    String put(K key, String value);
+
+    String computeIfAbsent(K key, Function<K, String> factory);
+
+    String remove(K key);
+
+    int size();
+
+    void clear();
+
+    void forEach(BiConsumer<K, String> consumer);
+
+    /**
+     * @return The keys, as returned by the key array of the map if it has one.
+     */
+    List<K> keys();
+
+    static TestedMap<Integer> of(IntObjectMap<String> map) {
+        return new TestedMap<>() {
+            @Override
+            public String get(Integer key) {
+                return map.get(key);
+            }
+
+            @Override
+            public String getOrDefault(Integer key, String defaultValue) {
+                return map.getOrDefault(key, defaultValue);
+            }
+
+            @Override
+            public boolean containsKey(Integer key) {
+                return map.containsKey(key);
+            }
+
+            @Override
+            public String put(Integer key, String value) {
+                return map.put(key, value);
+            }
+
+            @Override
+            public String computeIfAbsent(Integer key, Function<Integer, String> factory) {
+                return map.computeIfAbsent(key, factory::apply);
+            }
+
+            @Override
+            public String remove(Integer key) {
+                return map.remove(key);
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+
+            @Override
+            public void clear() {
+                map.clear();
+            }
+
+            @Override
+            public void forEach(BiConsumer<Integer, String> consumer) {
+                map.forEach(consumer::accept);
+            }
+
+            @Override
+            public List<Integer> keys() {
+                List<Integer> keys = new ArrayList<>();
+                for (int key : map.keys()) keys.add(key);
+
+                return keys;
+            }
+        };
+    }
+
+    static TestedMap<Long> of(LongObjectMap<String> map) {
+        return new TestedMap<>() {
+            @Override
+            public String get(Long key) {
+                return map.get(key);
+            }
+
+            @Override
+            public String getOrDefault(Long key, String defaultValue) {
+                return map.getOrDefault(key, defaultValue);
+            }
+
+            @Override
+            public boolean containsKey(Long key) {
+                return map.containsKey(key);
+            }
+
+            @Override
+            public String put(Long key, String value) {
+                return map.put(key, value);
+            }
+
+            @Override
+            public String computeIfAbsent(Long key, Function<Long, String> factory) {
+                return map.computeIfAbsent(key, factory::apply);
+            }
+
+            @Override
+            public String remove(Long key) {
+                return map.remove(key);
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+
+            @Override
+            public void clear() {
+                map.clear();
+            }
+
+            @Override
+            public void forEach(BiConsumer<Long, String> consumer) {
+                map.forEach(consumer::accept);
+            }
+
+            @Override
+            public List<Long> keys() {
+                List<Long> keys = new ArrayList<>();
+                for (long key : map.keys()) keys.add(key);
+
+                return keys;
+            }
+        };
+    }
+
+    static TestedMap<Long> of(ConcurrentLongObjectMap<String> map) {
+        return new TestedMap<>() {
+            @Override
+            public String get(Long key) {
+                return map.get(key);
+            }
+
+            @Override
+            public String getOrDefault(Long key, String defaultValue) {
+                String value = map.get(key);
+
+                return value == null ? defaultValue : value;
+            }
+
+            @Override
+            public boolean containsKey(Long key) {
+                return map.containsKey(key);
+            }
+
+            @Override
+            public String put(Long key, String value) {
+                return map.put(key, value);
+            }
+
+            @Override
+            public String computeIfAbsent(Long key, Function<Long, String> factory) {
+                return map.computeIfAbsent(key, factory::apply);
+            }
+
+            @Override
+            public String remove(Long key) {
+                return map.remove(key);
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+
+            @Override
+            public void clear() {
+                map.clear();
+            }
+
+            @Override
+            public void forEach(BiConsumer<Long, String> consumer) {
+                map.forEach(consumer::accept);
+            }
+
+            @Override
+            public List<Long> keys() {
+                return keysOf(this);
+            }
+        };
+    }
+
+    static TestedMap<UUID> of(ConcurrentUuidMap<String> map) {
+        return new TestedMap<>() {
+            @Override
+            public String get(UUID key) {
+                return map.get(key);
+            }
+
+            @Override
+            public String getOrDefault(UUID key, String defaultValue) {
+                String value = map.get(key);
+
+                return value == null ? defaultValue : value;
+            }
+
+            @Override
+            public boolean containsKey(UUID key) {
+                return map.containsKey(key);
+            }
+
+            @Override
+            public String put(UUID key, String value) {
+                return map.put(key, value);
+            }
+
+            @Override
+            public String computeIfAbsent(UUID key, Function<UUID, String> factory) {
+                return map.computeIfAbsent(key, factory);
+            }
+
+            @Override
+            public String remove(UUID key) {
+                return map.remove(key);
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+
+            @Override
+            public void clear() {
+                map.clear();
+            }
+
+            @Override
+            public void forEach(BiConsumer<UUID, String> consumer) {
+                map.forEach(consumer);
+            }
+
+            @Override
+            public List<UUID> keys() {
+                return keysOf(this);
+            }
+        };
+    }
+
+    private static <K> List<K> keysOf(TestedMap<K> map) {
+        List<K> keys = new ArrayList<>();
+        map.forEach((key, value) -> keys.add(key));
+
+        return keys;
+    }
+}
@@ -0,0 +1,125 @@
+package me.hhappa0.core.util.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Adapts the primitive sets of this package to one interface with boxed values, so they can share the same tests.
+ *
+ * @param <T> The boxed type of the values.
+ */
+interface TestedSet<T> {
+    boolean contains(T value);
+
+    boolean add(T value);
+
+    boolean remove(T value);
+
+    int size();
+
+    boolean isEmpty();
+
+    void clear();
+
+    void forEach(Consumer<T> consumer);
+
+    /**
+     * @return The values, as returned by the value array of the set.
+     */
+    List<T> toList();
+
+    static TestedSet<Integer> of(IntSet set) {
+        return new TestedSet<>() {
+            @Override
+            public boolean contains(Integer value) {
+                return set.contains(value);
+            }
+
+            @Override
+            public boolean add(Integer value) {
+                return set.add(value);
+            }
+
+            @Override
+            public boolean remove(Integer value) {
+                return set.remove(value);
+            }
+
+            @Override
+            public int size() {
+                return set.size();
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return set.isEmpty();
+            }
+
+            @Override
+            public void clear() {
+                set.clear();
+            }
+
+            @Override
+            public void forEach(Consumer<Integer> consumer) {
+                set.forEach(consumer::accept);
+            }
+
+            @Override
+            public List<Integer> toList() {
+                List<Integer> values = new ArrayList<>();
+                for (int value : set.toArray()) values.add(value);
+
+                return values;
+            }
+        };
+    }
+
+    static TestedSet<Long> of(LongSet set) {
+        return new TestedSet<>() {
+            @Override
+            public boolean contains(Long value) {
+                return set.contains(value);
+            }
+
+            @Override
+            public boolean add(Long value) {
+                return set.add(value);
+            }
+
+            @Override
+            public boolean remove(Long value) {
+                return set.remove(value);
+            }
+
+            @Override
+            public int size() {
+                return set.size();
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return set.isEmpty();
+            }
+
+            @Override
+            public void clear() {
+                set.clear();
+            }
+
+            @Override
+            public void forEach(Consumer<Long> consumer) {
+                set.forEach(consumer::accept);
+            }
+
+            @Override
+            public List<Long> toList() {
+                List<Long> values = new ArrayList<>();
+                for (long value : set.toArray()) values.add(value);
+
+                return values;
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package me.hhappa0.core.util.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs random operations against a {@link UuidMap} and a {@link HashMap} and compares them after every step.
+ *
+ * <p>Keys are drawn from a small pool of {@link RandomKeys#uuidPool(Random)}, so probe chains are long and removals keep
+ * shifting entries back across them.</p>
+ */
+class UuidMapTest {
+    private static final int SEEDS = 50;
+    private static final int OPERATIONS = 20_000;
+
+    @Test
+    void behavesLikeHashMap() {
+        for (long seed = 0; seed < SEEDS; seed++) {
+            Random random = new Random(seed);
+            Function<Random, UUID> keys = RandomKeys.uuidPool(random);
+            UuidMap<String> map = new UuidMap<>(random.nextInt(16));
+            Map<UUID, String> expected = new HashMap<>();
+
+            for (int operation = 0; operation < OPERATIONS; operation++) {
+                UUID key = keys.apply(random);
+                String context = "seed " + seed + ", operation " + operation + ", key " + key;
+
+                switch (random.nextInt(10)) {
+                    case 0, 1, 2, 3 -> {
+                        String value = "v" + random.nextInt(100);
+                        assertEquals(expected.put(key, value), map.put(key, value), context);
+                    }
+                    case 4, 5 -> assertEquals(expected.remove(key), map.remove(key), context);
+                    case 6 -> {
+                        String current = map.get(key);
+                        String other = new String("other");
+
+                        assertNull(map.remove(key, other), context);
+                        assertEquals(expected.remove(key), map.remove(key, current), context);
+                    }
+                    case 7 -> assertEquals(expected.computeIfAbsent(key, k -> "c" + k), map.computeIfAbsent(key, k -> "c" + k), context);
+                    default -> {
+                        if (random.nextInt(500) == 0) {
+                            expected.clear();
+                            map.clear();
+                        }
+                    }
+                }
+
+                assertEquals(expected.size(), map.size(), context);
+                assertEquals(expected.get(key), map.get(key), context);
+                assertEquals(expected.get(key), map.get(key.getMostSignificantBits(), key.getLeastSignificantBits()), context);
+                assertEquals(expected.containsKey(key), map.containsKey(key), context);
+
+                if (operation % 256 == 0) assertSameEntries(expected, map, context);
+            }
+
+            assertSameEntries(expected, map, "seed " + seed);
+        }
+    }
+
+    @Test
+    void removesOnlyTheExpectedValue() {
+        UuidMap<String> map = new UuidMap<>();
+        UUID key = new UUID(1, 2);
+        String value = new String("value");
+
+        map.put(key, value);
+
+        assertNull(map.remove(key, new String("value")));
+        assertSame(value, map.remove(key, value));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void rejectsNullValues() {
+        assertThrows(NullPointerException.class, () -> new UuidMap<String>().put(UUID.randomUUID(), null));
+    }
+
+    private static void assertSameEntries(Map<UUID, String> expected, UuidMap<String> map, String context) {
+        Map<UUID, String> actual = new HashMap<>();
+
+        map.forEach((key, value) -> assertTrue(actual.put(key, value) == null, context + ": duplicate key " + key));
+        assertEquals(expected, actual, context);
+        assertEquals(expected.size(), map.values().size(), context);
+
+        int[] count = new int[1];
+        map.forEachValue(value -> count[0]++);
+        assertEquals(expected.size(), count[0], context);
+    }
+}
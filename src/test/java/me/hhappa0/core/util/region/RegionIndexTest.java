@@ -0,0 +1,171 @@
+package me.hhappa0.core.util.region;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Runs random inserts, removals and bulk loads against a {@link RegionIndex} and compares its queries with a linear
+ * scan over the same regions.
+ *
+ * <p>Regions are spread densely enough that most points lie in several of them. The trees grow several levels deep, inserts
+ * split nodes, removals condense them and bulk loads pack them. Priorities are drawn from a small range, so ties are
+ * common.</p>
+ */
+class RegionIndexTest {
+    private static final int SEEDS = 10;
+    private static final int OPERATIONS = 3_000;
+    private static final int QUERIES = 4;
+    private static final String[] WORLDS = { "world", "nether" };
+    private static final double SIZE = 300;
+
+    @Test
+    void behavesLikeLinearScan() {
+        for (long seed = 0; seed < SEEDS; seed++) {
+            Random random = new Random(seed);
+            RegionIndex index = new RegionIndex();
+            Map<String, Region> expected = new LinkedHashMap<>();
+            int nextId = 0;
+
+            for (int operation = 0; operation < OPERATIONS; operation++) {
+                String context = "seed " + seed + ", operation " + operation;
+
+                switch (random.nextInt(10)) {
+                    case 0, 1, 2, 3, 4 -> {
+                        Region region = randomRegion(random, "r" + nextId++);
+
+                        index.add(region);
+                        expected.put(region.getId(), region);
+                    }
+                    case 5, 6, 7 -> {
+                        String id = expected.isEmpty() || random.nextInt(10) == 0 ? "missing" : randomId(random, expected);
+
+                        assertSame(expected.remove(id), index.remove(id), context);
+                    }
+                    case 8 -> {
+                        if (random.nextInt(50) == 0) {
+                            for (int i = random.nextInt(200); i > 0; i--) {
+                                Region region = randomRegion(random, "r" + nextId++);
+                                expected.put(region.getId(), region);
+                            }
+
+                            index.load(new ArrayList<>(expected.values()));
+                        }
+                    }
+                    default -> {
+                        String id = expected.isEmpty() ? "missing" : randomId(random, expected);
+
+                        assertSame(expected.get(id), index.get(id), context);
+                    }
+                }
+
+                assertEquals(expected.size(), index.size(), context);
+
+                for (int query = 0; query < QUERIES; query++) assertSameResults(random, index, expected.values(), context);
+            }
+        }
+    }
+
+    @Test
+    void breaksPriorityTiesById() {
+        RegionIndex index = new RegionIndex();
+        List<Region> regions = new ArrayList<>();
+
+        for (int i = 99; i >= 0; i--) regions.add(new CuboidRegion(String.format("r%02d", i), "world", 5, -10, -10, -10, 10, 10, 10));
+
+        for (Region region : regions) index.add(region);
+        assertEquals("r00", index.getHighestPriority("world", 0, 0, 0).getId());
+
+        index.remove("r00");
+        assertEquals("r01", index.getHighestPriority("world", 0, 0, 0).getId());
+
+        index.load(regions);
+        assertEquals("r00", index.getHighestPriority("world", 0, 0, 0).getId());
+        assertNull(index.getHighestPriority("world", 20, 0, 0));
+    }
+
+    private static void assertSameResults(Random random, RegionIndex index, Iterable<Region> regions, String context) {
+        String world = WORLDS[random.nextInt(WORLDS.length)];
+        double x = random.nextDouble() * SIZE;
+        double y = random.nextDouble() * SIZE;
+        double z = random.nextDouble() * SIZE;
+        double width = random.nextDouble() * 50;
+        Set<Region> containing = new HashSet<>();
+        Set<Region> intersecting = new HashSet<>();
+        Region highest = null;
+
+        for (Region region : regions) {
+            if (!region.getWorld().equals(world)) continue;
+
+            if (region.contains(x, y, z)) {
+                containing.add(region);
+
+                if (highest == null || RTree.ranksHigher(region, highest)) highest = region;
+            }
+
+            if (region.intersects(x, y, z, x + width, y + width, z + width)) intersecting.add(region);
+        }
+
+        Set<Region> actualContaining = new HashSet<>();
+        Set<Region> actualIntersecting = new HashSet<>();
+
+        index.forEachContaining(world, x, y, z, actualContaining::add);
+        index.forEachIntersecting(world, x + width, y + width, z + width, x, y, z, actualIntersecting::add);
+
+        String query = context + ", point " + world + " " + x + " " + y + " " + z;
+
+        assertEquals(containing, actualContaining, query);
+        assertEquals(intersecting, actualIntersecting, query + ", width " + width);
+        assertSame(highest, index.getHighestPriority(world, x, y, z), query);
+    }
+
+    private static Region randomRegion(Random random, String id) {
+        String world = WORLDS[random.nextInt(WORLDS.length)];
+        int priority = random.nextInt(4);
+        double x = random.nextDouble() * SIZE;
+        double y = random.nextDouble() * SIZE;
+        double z = random.nextDouble() * SIZE;
+
+        switch (random.nextInt(3)) {
+            case 0:
+                return new SphereRegion(id, world, priority, x, y, z, 1 + random.nextDouble() * 60);
+            case 1: {
+                int points = 3 + random.nextInt(4);
+                double[] xs = new double[points];
+                double[] zs = new double[points];
+
+                for (int i = 0; i < points; i++) {
+                    double angle = 2 * Math.PI * i / points;
+                    double radius = 5 + random.nextDouble() * 60;
+
+                    xs[i] = x + Math.cos(angle) * radius;
+                    zs[i] = z + Math.sin(angle) * radius;
+                }
+
+                return new PolygonRegion(id, world, priority, xs, zs, y, y + random.nextDouble() * 120);
+            }
+            default:
+                return new CuboidRegion(id, world, priority, x, y, z, x + random.nextDouble() * 120, y + random.nextDouble() * 120, z + random.nextDouble() * 120);
+        }
+    }
+
+    private static String randomId(Random random, Map<String, Region> regions) {
+        int skip = random.nextInt(regions.size());
+
+        for (String id : regions.keySet()) {
+            if (skip-- == 0) return id;
+        }
+
+        throw new IllegalStateException();
+    }
+}